@@ -1,13 +1,18 @@
 package arin.command;
 
 import arin.ArinException;
-import arin.storage.Storage;
+import arin.storage.Mutation;
+import arin.storage.TaskStore;
+import arin.task.Event;
 import arin.task.Task;
 import arin.task.TaskList;
+import arin.task.TaskType;
 import arin.ui.Ui;
+import java.util.List;
 
 /**
  * Represents a command that adds a task (ToDo, Deadline, Event).
+ * Adding an event that overlaps existing events still adds it, with a warning listing them.
  */
 public class AddTaskCommand implements Command {
 
@@ -23,10 +28,15 @@ public class AddTaskCommand implements Command {
     }
 
     @Override
-    public void execute(final TaskList taskList, final Ui ui, final Storage storage) throws ArinException {
+    public void execute(final TaskList taskList, final Ui ui, final TaskStore storage) throws ArinException {
+        List<Task> clashes = List.of();
+        if (task.getTaskType() == TaskType.EVENT) {
+            Event event = (Event) task;
+            clashes = taskList.getEventsOverlapping(event.getFromMinutes(), event.getToMinutes());
+        }
         taskList.addTask(task);
-        ui.showTaskAdded(task);
-        storage.saveTasks(taskList.getTasks());
+        ui.showTaskAdded(task, clashes);
+        storage.appendMutation(Mutation.add(task), taskList);
     }
 
     @Override
@@ -0,0 +1,101 @@
+package arin.command;
+
+import arin.ArinException;
+import arin.storage.Mutation;
+import arin.storage.TaskStore;
+import arin.task.TaskList;
+import arin.ui.Ui;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents a command to mark, unmark or delete every task a {@link TaskSelector} picks out.
+ * The tasks are changed in one pass and the changes are persisted together, then the number
+ * of tasks changed and the time taken are shown.
+ */
+public class BulkTaskCommand implements Command {
+
+    private final Mutation.Type action;
+    private final TaskSelector selector;
+
+    /**
+     * Creates a command to apply one change to the selected tasks.
+     *
+     * @param action The change to make: {@link Mutation.Type#MARK}, {@link Mutation.Type#UNMARK}
+     *     or {@link Mutation.Type#DELETE}.
+     * @param selector The tasks to change.
+     */
+    public BulkTaskCommand(Mutation.Type action, TaskSelector selector) {
+        assert action != Mutation.Type.ADD : "Tasks can only be added one at a time";
+        this.action = action;
+        this.selector = selector;
+    }
+
+    /**
+     * Executes the command to change the selected tasks, save the changes with a single call
+     * to the storage, and display how many tasks were changed.
+     *
+     * @param taskList The task list containing the tasks.
+     * @param ui       The UI to display messages to the user.
+     * @param storage  The storage to save the updated task list.
+     * @throws ArinException If the selection names a task that is not in the list.
+     */
+    @Override
+    public void execute(TaskList taskList, Ui ui, TaskStore storage) throws ArinException {
+        long start = System.nanoTime();
+        int[] indices = selector.resolve(taskList);
+        List<Mutation> mutations = new ArrayList<>(indices.length);
+
+        switch (action) {
+        case MARK:
+            for (int index : indices) {
+                if (!taskList.getTask(index).isDone()) {
+                    taskList.markTaskAsDone(index);
+                    mutations.add(Mutation.mark(index, taskList.getTask(index).getId()));
+                }
+            }
+            break;
+        case UNMARK:
+            for (int index : indices) {
+                if (taskList.getTask(index).isDone()) {
+                    taskList.markTaskAsNotDone(index);
+                    mutations.add(Mutation.unmark(index, taskList.getTask(index).getId()));
+                }
+            }
+            break;
+        default:
+            // Recorded from the back, so stores that keep tasks by position delete the same tasks.
+            for (int i = indices.length - 1; i >= 0; i--) {
+                mutations.add(Mutation.delete(indices[i], taskList.getTask(indices[i]).getId()));
+            }
+            taskList.deleteTasks(indices);
+            break;
+        }
+
+        if (!mutations.isEmpty()) {
+            storage.appendMutations(mutations, taskList);
+        }
+        ui.showBulkChange(getActionText(), mutations.size(), System.nanoTime() - start);
+    }
+
+    private String getActionText() {
+        switch (action) {
+        case MARK:
+            return "Marked as done";
+        case UNMARK:
+            return "Marked as not done";
+        default:
+            return "Deleted";
+        }
+    }
+
+    /**
+     * Indicates whether this command should cause the application to exit.
+     *
+     * @return false as this command does not exit the application.
+     */
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+}
@@ -1,7 +1,7 @@
 package arin.command;
 
 import arin.ArinException;
-import arin.storage.Storage;
+import arin.storage.TaskStore;
 import arin.task.TaskList;
 import arin.ui.Ui;
 
@@ -18,7 +18,7 @@ public interface Command {
      * @param storage  The storage to save any changes.
      * @throws ArinException If execution encounters an issue.
      */
-    void execute(TaskList taskList, Ui ui, Storage storage) throws ArinException;
+    void execute(TaskList taskList, Ui ui, TaskStore storage) throws ArinException;
 
     /**
      * Determines whether this command will exit the application.
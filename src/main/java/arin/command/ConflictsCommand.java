@@ -0,0 +1,36 @@
+package arin.command;
+
+import arin.ArinException;
+import arin.storage.TaskStore;
+import arin.task.TaskList;
+import arin.ui.Ui;
+
+/**
+ * Represents a command to list the events that overlap each other.
+ */
+public class ConflictsCommand implements Command {
+
+    /**
+     * Executes the command to show every pair of overlapping events,
+     * found with the task list's interval tree over events.
+     *
+     * @param taskList The task list to search.
+     * @param ui       The UI to display the overlapping events.
+     * @param storage  The storage (not used in this command).
+     * @throws ArinException If an error occurs during execution.
+     */
+    @Override
+    public void execute(TaskList taskList, Ui ui, TaskStore storage) throws ArinException {
+        ui.showConflicts(taskList.getConflictingEvents());
+    }
+
+    /**
+     * Indicates whether this command should cause the application to exit.
+     *
+     * @return false as this command does not exit the application.
+     */
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+}
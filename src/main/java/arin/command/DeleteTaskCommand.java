@@ -1,7 +1,8 @@
 package arin.command;
 
 import arin.ArinException;
-import arin.storage.Storage;
+import arin.storage.Mutation;
+import arin.storage.TaskStore;
 import arin.task.TaskList;
 import arin.ui.Ui;
 
@@ -10,7 +11,7 @@ import arin.ui.Ui;
  */
 public class DeleteTaskCommand implements Command {
 
-    private final int taskIndex;
+    private final TaskTarget target;
 
     /**
      * Creates a command to delete the task at the specified index.
@@ -18,7 +19,16 @@ public class DeleteTaskCommand implements Command {
      * @param taskIndex The index of the task to delete.
      */
     public DeleteTaskCommand(final int taskIndex) {
-        this.taskIndex = taskIndex;
+        this(TaskTarget.ofIndex(taskIndex));
+    }
+
+    /**
+     * Creates a command to delete the task given by position or by id.
+     *
+     * @param target The task to delete.
+     */
+    public DeleteTaskCommand(TaskTarget target) {
+        this.target = target;
     }
 
     /**
@@ -31,18 +41,13 @@ public class DeleteTaskCommand implements Command {
      * @throws ArinException If there is an error deleting the task.
      */
     @Override
-    public void execute(TaskList taskList, Ui ui, Storage storage) throws ArinException {
-        // Convert from 1-based user index to 0-based internal index
-        int internalIndex = taskIndex - 1;
-
-        if (internalIndex < 0 || internalIndex >= taskList.getTasks().size()) {
-            throw new ArinException("Invalid task index. Please provide a number between 1 and "
-                    + taskList.getTasks().size() + ".");
-        }
+    public void execute(TaskList taskList, Ui ui, TaskStore storage) throws ArinException {
+        int internalIndex = target.resolve(taskList);
+        int id = taskList.getTask(internalIndex).getId();
 
         taskList.deleteTask(internalIndex);
         ui.showTaskDeleted();
-        storage.saveTasks(taskList.getTasks());
+        storage.appendMutation(Mutation.delete(internalIndex, id), taskList);
     }
 
     /**
@@ -1,7 +1,7 @@
 package arin.command;
 
 import arin.ArinException;
-import arin.storage.Storage;
+import arin.storage.TaskStore;
 import arin.task.TaskList;
 import arin.ui.Ui;
 
@@ -11,15 +11,16 @@ import arin.ui.Ui;
 public class ExitCommand implements Command {
 
     /**
-     * Executes the command to display an exit message to the user.
+     * Executes the command to write any pending saves and display an exit message to the user.
      *
      * @param taskList The task list (not used in this command).
      * @param ui       The UI to display messages to the user.
-     * @param storage  The storage (not used in this command).
+     * @param storage  The storage to flush before exiting.
      * @throws ArinException Never thrown in this command.
      */
     @Override
-    public void execute(final TaskList taskList, final Ui ui, final Storage storage) throws ArinException {
+    public void execute(final TaskList taskList, final Ui ui, final TaskStore storage) throws ArinException {
+        storage.flush();
         ui.showExit();
     }
 
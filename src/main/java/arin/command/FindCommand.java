@@ -1,30 +1,31 @@
 package arin.command;
 
 import arin.ArinException;
-import arin.storage.Storage;
+import arin.storage.TaskStore;
 import arin.task.Task;
 import arin.task.TaskList;
 import arin.ui.Ui;
 import java.util.List;
 
 /**
- * Represents a command to find tasks that match a keyword.
+ * Represents a command to find tasks that have every word of a query.
  */
 public class FindCommand implements Command {
 
     private final String keyword;
 
     /**
-     * Creates a FindCommand with a keyword to search for.
+     * Creates a FindCommand with the words to search for.
      *
-     * @param keyword The keyword to search in task descriptions.
+     * @param keyword The words to search in task descriptions.
      */
     public FindCommand(final String keyword) {
         this.keyword = keyword;
     }
 
     /**
-     * Executes the find command to search for tasks containing the keyword.
+     * Executes the find command to search for tasks containing every word of the keyword,
+     * each matched as a substring as {@link TaskList#findTasks(String)} does.
      *
      * @param taskList The task list to search.
      * @param ui       The UI to display matching tasks.
@@ -32,8 +33,8 @@ public class FindCommand implements Command {
      * @throws ArinException If an error occurs during execution.
      */
     @Override
-    public void execute(final TaskList taskList, final Ui ui, final Storage storage) throws ArinException {
-        List<Task> matchingTasks = taskList.findTasks(keyword);
+    public void execute(final TaskList taskList, final Ui ui, final TaskStore storage) throws ArinException {
+        List<Task> matchingTasks = taskList.findTasksWithAllKeywords(keyword.trim().split("\\s+"));
         if (matchingTasks.isEmpty()) {
             ui.showError("No matching tasks found.");
         } else {
@@ -1,12 +1,11 @@
 package arin.command;
 
 import arin.ArinException;
-import arin.storage.Storage;
+import arin.storage.TaskStore;
 import arin.task.Task;
 import arin.task.TaskList;
 import arin.ui.Ui;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -27,7 +26,7 @@ public class FindUpcomingCommand implements Command {
 
     /**
      * Executes the command to find upcoming tasks due within the specified days.
-     * Uses Java Streams to filter and combine upcoming deadlines and events.
+     * Deadlines and events are found together with one range lookup in the task list's date index.
      *
      * @param taskList The task list to search.
      * @param ui       The UI to display matching tasks.
@@ -35,27 +34,8 @@ public class FindUpcomingCommand implements Command {
      * @throws ArinException If an error occurs during execution.
      */
     @Override
-    public void execute(final TaskList taskList, final Ui ui, final Storage storage) throws ArinException {
-        // Get upcoming deadlines within days range
-        List<Task> upcomingDeadlines = taskList.getTasksDueWithinDays(days);
-
-        // Get upcoming events within days range
-        List<Task> upcomingEvents = taskList.getUpcomingEvents().stream()
-                .filter(task -> {
-                    // Additional filter to limit to the specified days
-                    // Note: The getUpcomingEvents() already filters for future events,
-                    // but we need to further filter by the specified number of days
-                    java.time.LocalDateTime now = java.time.LocalDateTime.now();
-                    java.time.LocalDateTime cutoff = now.plusDays(days);
-                    arin.task.Event event = (arin.task.Event) task;
-                    return event.getFrom().isBefore(cutoff);
-                })
-                .collect(java.util.stream.Collectors.toList());
-
-        // Combine the lists
-        List<Task> upcomingTasks = new ArrayList<>();
-        upcomingTasks.addAll(upcomingDeadlines);
-        upcomingTasks.addAll(upcomingEvents);
+    public void execute(final TaskList taskList, final Ui ui, final TaskStore storage) throws ArinException {
+        List<Task> upcomingTasks = taskList.getTasksWithinDays(days);
 
         // Display the results
         if (upcomingTasks.isEmpty()) {
@@ -1,7 +1,7 @@
 package arin.command;
 
 import arin.ArinException;
-import arin.storage.Storage;
+import arin.storage.TaskStore;
 import arin.task.TaskList;
 import arin.ui.Ui;
 
@@ -19,7 +19,7 @@ public class HelpCommand implements Command {
      * @throws ArinException If there is an error during execution.
      */
     @Override
-    public void execute(TaskList taskList, Ui ui, Storage storage) throws ArinException {
+    public void execute(TaskList taskList, Ui ui, TaskStore storage) throws ArinException {
         String helpMessage = "Here are the available commands:\n\n"
                 + "1. Adding Tasks:\n"
                 + "   • todo <description>\n"
@@ -29,10 +29,18 @@ public class HelpCommand implements Command {
                 + "   • list - View all tasks\n"
                 + "   • mark <task number> - Mark a task as done\n"
                 + "   • unmark <task number> - Mark a task as not done\n"
-                + "   • delete <task number> - Delete a task\n\n"
+                + "   • delete <task number> - Delete a task\n"
+                + "   • Use #<task id> instead of the number to refer to a task by its id\n"
+                + "     (ids are kept across restarts and never reused)\n"
+                + "   • mark, unmark and delete also take several tasks at once, e.g.\n"
+                + "     mark 1-50,72 • delete done • unmark find:report • delete type:event before:2025-01-01\n\n"
                 + "3. Finding Tasks:\n"
-                + "   • find <keyword> - Find tasks containing keyword\n"
-                + "   • upcoming [days] - Show tasks due within specified days (default: 7)\n\n"
+                + "   • find <keywords> - Find tasks containing every keyword\n"
+                + "   • upcoming [days] - Show tasks due within specified days (default: 7)\n"
+                + "   • conflicts - Show events that overlap each other\n"
+                + "   • list where <condition> [order by date|name|type|status [asc|desc]] [limit N] [explain]\n"
+                + "     conditions: done, undone, type:<type>, find:<word>, before:<date>, after:<date>,\n"
+                + "     joined with and, or, not and parentheses\n\n"
                 + "4. Sorting Tasks:\n"
                 + "   • sort by date - Sort tasks chronologically\n"
                 + "   • sort by name - Sort tasks alphabetically\n"
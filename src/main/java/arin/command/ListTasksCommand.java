@@ -1,7 +1,7 @@
 package arin.command;
 
 import arin.ArinException;
-import arin.storage.Storage;
+import arin.storage.TaskStore;
 import arin.task.TaskList;
 import arin.ui.Ui;
 
@@ -19,7 +19,7 @@ public class ListTasksCommand implements Command {
      * @throws ArinException If there is an error during execution.
      */
     @Override
-    public void execute(TaskList taskList, Ui ui, Storage storage) throws ArinException {
+    public void execute(TaskList taskList, Ui ui, TaskStore storage) throws ArinException {
         taskList.listTasks(ui);
     }
 
@@ -1,7 +1,8 @@
 package arin.command;
 
 import arin.ArinException;
-import arin.storage.Storage;
+import arin.storage.Mutation;
+import arin.storage.TaskStore;
 import arin.task.TaskList;
 import arin.ui.Ui;
 
@@ -10,7 +11,7 @@ import arin.ui.Ui;
  */
 public class MarkTaskCommand implements Command {
 
-    private final int taskIndex;
+    private final TaskTarget target;
 
     /**
      * Creates a command to mark the task at the specified index as done.
@@ -18,7 +19,16 @@ public class MarkTaskCommand implements Command {
      * @param taskIndex The index of the task to mark as done.
      */
     public MarkTaskCommand(int taskIndex) {
-        this.taskIndex = taskIndex;
+        this(TaskTarget.ofIndex(taskIndex));
+    }
+
+    /**
+     * Creates a command to mark as done the task given by position or by id.
+     *
+     * @param target The task to mark as done.
+     */
+    public MarkTaskCommand(TaskTarget target) {
+        this.target = target;
     }
 
     /**
@@ -32,19 +42,12 @@ public class MarkTaskCommand implements Command {
      */
     // In MarkTaskCommand.java
     @Override
-    public void execute(TaskList taskList, Ui ui, Storage storage) throws ArinException {
-        // Convert from 1-based user index to 0-based internal index
-        int internalIndex = taskIndex - 1;
-
-        // Check if the index is valid
-        if (internalIndex < 0 || internalIndex >= taskList.getTasks().size()) {
-            throw new ArinException("Invalid task index. Please provide a number between 1 and "
-                    + taskList.getTasks().size() + ".");
-        }
+    public void execute(TaskList taskList, Ui ui, TaskStore storage) throws ArinException {
+        int internalIndex = target.resolve(taskList);
 
         taskList.markTaskAsDone(internalIndex);
         ui.showTaskMarkedAsDone(taskList.getTask(internalIndex));
-        storage.saveTasks(taskList.getTasks());
+        storage.appendMutation(Mutation.mark(internalIndex, taskList.getTask(internalIndex).getId()), taskList);
     }
 
     /**
@@ -0,0 +1,51 @@
+package arin.command;
+
+import arin.ArinException;
+import arin.storage.TaskStore;
+import arin.task.TaskList;
+import arin.task.TaskQuery;
+import arin.ui.Ui;
+
+/**
+ * Represents a command to list the tasks that match a query, as parsed by {@link TaskQueryParser}.
+ */
+public class QueryTasksCommand implements Command {
+
+    private final TaskQuery query;
+    private final boolean isExplain;
+
+    /**
+     * Creates a command to run a query.
+     *
+     * @param query The query to run.
+     * @param isExplain Whether to show the plan the query followed along with its results.
+     */
+    public QueryTasksCommand(TaskQuery query, boolean isExplain) {
+        this.query = query;
+        this.isExplain = isExplain;
+    }
+
+    /**
+     * Executes the command to run the query and display the matching tasks.
+     *
+     * @param taskList The task list to query.
+     * @param ui       The UI to display the matching tasks.
+     * @param storage  The storage (not used in this command).
+     * @throws ArinException If an error occurs during execution.
+     */
+    @Override
+    public void execute(TaskList taskList, Ui ui, TaskStore storage) throws ArinException {
+        TaskQuery.Result result = query.run(taskList);
+        ui.showQueryResult(result.getTasks(), isExplain ? result.getPlan() : null);
+    }
+
+    /**
+     * Indicates whether this command should cause the application to exit.
+     *
+     * @return false as this command does not exit the application.
+     */
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+}
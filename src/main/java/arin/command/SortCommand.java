@@ -1,7 +1,7 @@
 package arin.command;
 
 import arin.ArinException;
-import arin.storage.Storage;
+import arin.storage.TaskStore;
 import arin.task.Task;
 import arin.task.TaskList;
 import arin.ui.Ui;
@@ -45,7 +45,7 @@ public class SortCommand implements Command {
      * @throws ArinException If an error occurs during execution.
      */
     @Override
-    public void execute(TaskList taskList, Ui ui, Storage storage) throws ArinException {
+    public void execute(TaskList taskList, Ui ui, TaskStore storage) throws ArinException {
         List<Task> sortedTasks;
 
         switch (sortCriterion) {
@@ -0,0 +1,234 @@
+package arin.command;
+
+import arin.ArinException;
+import arin.task.DateCodec;
+import arin.task.TaskQuery;
+import arin.task.TaskType;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses the query form of the list command into a {@link TaskQuery}:
+ * <pre>
+ * list [where CONDITION] [order by date|name|type|status [asc|desc]] [limit N] [explain]
+ * </pre>
+ * A condition is made of terms joined by "and" and "or", where "and" binds tighter and
+ * can be left out, optionally negated with "not" and grouped with parentheses. The terms are:
+ * "done", "undone", "type:todo|deadline|event", "find:WORD", "before:yyyy-MM-dd" and
+ * "after:yyyy-MM-dd", the last two comparing the deadline or the start of an event.
+ */
+public class TaskQueryParser {
+
+    private static final String USAGE = "Use: list where <condition> [order by date|name|type|status [asc|desc]] "
+            + "[limit N] [explain]";
+    private static final long MINUTES_PER_DAY = 24 * 60;
+
+    private final String[] tokens;
+    private int position;
+
+    private TaskQueryParser(String text) {
+        String spaced = text.replace("(", " ( ").replace(")", " ) ").trim();
+        this.tokens = spaced.isEmpty() ? new String[0] : spaced.split("\\s+");
+    }
+
+    /**
+     * Parses the text after the list command word.
+     *
+     * @param text The query.
+     * @return A command that runs the query, and shows its plan if the query ends with "explain".
+     * @throws ArinException If the query is malformed.
+     */
+    public static QueryTasksCommand parse(String text) throws ArinException {
+        return new TaskQueryParser(text).parseQuery();
+    }
+
+    /**
+     * Parses a single condition term, such as "done" or "type:event".
+     *
+     * @param term The term.
+     * @return The condition, or null if the text is not a condition term.
+     * @throws ArinException If the term is a condition term with an invalid value.
+     */
+    static TaskQuery.Condition parseTerm(String term) throws ArinException {
+        String lowerTerm = term.toLowerCase();
+        if (lowerTerm.equals("done") || lowerTerm.equals("undone")) {
+            return TaskQuery.isDone(lowerTerm.equals("done"));
+        } else if (lowerTerm.startsWith("type:")) {
+            return TaskQuery.ofType(parseType(lowerTerm.substring(5)));
+        } else if (lowerTerm.startsWith("find:") && term.length() > 5) {
+            return TaskQuery.hasWords(term.substring(5));
+        } else if (lowerTerm.startsWith("before:")) {
+            return TaskQuery.isDatedWithin(Long.MIN_VALUE, parseDay(term, 7));
+        } else if (lowerTerm.startsWith("after:")) {
+            return TaskQuery.isDatedWithin(parseDay(term, 6) + MINUTES_PER_DAY, Long.MAX_VALUE);
+        }
+        return null;
+    }
+
+    private static TaskType parseType(String name) throws ArinException {
+        switch (name) {
+        case "todo":
+            return TaskType.TODO;
+        case "deadline":
+            return TaskType.DEADLINE;
+        case "event":
+            return TaskType.EVENT;
+        default:
+            throw new ArinException("Invalid task type '" + name + "'! Use: todo, deadline or event");
+        }
+    }
+
+    /**
+     * Parses the yyyy-MM-dd date after a term's prefix.
+     *
+     * @return The start of the day in epoch minutes.
+     */
+    private static long parseDay(String term, int prefixLength) throws ArinException {
+        String day = term.substring(prefixLength);
+        long minutes = day.length() == 10 ? DateCodec.parse(day + " 0000") : DateCodec.INVALID;
+        if (minutes == DateCodec.INVALID) {
+            throw new ArinException("Invalid date in '" + term + "'! Use: "
+                    + term.substring(0, prefixLength) + "yyyy-MM-dd");
+        }
+        return minutes;
+    }
+
+    private QueryTasksCommand parseQuery() throws ArinException {
+        TaskQuery.Condition where = null;
+        if (isNext("where")) {
+            position++;
+            where = parseOr();
+        }
+
+        TaskQuery.Order order = null;
+        boolean isDescending = false;
+        if (isNext("order")) {
+            position++;
+            expect("by");
+            order = parseOrder(next("a sort order"));
+            if (isNext("asc") || isNext("desc")) {
+                isDescending = next("").equalsIgnoreCase("desc");
+            }
+        }
+
+        int limit = -1;
+        if (isNext("limit")) {
+            position++;
+            String count = next("a number");
+            try {
+                limit = Integer.parseInt(count);
+            } catch (NumberFormatException e) {
+                limit = -1;
+            }
+            if (limit < 0) {
+                throw new ArinException("Invalid limit '" + count + "'! It must be a number, 0 or more.");
+            }
+        }
+
+        boolean isExplain = false;
+        if (isNext("explain")) {
+            position++;
+            isExplain = true;
+        }
+        if (position < tokens.length) {
+            throw new ArinException("Unexpected '" + tokens[position] + "'. " + USAGE);
+        }
+        return new QueryTasksCommand(new TaskQuery(where, order, isDescending, limit), isExplain);
+    }
+
+    private static TaskQuery.Order parseOrder(String name) throws ArinException {
+        switch (name.toLowerCase()) {
+        case SortCommand.SORT_BY_DATE:
+            return TaskQuery.Order.DATE;
+        case SortCommand.SORT_BY_NAME:
+            return TaskQuery.Order.NAME;
+        case SortCommand.SORT_BY_TYPE:
+            return TaskQuery.Order.TYPE;
+        case SortCommand.SORT_BY_STATUS:
+            return TaskQuery.Order.STATUS;
+        default:
+            throw new ArinException("Invalid sort criterion! Use: date, name, type, or status");
+        }
+    }
+
+    private TaskQuery.Condition parseOr() throws ArinException {
+        List<TaskQuery.Condition> alternatives = new ArrayList<>();
+        alternatives.add(parseAnd());
+        while (isNext("or")) {
+            position++;
+            alternatives.add(parseAnd());
+        }
+        return alternatives.size() == 1 ? alternatives.get(0) : TaskQuery.or(alternatives);
+    }
+
+    private TaskQuery.Condition parseAnd() throws ArinException {
+        List<TaskQuery.Condition> parts = new ArrayList<>();
+        parts.add(parseNot());
+        while (position < tokens.length && !isNext("or") && !isNext(")") && !isClauseStart()) {
+            if (isNext("and")) {
+                position++;
+            }
+            parts.add(parseNot());
+        }
+        return parts.size() == 1 ? parts.get(0) : TaskQuery.and(parts);
+    }
+
+    private TaskQuery.Condition parseNot() throws ArinException {
+        if (isNext("not")) {
+            position++;
+            return TaskQuery.not(parseNot());
+        }
+        if (isNext("(")) {
+            position++;
+            TaskQuery.Condition condition = parseOr();
+            expect(")");
+            return condition;
+        }
+        String term = next("a condition");
+        TaskQuery.Condition condition = isKeyword(term) ? null : parseTerm(term);
+        if (condition == null) {
+            throw new ArinException("I don't understand '" + term + "'. Conditions are done, undone, "
+                    + "type:todo|deadline|event, find:WORD, before:yyyy-MM-dd and after:yyyy-MM-dd.");
+        }
+        return condition;
+    }
+
+    private boolean isClauseStart() {
+        return isNext("order") || isNext("limit") || isNext("explain");
+    }
+
+    private static boolean isKeyword(String token) {
+        switch (token.toLowerCase()) {
+        case "(":
+        case ")":
+        case "and":
+        case "or":
+        case "not":
+        case "order":
+        case "limit":
+        case "explain":
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    private boolean isNext(String keyword) {
+        return position < tokens.length && tokens[position].equalsIgnoreCase(keyword);
+    }
+
+    private String next(String expected) throws ArinException {
+        if (position == tokens.length) {
+            throw new ArinException("Expected " + expected + " at the end of the query. " + USAGE);
+        }
+        return tokens[position++];
+    }
+
+    private void expect(String keyword) throws ArinException {
+        if (!isNext(keyword)) {
+            throw new ArinException("Expected '" + keyword + "'"
+                    + (position < tokens.length ? " before '" + tokens[position] + "'" : "") + ". " + USAGE);
+        }
+        position++;
+    }
+}
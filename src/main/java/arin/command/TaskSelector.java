@@ -0,0 +1,170 @@
+package arin.command;
+
+import arin.ArinException;
+import arin.task.Task;
+import arin.task.TaskList;
+import arin.task.TaskQuery;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Picks out the tasks a bulk command applies to. A selection is made of space-separated terms,
+ * all of which a task must match: task numbers, ranges and ids separated by commas, e.g.
+ * "1-50,72,#90", or any condition term of a list query (see {@link TaskQueryParser}), such as
+ * "done", "type:event", "find:report" or "before:2025-01-01". The condition terms are run as
+ * one query, so they use the same indexes.
+ */
+public class TaskSelector {
+
+    private static final String USAGE = "Use task numbers and ranges (e.g., '1-50,72'), ids (e.g., '#12'), "
+            + "done, undone, type:todo|deadline|event, find:WORD, before:yyyy-MM-dd or after:yyyy-MM-dd";
+
+    /** The ranges of each number term, as flags (1 for ids) followed by first and last numbers. */
+    private final List<int[]> numberTerms = new ArrayList<>();
+    /** The condition terms. */
+    private final List<TaskQuery.Condition> conditions = new ArrayList<>();
+
+    private TaskSelector() {
+    }
+
+    /**
+     * Checks whether text names a single task, as a number or an id, rather than a selection.
+     *
+     * @param text The text after the command word.
+     * @return True if the text is a single {@link TaskTarget}.
+     */
+    public static boolean isSingleTask(String text) {
+        return text.trim().matches("#?\\d+");
+    }
+
+    /**
+     * Parses a selection.
+     *
+     * @param text The terms of the selection, separated by spaces.
+     * @return The selection.
+     * @throws ArinException If a term is not understood.
+     */
+    public static TaskSelector parse(String text) throws ArinException {
+        TaskSelector selector = new TaskSelector();
+        for (String term : text.trim().split("\\s+")) {
+            selector.addTerm(term);
+        }
+        return selector;
+    }
+
+    private void addTerm(String term) throws ArinException {
+        if (term.matches("#?\\d+(-\\d+)?(,#?\\d+(-\\d+)?)*")) {
+            addNumbers(term);
+            return;
+        }
+        TaskQuery.Condition condition = TaskQueryParser.parseTerm(term);
+        if (condition == null) {
+            throw new ArinException("I don't understand '" + term + "'. " + USAGE + ".");
+        }
+        conditions.add(condition);
+    }
+
+    private void addNumbers(String term) throws ArinException {
+        String[] items = term.split(",");
+        int[] ranges = new int[items.length * 3];
+        try {
+            for (int i = 0; i < items.length; i++) {
+                boolean isId = items[i].startsWith("#");
+                String[] bounds = (isId ? items[i].substring(1) : items[i]).split("-");
+                ranges[i * 3] = isId ? 1 : 0;
+                ranges[i * 3 + 1] = Integer.parseInt(bounds[0]);
+                ranges[i * 3 + 2] = bounds.length > 1 ? Integer.parseInt(bounds[1]) : ranges[i * 3 + 1];
+                if (ranges[i * 3 + 1] < 1 || ranges[i * 3 + 2] < ranges[i * 3 + 1]) {
+                    throw new ArinException("Invalid range '" + items[i]
+                            + "'! Ranges go from a smaller to a larger number, starting at 1");
+                }
+            }
+        } catch (NumberFormatException e) {
+            throw new ArinException("Task number too large in '" + term + "'.");
+        }
+        numberTerms.add(ranges);
+    }
+
+    /**
+     * Finds the tasks of a list that match every term.
+     *
+     * @param taskList The task list to select from.
+     * @return The 0-based indices of the matching tasks, in ascending order.
+     * @throws ArinException If a number or id term names a task that is not in the list.
+     */
+    public int[] resolve(TaskList taskList) throws ArinException {
+        BitSet candidates = resolveNumbers(taskList);
+        if (conditions.isEmpty()) {
+            return candidates.stream().toArray();
+        }
+
+        TaskQuery.Condition where = conditions.size() == 1 ? conditions.get(0) : TaskQuery.and(conditions);
+        List<Task> matches = new TaskQuery(where, null, false, -1).run(taskList).getTasks();
+        int[] indices = new int[matches.size()];
+        int count = 0;
+        for (Task task : matches) {
+            int index = taskList.indexOfId(task.getId());
+            if (candidates == null || candidates.get(index)) {
+                indices[count++] = index;
+            }
+        }
+        return Arrays.copyOf(indices, count);
+    }
+
+    /**
+     * Turns the number and id terms into 0-based indices. Each term narrows the selection,
+     * like every other term.
+     *
+     * @return The indices, or null if there are no number terms.
+     */
+    private BitSet resolveNumbers(TaskList taskList) throws ArinException {
+        BitSet rows = null;
+        for (int[] ranges : numberTerms) {
+            BitSet termRows = resolveRanges(ranges, taskList);
+            if (rows == null) {
+                rows = termRows;
+            } else {
+                rows.and(termRows);
+            }
+        }
+        return rows;
+    }
+
+    private static BitSet resolveRanges(int[] ranges, TaskList taskList) throws ArinException {
+        int size = taskList.getTasks().size();
+        BitSet rows = new BitSet(size);
+        for (int i = 0; i < ranges.length; i += 3) {
+            int first = ranges[i + 1];
+            int last = ranges[i + 2];
+            if (ranges[i] == 0) {
+                if (last > size) {
+                    throw new ArinException("Invalid task index. Please provide numbers between 1 and " + size + ".");
+                }
+                rows.set(first - 1, last);
+                continue;
+            }
+            if (first == last && taskList.indexOfId(first) < 0) {
+                throw new ArinException("No task has the id #" + first + ".");
+            }
+            // Ids of deleted tasks inside a range are skipped. Wide ranges scan the list instead.
+            if (last - first < size) {
+                for (int id = first; id <= last; id++) {
+                    int row = taskList.indexOfId(id);
+                    if (row >= 0) {
+                        rows.set(row);
+                    }
+                }
+            } else {
+                for (int row = 0; row < size; row++) {
+                    int id = taskList.getTask(row).getId();
+                    if (id >= first && id <= last) {
+                        rows.set(row);
+                    }
+                }
+            }
+        }
+        return rows;
+    }
+}
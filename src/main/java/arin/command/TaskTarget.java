@@ -0,0 +1,81 @@
+package arin.command;
+
+import arin.ArinException;
+import arin.task.TaskList;
+
+/**
+ * Refers to one task of a task list, either by its 1-based position ("3") or by its id ("#3").
+ * Positions change as tasks before them are deleted; ids do not, so scripts can keep them.
+ */
+public class TaskTarget {
+
+    private final int number;
+    private final boolean isId;
+
+    private TaskTarget(int number, boolean isId) {
+        this.number = number;
+        this.isId = isId;
+    }
+
+    /**
+     * Creates a target for the task at a 1-based position.
+     *
+     * @param taskIndex The 1-based index of the task.
+     * @return The target.
+     */
+    public static TaskTarget ofIndex(int taskIndex) {
+        return new TaskTarget(taskIndex, false);
+    }
+
+    /**
+     * Creates a target for the task with an id.
+     *
+     * @param id The id of the task.
+     * @return The target.
+     */
+    public static TaskTarget ofId(int id) {
+        return new TaskTarget(id, true);
+    }
+
+    /**
+     * Parses a target written as a task number or as "#" and a task id.
+     *
+     * @param text The text to parse.
+     * @return The target.
+     * @throws ArinException If the text is not a number or an id.
+     */
+    public static TaskTarget parse(String text) throws ArinException {
+        String trimmed = text.trim();
+        boolean isId = trimmed.startsWith("#");
+        try {
+            return new TaskTarget(Integer.parseInt(isId ? trimmed.substring(1) : trimmed), isId);
+        } catch (NumberFormatException e) {
+            throw new ArinException("Invalid task reference! Use a task number, or # and a task id (e.g., '#12').");
+        }
+    }
+
+    /**
+     * Finds the index of the target task in a task list.
+     *
+     * @param taskList The task list holding the task.
+     * @return The 0-based index of the task.
+     * @throws ArinException If the list has no such task.
+     */
+    public int resolve(TaskList taskList) throws ArinException {
+        if (isId) {
+            int index = taskList.indexOfId(number);
+            if (index < 0) {
+                throw new ArinException("No task has the id #" + number + ".");
+            }
+            return index;
+        }
+
+        // Convert from 1-based user index to 0-based internal index
+        int internalIndex = number - 1;
+        if (internalIndex < 0 || internalIndex >= taskList.getTasks().size()) {
+            throw new ArinException("Invalid task index. Please provide a number between 1 and "
+                    + taskList.getTasks().size() + ".");
+        }
+        return internalIndex;
+    }
+}
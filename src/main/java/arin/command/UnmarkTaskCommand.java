@@ -1,7 +1,8 @@
 package arin.command;
 
 import arin.ArinException;
-import arin.storage.Storage;
+import arin.storage.Mutation;
+import arin.storage.TaskStore;
 import arin.task.TaskList;
 import arin.ui.Ui;
 
@@ -10,7 +11,7 @@ import arin.ui.Ui;
  */
 public class UnmarkTaskCommand implements Command {
 
-    private final int taskIndex;
+    private final TaskTarget target;
 
     /**
      * Creates a command to unmark the task at the specified index.
@@ -18,7 +19,16 @@ public class UnmarkTaskCommand implements Command {
      * @param taskIndex The index of the task to unmark.
      */
     public UnmarkTaskCommand(int taskIndex) {
-        this.taskIndex = taskIndex;
+        this(TaskTarget.ofIndex(taskIndex));
+    }
+
+    /**
+     * Creates a command to unmark the task given by position or by id.
+     *
+     * @param target The task to unmark.
+     */
+    public UnmarkTaskCommand(TaskTarget target) {
+        this.target = target;
     }
 
     /**
@@ -31,18 +41,12 @@ public class UnmarkTaskCommand implements Command {
      * @throws ArinException If there is an error unmarking the task.
      */
     @Override
-    public void execute(TaskList taskList, Ui ui, Storage storage) throws ArinException {
-        // Convert from 1-based user index to 0-based internal index
-        int internalIndex = taskIndex - 1;  // Bug fix: Subtract 1 to convert from user index to internal index
-
-        if (internalIndex < 0 || internalIndex >= taskList.getTasks().size()) {
-            throw new ArinException("Invalid task index. Please provide a number between 1 and "
-                    + taskList.getTasks().size() + ".");
-        }
+    public void execute(TaskList taskList, Ui ui, TaskStore storage) throws ArinException {
+        int internalIndex = target.resolve(taskList);
 
         taskList.markTaskAsNotDone(internalIndex);
         ui.showTaskMarkedAsNotDone(taskList.getTask(internalIndex));
-        storage.saveTasks(taskList.getTasks());
+        storage.appendMutation(Mutation.unmark(internalIndex, taskList.getTask(internalIndex).getId()), taskList);
     }
 
     /**
@@ -0,0 +1,302 @@
+package arin.storage;
+
+import arin.task.DateCodec;
+import arin.task.DescriptionArena;
+import arin.task.Deadline;
+import arin.task.Event;
+import arin.task.ParseErrors;
+import arin.task.ParseErrors.Reason;
+import arin.task.Task;
+import arin.task.TaskType;
+import arin.task.ToDo;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Reads and writes the compact binary save format.
+ *
+ * <p>The file starts with the magic bytes "ARIN", a version byte and the record count.
+ * Each record is a flags byte (task type in the low bits, done in the high bit),
+ * the dates as varint-encoded minutes since the epoch, and the description as a
+ * varint length followed by its UTF-8 bytes. Since version 2 every record is followed
+ * by the CRC32 of its bytes, so a damaged record can be skipped without losing the rest,
+ * and since version 3 the flags byte is followed by the task's id as a varint, 0 for none.
+ * Descriptions are handed to the tasks undecoded and only turned into Strings when first read.
+ * With off-heap descriptions, the tasks instead point into the mapped file through a
+ * {@link DescriptionArena}, so their descriptions are never copied onto the heap at all.
+ */
+public class BinaryTaskCodec implements TaskLoader {
+
+    /** The current version of the binary format. */
+    public static final int VERSION = 3;
+
+    private static final byte[] MAGIC = {'A', 'R', 'I', 'N'};
+    private static final int HEADER_LENGTH = MAGIC.length + 1 + Integer.BYTES;
+    private static final int TYPE_MASK = 0x03;
+    private static final int DONE_FLAG = 0x80;
+    private static final int FIRST_CHECKSUMMED_VERSION = 2;
+    private static final int FIRST_VERSION_WITH_IDS = 3;
+
+    private final boolean keepsDescriptionsMapped;
+
+    /**
+     * Creates a codec that keeps descriptions in the mapped file if the
+     * {@link DescriptionArena#PROPERTY} system property asks for off-heap descriptions.
+     */
+    public BinaryTaskCodec() {
+        this(DescriptionArena.isEnabled());
+    }
+
+    /**
+     * Creates a codec.
+     *
+     * @param keepsDescriptionsMapped Whether loaded tasks should read their descriptions straight
+     *     from the mapped file instead of holding copies of the bytes.
+     */
+    public BinaryTaskCodec(boolean keepsDescriptionsMapped) {
+        this.keepsDescriptionsMapped = keepsDescriptionsMapped;
+    }
+
+    /**
+     * Checks whether the given file starts with the binary format's magic bytes.
+     *
+     * @param file The file to check.
+     * @return True if the file is in the binary format, false otherwise.
+     */
+    public static boolean isBinary(File file) {
+        if (!file.exists() || file.length() < MAGIC.length) {
+            return false;
+        }
+
+        try (InputStream in = new FileInputStream(file)) {
+            byte[] header = in.readNBytes(MAGIC.length);
+            return Arrays.equals(header, MAGIC);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public ArrayList<Task> load(File file, ParseErrors errors) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_LENGTH) {
+                throw new IOException("Binary save file is truncated.");
+            }
+
+            byte[] magic = new byte[MAGIC.length];
+            buffer.get(magic);
+            int version = buffer.get();
+            if (!Arrays.equals(magic, MAGIC) || version < 1 || version > VERSION) {
+                throw new IOException("Unsupported binary save file version: " + version);
+            }
+
+            boolean hasChecksums = version >= FIRST_CHECKSUMMED_VERSION;
+            boolean hasIds = version >= FIRST_VERSION_WITH_IDS;
+            int count = buffer.getInt();
+            ArrayList<Task> tasks = new ArrayList<>(Math.min(count, buffer.remaining()));
+            CRC32 crc = new CRC32();
+            DescriptionArena arena = keepsDescriptionsMapped ? DescriptionArena.wrap(buffer) : null;
+            int skipped = 0;
+            try {
+                for (int i = 0; i < count; i++) {
+                    int start = buffer.position();
+                    Task task = readRecord(buffer, arena, hasIds);
+                    if (hasChecksums) {
+                        crc.reset();
+                        crc.update(buffer.slice(start, buffer.position() - start));
+                        if ((int) crc.getValue() != buffer.getInt()) {
+                            errors.record(Reason.CHECKSUM_MISMATCH, "task " + (i + 1));
+                            skipped++;
+                            continue;
+                        }
+                    }
+                    tasks.add(task);
+                }
+            } catch (BufferUnderflowException | IllegalArgumentException | DateTimeException e) {
+                // The record boundaries are lost, so keep what was read before the damage.
+                int damagedFrom = tasks.size() + skipped;
+                errors.record(Reason.DAMAGED_RECORD, "task " + (damagedFrom + 1) + " of " + count);
+            }
+            return tasks;
+        }
+    }
+
+    /**
+     * Reads one record. If an arena over the buffer is given, the task points into it
+     * instead of getting a copy of its description.
+     */
+    private static Task readRecord(MappedByteBuffer buffer, DescriptionArena arena, boolean hasIds) {
+        int flags = buffer.get() & 0xFF;
+        long id = hasIds ? readVarLong(buffer) : 0;
+        if (id < 0 || id > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid task id: " + id);
+        }
+        Task task;
+        switch (flags & TYPE_MASK) {
+        case 0:
+            if (arena != null) {
+                task = new ToDo(arena, skipDescription(buffer));
+            } else {
+                task = new ToDo(readDescription(buffer));
+            }
+            break;
+        case 1:
+            long by = readVarLong(buffer);
+            if (arena != null) {
+                task = new Deadline(arena, skipDescription(buffer), by);
+            } else {
+                task = new Deadline(readDescription(buffer), by);
+            }
+            break;
+        case 2:
+            long from = readVarLong(buffer);
+            long to = readVarLong(buffer);
+            if (arena != null) {
+                task = new Event(arena, skipDescription(buffer), from, to);
+            } else {
+                task = new Event(readDescription(buffer), from, to);
+            }
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown task type code: " + (flags & TYPE_MASK));
+        }
+
+        if ((flags & DONE_FLAG) != 0) {
+            task.markAsDone();
+        }
+        if (id > 0) {
+            task.setId((int) id);
+        }
+        return task;
+    }
+
+    private static byte[] readDescription(MappedByteBuffer buffer) {
+        byte[] description = new byte[readDescriptionLength(buffer)];
+        buffer.get(description);
+        return description;
+    }
+
+    /**
+     * Moves past a description, leaving its bytes in the buffer.
+     *
+     * @return The offset of the description's length prefix.
+     */
+    private static int skipDescription(MappedByteBuffer buffer) {
+        int offset = buffer.position();
+        int length = readDescriptionLength(buffer);
+        buffer.position(buffer.position() + length);
+        return offset;
+    }
+
+    private static int readDescriptionLength(MappedByteBuffer buffer) {
+        long length = readVarLong(buffer);
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid description length: " + length);
+        }
+        return (int) length;
+    }
+
+    /**
+     * Writes the given tasks to a file in the binary format.
+     *
+     * @param file The file to write.
+     * @param tasks The tasks to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void save(File file, List<Task> tasks) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file), 64 * 1024)) {
+            save(out, tasks);
+        }
+    }
+
+    /**
+     * Writes the given tasks to a stream in the binary format. The stream is flushed but not closed.
+     *
+     * @param stream The stream to write to.
+     * @param tasks The tasks to write.
+     * @throws IOException If the stream cannot be written.
+     */
+    public static void save(OutputStream stream, List<Task> tasks) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+        out.write(MAGIC);
+        out.writeByte(VERSION);
+        out.writeInt(tasks.size());
+
+        ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+        DataOutputStream record = new DataOutputStream(recordBytes);
+        CRC32 crc = new CRC32();
+        for (Task task : tasks) {
+            recordBytes.reset();
+            writeRecord(record, task);
+            crc.reset();
+            crc.update(recordBytes.toByteArray(), 0, recordBytes.size());
+            recordBytes.writeTo(out);
+            out.writeInt((int) crc.getValue());
+        }
+        out.flush();
+    }
+
+    private static void writeRecord(DataOutputStream out, Task task) throws IOException {
+        TaskType type = task.getTaskType();
+        out.writeByte(type.ordinal() | (task.isDone() ? DONE_FLAG : 0));
+        writeVarLong(out, task.getId());
+
+        switch (type) {
+        case DEADLINE:
+            writeVarLong(out, ((Deadline) task).getByMinutes());
+            break;
+        case EVENT:
+            writeVarLong(out, ((Event) task).getFromMinutes());
+            writeVarLong(out, ((Event) task).getToMinutes());
+            break;
+        default:
+            break;
+        }
+
+        byte[] description = task.getEncodedDescription();
+        writeVarLong(out, description.length);
+        out.write(description);
+    }
+
+    /**
+     * Writes a zig-zag encoded variable-length long, so small magnitudes take few bytes.
+     */
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        long zigZag = (value << 1) ^ (value >> 63);
+        while ((zigZag & ~0x7FL) != 0) {
+            out.writeByte((int) ((zigZag & 0x7F) | 0x80));
+            zigZag >>>= 7;
+        }
+        out.writeByte((int) zigZag);
+    }
+
+    private static long readVarLong(MappedByteBuffer buffer) {
+        long zigZag = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            zigZag |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (zigZag >>> 1) ^ -(zigZag & 1);
+            }
+        }
+        throw new IllegalArgumentException("Malformed variable-length number");
+    }
+}
@@ -0,0 +1,59 @@
+package arin.storage;
+
+/**
+ * Describes when the journal should be folded back into the snapshot.
+ * Compaction is triggered once either the journal size or its record count
+ * reaches the configured threshold.
+ */
+public class CompactionPolicy {
+
+    /** Compacts after 1 MB or 10,000 journal records, whichever comes first. */
+    public static final CompactionPolicy DEFAULT = new CompactionPolicy(1024 * 1024, 10_000);
+
+    /** Never compacts automatically. */
+    public static final CompactionPolicy NEVER = new CompactionPolicy(Long.MAX_VALUE, Integer.MAX_VALUE);
+
+    private final long maxJournalBytes;
+    private final int maxJournalRecords;
+
+    /**
+     * Creates a compaction policy with the given thresholds.
+     *
+     * @param maxJournalBytes The journal size in bytes that triggers compaction.
+     * @param maxJournalRecords The number of journal records that triggers compaction.
+     */
+    public CompactionPolicy(long maxJournalBytes, int maxJournalRecords) {
+        assert maxJournalBytes > 0 && maxJournalRecords > 0 : "Compaction thresholds must be positive";
+        this.maxJournalBytes = maxJournalBytes;
+        this.maxJournalRecords = maxJournalRecords;
+    }
+
+    /**
+     * Checks whether a journal of the given size should be compacted.
+     *
+     * @param journalBytes The current journal size in bytes.
+     * @param journalRecords The current number of journal records.
+     * @return True if compaction should run, false otherwise.
+     */
+    public boolean shouldCompact(long journalBytes, int journalRecords) {
+        return journalBytes >= maxJournalBytes || journalRecords >= maxJournalRecords;
+    }
+
+    /**
+     * Gets the journal size that triggers compaction.
+     *
+     * @return The threshold in bytes.
+     */
+    public long getMaxJournalBytes() {
+        return maxJournalBytes;
+    }
+
+    /**
+     * Gets the number of journal records that triggers compaction.
+     *
+     * @return The threshold in records.
+     */
+    public int getMaxJournalRecords() {
+        return maxJournalRecords;
+    }
+}
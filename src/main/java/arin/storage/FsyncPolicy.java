@@ -0,0 +1,13 @@
+package arin.storage;
+
+/**
+ * Controls when Storage forces written data to the disk, trading durability for throughput.
+ */
+public enum FsyncPolicy {
+    /** Forces every snapshot and every journal append before returning. */
+    ALWAYS,
+    /** Forces every snapshot, but journal appends only every few records or once a second. */
+    BATCHED,
+    /** Never forces; the operating system decides when data reaches the disk. */
+    NEVER
+}
@@ -0,0 +1,75 @@
+package arin.storage;
+
+import arin.task.Task;
+import arin.task.TaskList;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the stored tasks in memory only. Nothing survives the process,
+ * which makes this store useful for tests and for benchmarking commands without disk I/O.
+ */
+public class InMemoryTaskStore implements TaskStore {
+
+    private ArrayList<Task> tasks;
+    private int mutationCount;
+
+    /**
+     * Creates an empty in-memory store.
+     */
+    public InMemoryTaskStore() {
+        this(new ArrayList<>());
+    }
+
+    /**
+     * Creates an in-memory store that starts with the given tasks.
+     *
+     * @param tasks The initially stored tasks.
+     */
+    public InMemoryTaskStore(ArrayList<Task> tasks) {
+        this.tasks = new ArrayList<>(tasks);
+    }
+
+    @Override
+    public synchronized ArrayList<Task> loadTasks() {
+        return new ArrayList<>(tasks);
+    }
+
+    @Override
+    public synchronized void saveTasks(ArrayList<Task> tasks) {
+        this.tasks = new ArrayList<>(tasks);
+    }
+
+    /**
+     * Applies the change to the stored copy, the same way a journal replay would.
+     */
+    @Override
+    public synchronized void appendMutation(Mutation mutation, TaskList taskList) {
+        mutation.applyTo(tasks);
+        mutationCount++;
+    }
+
+    @Override
+    public synchronized void appendMutations(List<Mutation> mutations, TaskList taskList) {
+        for (Mutation mutation : mutations) {
+            appendMutation(mutation, taskList);
+        }
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    /**
+     * Gets the number of changes persisted since the store was created.
+     *
+     * @return The mutation count.
+     */
+    public synchronized int getMutationCount() {
+        return mutationCount;
+    }
+}
@@ -0,0 +1,97 @@
+package arin.storage;
+
+import arin.task.Task;
+import arin.task.TaskList;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Remembers the largest task id handed out, in a small file next to the save file, so the ids
+ * of deleted tasks are not handed out again after a restart. The saved records carry the ids of
+ * the tasks that are left, so the file is only written when the newest task is deleted.
+ */
+class LastIdFile {
+
+    private static final String SUFFIX = ".id";
+    private static final String NEW_SUFFIX = ".new";
+
+    private final File file;
+    private int savedId;
+
+    /**
+     * Creates the id file of a save file.
+     *
+     * @param filePath The path of the save file.
+     */
+    LastIdFile(String filePath) {
+        this.file = new File(filePath + SUFFIX);
+    }
+
+    /**
+     * Reads the largest id handed out before the last restart.
+     */
+    void read() {
+        savedId = 0;
+        if (!file.exists()) {
+            return;
+        }
+        try {
+            String text = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+            savedId = Integer.parseInt(text.trim());
+        } catch (IOException | NumberFormatException e) {
+            System.out.println("Error reading the last task id, deleted task ids may be reused.");
+        }
+    }
+
+    /**
+     * Gets the largest id handed out that the file holds.
+     *
+     * @return The id, or 0 if the file was never written or could not be read.
+     */
+    int get() {
+        return savedId;
+    }
+
+    /**
+     * Writes the largest id handed out if the given changes deleted the task that had it.
+     * Call this before persisting the changes, so the id is never lost.
+     *
+     * @param mutations The changes that were applied to the task list.
+     * @param taskList The task list after the changes.
+     * @param fsyncPolicy The fsync policy of the calling store.
+     */
+    void update(List<Mutation> mutations, TaskList taskList, FsyncPolicy fsyncPolicy) {
+        int lastId = taskList.getLastId();
+        boolean hasDelete = mutations.stream().anyMatch(mutation -> mutation.getType() == Mutation.Type.DELETE);
+        if (lastId <= savedId || !hasDelete) {
+            return;
+        }
+        ArrayList<Task> tasks = taskList.getTasks();
+        if (!tasks.isEmpty() && tasks.get(tasks.size() - 1).getId() == lastId) {
+            return;
+        }
+
+        File temp = new File(file.getPath() + NEW_SUFFIX);
+        try (FileOutputStream out = new FileOutputStream(temp)) {
+            out.write(Integer.toString(lastId).getBytes(StandardCharsets.UTF_8));
+            if (fsyncPolicy != FsyncPolicy.NEVER) {
+                out.getChannel().force(true);
+            }
+        } catch (IOException e) {
+            System.out.println("Error saving the last task id.");
+            temp.delete();
+            return;
+        }
+        if (!Storage.replace(temp, file, fsyncPolicy)) {
+            System.out.println("Error saving the last task id.");
+            temp.delete();
+            return;
+        }
+        savedId = lastId;
+    }
+}
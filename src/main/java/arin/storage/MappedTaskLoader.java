@@ -0,0 +1,34 @@
+package arin.storage;
+
+import arin.task.ParseErrors;
+import arin.task.Task;
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+/**
+ * Loads tasks by memory-mapping the save file and scanning records directly in the mapped bytes.
+ * This avoids the regex work done by {@link java.util.Scanner} and {@link String#split(String)},
+ * which dominates startup time for large save files.
+ */
+public class MappedTaskLoader implements TaskLoader {
+
+    @Override
+    public ArrayList<Task> load(File file, ParseErrors errors) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                // A single mapping is limited to 2 GB; such files are rare enough to take the slow path.
+                return new ScannerTaskLoader().load(file, errors);
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            ArrayList<Task> tasks = new ArrayList<>();
+            new TaskRecordScanner(buffer, errors).scan(0, (int) size, tasks);
+            return tasks;
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package arin.storage;
+
+import arin.task.ParseErrors;
+import arin.task.Task;
+import arin.task.TaskList;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores tasks in the same snapshot and journal files as a journaled {@link Storage},
+ * but reads and writes them through memory-mapped buffers.
+ *
+ * <p>The journal is mapped with spare capacity, so appending a change is a copy into
+ * the mapping rather than a system call; the operating system writes the pages back.
+ * Unused capacity is zero-filled; closing the store trims it, and otherwise whichever
+ * store opens the journal next trims it. Once the journal grows past the compaction
+ * thresholds, the next change writes a fresh snapshot on the calling thread.
+ * Snapshots are written in the format of the file that was loaded, text or binary.
+ */
+public class MappedTaskStore implements TaskStore {
+
+    private static final String JOURNAL_SUFFIX = ".log";
+    private static final String NEW_SUFFIX = ".new";
+    private static final int INITIAL_JOURNAL_CAPACITY = 64 * 1024;
+
+    private final String filePath;
+    private final String journalPath;
+    private final LastIdFile lastIdFile;
+    private final CompactionPolicy compactionPolicy;
+    private final TaskLoader snapshotLoader = new MappedTaskLoader();
+    private final TaskLoader binaryLoader = new BinaryTaskCodec();
+    private FsyncPolicy fsyncPolicy = FsyncPolicy.BATCHED;
+
+    private FileChannel journalChannel;
+    private MappedByteBuffer journal;
+    private int journalRecords;
+    private int unsyncedJournalRecords;
+    private long lastJournalSyncNanos = System.nanoTime();
+    /** Whether snapshots are written in the binary format; follows the format of the file that was loaded. */
+    private boolean isBinary;
+
+    /**
+     * Creates a memory-mapped store with the default compaction thresholds.
+     *
+     * @param filePath The file path where tasks are stored.
+     */
+    public MappedTaskStore(String filePath) {
+        this(filePath, CompactionPolicy.DEFAULT);
+    }
+
+    /**
+     * Creates a memory-mapped store that compacts its journal according to the given policy.
+     *
+     * @param filePath The file path where tasks are stored.
+     * @param compactionPolicy The thresholds that trigger a new snapshot.
+     */
+    public MappedTaskStore(String filePath, CompactionPolicy compactionPolicy) {
+        assert compactionPolicy != null : "Compaction policy cannot be null";
+        this.filePath = filePath;
+        this.journalPath = filePath + JOURNAL_SUFFIX;
+        this.lastIdFile = new LastIdFile(filePath);
+        this.compactionPolicy = compactionPolicy;
+    }
+
+    /**
+     * Sets when written data is forced to the disk.
+     * With {@link FsyncPolicy#BATCHED}, the journal mapping is forced by the first append after 64 records
+     * or a second since the last force, and on flush and close; between appends the operating system
+     * writes the mapped pages back on its own.
+     *
+     * @param fsyncPolicy The fsync policy to use.
+     */
+    public synchronized void setFsyncPolicy(FsyncPolicy fsyncPolicy) {
+        assert fsyncPolicy != null : "Fsync policy cannot be null";
+        this.fsyncPolicy = fsyncPolicy;
+    }
+
+    @Override
+    public synchronized ArrayList<Task> loadTasks() {
+        closeJournal();
+        Storage.recoverSnapshotSwap(new File(filePath + NEW_SUFFIX), journalPath);
+        lastIdFile.read();
+
+        ParseErrors errors = new ParseErrors();
+        ArrayList<Task> tasks = readSnapshot(errors);
+        int replayed = 0;
+        try {
+            openJournal();
+            byte[] records = new byte[journal.position()];
+            journal.get(0, records);
+            replayed = Storage.replayJournal(new ByteArrayInputStream(records), tasks, errors);
+            journalRecords = Math.max(replayed, 0);
+        } catch (IOException e) {
+            System.out.println("Error reading journal, using snapshot only.");
+        }
+
+        if (!errors.isEmpty()) {
+            System.out.println(errors);
+        }
+        if (replayed < 0) {
+            closeJournal();
+            Storage.setAsideJournal(journalPath);
+            saveTasks(tasks);
+        }
+        return tasks;
+    }
+
+    private ArrayList<Task> readSnapshot(ParseErrors errors) {
+        File file = new File(filePath);
+        if (!file.exists()) {
+            return new ArrayList<>();
+        }
+
+        try {
+            isBinary = BinaryTaskCodec.isBinary(file);
+            TaskLoader loader = isBinary ? binaryLoader : snapshotLoader;
+            return loader.load(file, errors);
+        } catch (IOException e) {
+            System.out.println("Error reading save file, starting with an empty list.");
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Maps the journal file and positions the buffer after its last record.
+     */
+    private void openJournal() throws IOException {
+        closeJournal();
+        journalChannel = FileChannel.open(new File(journalPath).toPath(),
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+        long size = Storage.trimJournalPadding(journalChannel);
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Journal is too large to map: " + size + " bytes");
+        }
+
+        mapJournal(Math.max(INITIAL_JOURNAL_CAPACITY, (int) size));
+        journal.position((int) size);
+    }
+
+    private void mapJournal(int capacity) throws IOException {
+        int position = journal == null ? 0 : journal.position();
+        journal = journalChannel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        journal.position(position);
+    }
+
+    /**
+     * Writes the tasks to a new snapshot file in the loaded format and swaps it in, dropping the
+     * journal since the snapshot holds every change. The journal is unmapped first, since some
+     * platforms refuse to rename a mapped file, and a new one is mapped by the next change.
+     */
+    @Override
+    public synchronized void saveTasks(ArrayList<Task> tasks) {
+        File temp = new File(filePath + NEW_SUFFIX);
+        try {
+            writeSnapshot(temp, tasks);
+        } catch (IOException e) {
+            System.out.println("Error saving tasks to file.");
+            temp.delete();
+            return;
+        }
+
+        forceJournal();
+        closeJournal();
+        if (!Storage.swapSnapshot(temp, new File(filePath), journalPath, fsyncPolicy)) {
+            System.out.println("Error saving tasks to file.");
+            temp.delete();
+            return;
+        }
+        journalRecords = 0;
+        unsyncedJournalRecords = 0;
+    }
+
+    private void writeSnapshot(File target, List<Task> tasks) throws IOException {
+        if (isBinary) {
+            BinaryTaskCodec.save(target, tasks);
+            if (fsyncPolicy != FsyncPolicy.NEVER) {
+                try (FileChannel channel = FileChannel.open(target.toPath(), StandardOpenOption.WRITE)) {
+                    channel.force(true);
+                }
+            }
+            return;
+        }
+
+        List<byte[]> lines = new ArrayList<>(tasks.size());
+        long size = 0;
+        for (Task task : tasks) {
+            byte[] line = Storage.encodeRecord(task);
+            lines.add(line);
+            size += line.length;
+        }
+
+        try (FileChannel channel = FileChannel.open(target.toPath(), StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            for (byte[] line : lines) {
+                buffer.put(line);
+            }
+            if (fsyncPolicy != FsyncPolicy.NEVER) {
+                buffer.force();
+            }
+        }
+    }
+
+    @Override
+    public synchronized void appendMutation(Mutation mutation, TaskList taskList) {
+        appendMutations(List.of(mutation), taskList);
+    }
+
+    /**
+     * Appends the records of all the changes to the journal, forcing it at most once.
+     */
+    @Override
+    public synchronized void appendMutations(List<Mutation> mutations, TaskList taskList) {
+        lastIdFile.update(mutations, taskList, fsyncPolicy);
+        StringBuilder batch = new StringBuilder();
+        for (Mutation mutation : mutations) {
+            batch.append(RecordChecksum.append(mutation.toRecord())).append(System.lineSeparator());
+        }
+        byte[] records = batch.toString().getBytes(StandardCharsets.UTF_8);
+        try {
+            if (journal == null) {
+                openJournal();
+            }
+            if (journal.remaining() < records.length) {
+                mapJournal(Math.max(journal.capacity() * 2, journal.position() + records.length));
+            }
+        } catch (IOException e) {
+            System.out.println("Error appending change to journal.");
+            return;
+        }
+
+        journal.put(records);
+        journalRecords += mutations.size();
+        unsyncedJournalRecords += mutations.size();
+        if (Storage.shouldSyncJournal(fsyncPolicy, unsyncedJournalRecords, lastJournalSyncNanos)) {
+            forceJournal();
+        }
+
+        if (compactionPolicy.shouldCompact(journal.position(), journalRecords)) {
+            saveTasks(taskList.getTasks());
+        }
+    }
+
+    /**
+     * Gets the largest task id handed out before the tasks were last loaded,
+     * as kept by {@link LastIdFile}.
+     *
+     * @return The id, or 0 if no newest task was ever deleted.
+     */
+    @Override
+    public synchronized int getLastTaskId() {
+        return lastIdFile.get();
+    }
+
+    @Override
+    public synchronized void flush() {
+        forceJournal();
+    }
+
+    private void forceJournal() {
+        if (journal != null && fsyncPolicy != FsyncPolicy.NEVER) {
+            journal.force();
+            unsyncedJournalRecords = 0;
+            lastJournalSyncNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Forces the journal and trims its unused capacity where the platform allows it.
+     */
+    @Override
+    public synchronized void close() {
+        forceJournal();
+        closeJournal();
+    }
+
+    private void closeJournal() {
+        if (journalChannel == null) {
+            return;
+        }
+
+        int used = journal.position();
+        journal = null;
+        try {
+            journalChannel.truncate(used);
+        } catch (IOException e) {
+            // The zero padding is skipped on load, so trimming it is only tidying up.
+        }
+        try {
+            journalChannel.close();
+        } catch (IOException e) {
+            System.out.println("Error closing journal.");
+        }
+        journalChannel = null;
+    }
+
+    /**
+     * Gets the number of records currently in the journal.
+     *
+     * @return The journal record count.
+     */
+    public synchronized int getJournalRecordCount() {
+        return journalRecords;
+    }
+}
@@ -0,0 +1,238 @@
+package arin.storage;
+
+import arin.task.Task;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents a single change to the task list that can be appended to the journal.
+ * Each mutation is stored as one line, e.g. "A | T | 0 | read book | id:4" or "M | id:4".
+ * Changes to existing tasks name them by id, so a record that fails to replay cannot shift
+ * later records onto the wrong tasks. Journals written before tasks had ids name them by
+ * index instead, e.g. "M | 3", which is still read.
+ */
+public class Mutation {
+
+    /**
+     * The kinds of changes recorded in the journal.
+     */
+    public enum Type {
+        ADD("A"), MARK("M"), UNMARK("U"), DELETE("X");
+
+        private final String code;
+
+        Type(String code) {
+            this.code = code;
+        }
+
+        private static Type fromCode(String code) {
+            for (Type type : values()) {
+                if (type.code.equals(code)) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Unknown journal record type: " + code);
+        }
+    }
+
+    private static final String SEPARATOR = " | ";
+    private static final String ID_PREFIX = "id:";
+
+    private final Type type;
+    private final int index;
+    private final int id;
+    private final Task task;
+
+    private Mutation(Type type, int index, int id, Task task) {
+        this.type = type;
+        this.index = index;
+        this.id = id;
+        this.task = task;
+    }
+
+    /**
+     * Creates a mutation that appends the given task to the end of the list.
+     *
+     * @param task The task that was added.
+     * @return The mutation.
+     */
+    public static Mutation add(Task task) {
+        return new Mutation(Type.ADD, -1, task.getId(), task);
+    }
+
+    /**
+     * Creates a mutation that marks the task at the given index as done.
+     *
+     * @param index The 0-based index of the task.
+     * @param id The id of the task.
+     * @return The mutation.
+     */
+    public static Mutation mark(int index, int id) {
+        return new Mutation(Type.MARK, index, id, null);
+    }
+
+    /**
+     * Creates a mutation that marks the task at the given index as not done.
+     *
+     * @param index The 0-based index of the task.
+     * @param id The id of the task.
+     * @return The mutation.
+     */
+    public static Mutation unmark(int index, int id) {
+        return new Mutation(Type.UNMARK, index, id, null);
+    }
+
+    /**
+     * Creates a mutation that deletes the task at the given index.
+     *
+     * @param index The 0-based index of the task, before it was deleted.
+     * @param id The id of the task.
+     * @return The mutation.
+     */
+    public static Mutation delete(int index, int id) {
+        return new Mutation(Type.DELETE, index, id, null);
+    }
+
+    /**
+     * Gets the kind of change this mutation records.
+     *
+     * @return The mutation type.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Gets the index of the task that was marked, unmarked or deleted.
+     *
+     * @return The task index, or -1 for an added task.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Gets the id of the task that was added, marked, unmarked or deleted.
+     *
+     * @return The task id, or 0 for a record from a journal written before tasks had ids.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Gets the task that was added.
+     *
+     * @return The added task, or null for other kinds of change.
+     */
+    public Task getTask() {
+        return task;
+    }
+
+    /**
+     * Converts the mutation into a single journal line.
+     *
+     * @return The formatted journal record.
+     */
+    public String toRecord() {
+        if (type == Type.ADD) {
+            return type.code + SEPARATOR + Storage.toRecord(task);
+        }
+        return type.code + SEPARATOR + (id > 0 ? ID_PREFIX + id : Integer.toString(index));
+    }
+
+    /**
+     * Parses a journal line back into a mutation.
+     *
+     * @param record The journal line.
+     * @return The corresponding mutation.
+     * @throws IllegalArgumentException if the record is malformed.
+     */
+    public static Mutation parseRecord(String record) {
+        int separator = record.indexOf(SEPARATOR);
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid journal record format!");
+        }
+
+        Type type = Type.fromCode(record.substring(0, separator));
+        String payload = record.substring(separator + SEPARATOR.length());
+
+        if (type == Type.ADD) {
+            return add(Task.parseTask(payload));
+        }
+
+        try {
+            if (payload.startsWith(ID_PREFIX)) {
+                int id = Integer.parseInt(payload.substring(ID_PREFIX.length()).trim());
+                if (id <= 0) {
+                    throw new NumberFormatException();
+                }
+                return new Mutation(type, -1, id, null);
+            }
+            return new Mutation(type, Integer.parseInt(payload.trim()), 0, null);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid task in journal record: " + payload);
+        }
+    }
+
+    /**
+     * Applies this mutation to the given list of tasks.
+     *
+     * @param tasks The tasks to update.
+     * @throws IllegalArgumentException if the id or index does not refer to an existing task.
+     */
+    public void applyTo(ArrayList<Task> tasks) {
+        if (type == Type.ADD) {
+            tasks.add(task);
+            return;
+        }
+
+        int target = id > 0 ? indexOfId(tasks, id) : index;
+        if (target < 0 || target >= tasks.size()) {
+            throw new IllegalArgumentException("Journal refers to missing task "
+                    + (id > 0 ? "id " + id : "index " + index));
+        }
+
+        switch (type) {
+        case MARK:
+            tasks.get(target).markAsDone();
+            break;
+        case UNMARK:
+            tasks.get(target).markAsNotDone();
+            break;
+        case DELETE:
+            tasks.remove(target);
+            break;
+        default:
+            throw new IllegalArgumentException("Unsupported journal record type: " + type);
+        }
+    }
+
+    /**
+     * Finds the task with the given id. Ids ascend in list order, as a task list hands them out,
+     * so this is a binary search; a list that breaks that order is searched from the start.
+     *
+     * @return The index of the task, or -1 if no task has the id.
+     */
+    private static int indexOfId(List<Task> tasks, int id) {
+        int low = 0;
+        int high = tasks.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int middleId = tasks.get(middle).getId();
+            if (middleId < id) {
+                low = middle + 1;
+            } else if (middleId > id) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            if (tasks.get(i).getId() == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,160 @@
+package arin.storage;
+
+import arin.task.ParseErrors;
+import arin.task.Task;
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Loads tasks by splitting the memory-mapped save file into newline-aligned chunks
+ * and parsing the chunks in parallel on a {@link ForkJoinPool}.
+ * Results are merged in file order, so task indices are the same as with a serial load.
+ * Files smaller than one chunk are parsed on the calling thread.
+ */
+public class ParallelTaskLoader implements TaskLoader {
+
+    /** Chunks smaller than this are not worth handing to another thread. */
+    private static final int DEFAULT_MIN_CHUNK_BYTES = 1024 * 1024;
+
+    /** More chunks than threads lets the pool balance chunks that parse at different speeds. */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final ForkJoinPool pool;
+    private final int minChunkBytes;
+
+    /**
+     * Creates a loader that parses on the common pool.
+     */
+    public ParallelTaskLoader() {
+        this(ForkJoinPool.commonPool(), DEFAULT_MIN_CHUNK_BYTES);
+    }
+
+    /**
+     * Creates a loader that parses on the given pool.
+     *
+     * @param pool The pool to parse chunks on.
+     * @param minChunkBytes The smallest chunk size worth parsing on its own.
+     */
+    public ParallelTaskLoader(ForkJoinPool pool, int minChunkBytes) {
+        assert minChunkBytes > 0 : "Chunk size must be positive";
+        this.pool = pool;
+        this.minChunkBytes = minChunkBytes;
+    }
+
+    @Override
+    public ArrayList<Task> load(File file, ParseErrors errors) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                return new ScannerTaskLoader().load(file, errors);
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int[] bounds = splitIntoChunks(buffer, (int) size);
+            if (bounds.length <= 2) {
+                ArrayList<Task> tasks = new ArrayList<>();
+                new TaskRecordScanner(buffer, errors).scan(0, (int) size, tasks);
+                return tasks;
+            }
+
+            List<ChunkTask> chunks = new ArrayList<>();
+            for (int i = 0; i + 1 < bounds.length; i++) {
+                chunks.add(new ChunkTask(buffer, bounds[i], bounds[i + 1]));
+            }
+            pool.invoke(new MergeTask(chunks));
+
+            int total = 0;
+            for (ChunkTask chunk : chunks) {
+                total += chunk.join().size();
+            }
+            ArrayList<Task> tasks = new ArrayList<>(total);
+            for (ChunkTask chunk : chunks) {
+                tasks.addAll(chunk.join());
+                errors.addAll(chunk.errors);
+            }
+            return tasks;
+        }
+    }
+
+    /**
+     * Picks chunk boundaries so that every chunk starts at the beginning of a line.
+     *
+     * @return The boundaries, starting with 0 and ending with the file size.
+     */
+    private int[] splitIntoChunks(MappedByteBuffer buffer, int size) {
+        int chunkCount = Math.min(pool.getParallelism() * CHUNKS_PER_THREAD, size / minChunkBytes);
+        if (chunkCount <= 1) {
+            return new int[] {0, size};
+        }
+
+        int chunkSize = size / chunkCount;
+        int[] bounds = new int[chunkCount + 1];
+        int count = 1;
+        for (int i = 1; i < chunkCount; i++) {
+            int boundary = Math.max(i * chunkSize, bounds[count - 1]);
+            while (boundary < size && buffer.get(boundary - 1) != '\n') {
+                boundary++;
+            }
+            if (boundary > bounds[count - 1] && boundary < size) {
+                bounds[count++] = boundary;
+            }
+        }
+        bounds[count++] = size;
+        return count == bounds.length ? bounds : Arrays.copyOf(bounds, count);
+    }
+
+    /**
+     * Parses one newline-aligned chunk of the file.
+     */
+    private static class ChunkTask extends RecursiveTask<List<Task>> {
+        private static final long serialVersionUID = 1L;
+
+        private final MappedByteBuffer buffer;
+        private final int start;
+        private final int end;
+        /** Each chunk collects its own errors, since collectors are not thread-safe. */
+        private final ParseErrors errors = new ParseErrors();
+
+        ChunkTask(MappedByteBuffer buffer, int start, int end) {
+            this.buffer = buffer;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected List<Task> compute() {
+            List<Task> tasks = new ArrayList<>();
+            // Absolute reads never touch the buffer position, so chunks can share one mapping.
+            new TaskRecordScanner(buffer, errors).scan(start, end, tasks);
+            return tasks;
+        }
+    }
+
+    /**
+     * Forks every chunk and waits for all of them.
+     */
+    private static class MergeTask extends RecursiveTask<Void> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<ChunkTask> chunks;
+
+        MergeTask(List<ChunkTask> chunks) {
+            this.chunks = chunks;
+        }
+
+        @Override
+        protected Void compute() {
+            ForkJoinTask.invokeAll(chunks);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package arin.storage;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * Adds and verifies the CRC32 checksum carried by each text record, e.g. "T | 0 | read book | #1a2b3c4d".
+ * The checksum is written as an extra trailing field, so older readers that ignore extra fields
+ * still understand the record. Records without a checksum are accepted as written by older versions.
+ */
+public final class RecordChecksum {
+
+    /** The separator and marker written before the checksum. */
+    static final String MARKER = " | #";
+
+    /** The length of the marker plus the eight hex digits. */
+    static final int SUFFIX_LENGTH = MARKER.length() + 8;
+
+    private RecordChecksum() {
+    }
+
+    /**
+     * Appends the checksum of the given record to it.
+     *
+     * @param record The record without a checksum.
+     * @return The record followed by its checksum field.
+     */
+    public static String append(String record) {
+        CRC32 crc = new CRC32();
+        crc.update(record.getBytes(StandardCharsets.UTF_8));
+        return record + MARKER + String.format("%08x", crc.getValue());
+    }
+
+    /**
+     * Verifies and removes the checksum of a record.
+     *
+     * @param line The record as read from disk.
+     * @return The record without its checksum, or null if the checksum does not match.
+     */
+    public static String strip(String line) {
+        int markerStart = line.length() - SUFFIX_LENGTH;
+        if (markerStart < 0 || !line.startsWith(MARKER, markerStart)) {
+            return line;
+        }
+
+        long expected = parseHex(line, markerStart + MARKER.length(), line.length());
+        if (expected < 0) {
+            return line;
+        }
+
+        String record = line.substring(0, markerStart);
+        CRC32 crc = new CRC32();
+        crc.update(record.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue() == expected ? record : null;
+    }
+
+    /**
+     * Checks whether a line ends with a well-formed checksum field, without verifying it.
+     *
+     * @param line The record as read from disk.
+     * @return True if the line carries a checksum, false otherwise.
+     */
+    public static boolean hasChecksum(String line) {
+        int markerStart = line.length() - SUFFIX_LENGTH;
+        return markerStart >= 0 && line.startsWith(MARKER, markerStart)
+                && parseHex(line, markerStart + MARKER.length(), line.length()) >= 0;
+    }
+
+    /**
+     * Finds the end of the record in a line held in a byte buffer, verifying its checksum if it has one.
+     *
+     * @param buffer The buffer holding the line.
+     * @param start The offset of the first byte of the line.
+     * @param end The offset just past the last byte of the line.
+     * @param crc A reusable checksum calculator.
+     * @return The offset just past the record without its checksum, or -1 if the checksum does not match.
+     */
+    static int verify(ByteBuffer buffer, int start, int end, CRC32 crc) {
+        int markerStart = end - SUFFIX_LENGTH;
+        if (markerStart < start) {
+            return end;
+        }
+        for (int i = 0; i < MARKER.length(); i++) {
+            if (buffer.get(markerStart + i) != MARKER.charAt(i)) {
+                return end;
+            }
+        }
+
+        long expected = 0;
+        for (int i = markerStart + MARKER.length(); i < end; i++) {
+            int digit = Character.digit(buffer.get(i), 16);
+            if (digit < 0) {
+                return end;
+            }
+            expected = (expected << 4) | digit;
+        }
+
+        crc.reset();
+        crc.update(buffer.slice(start, markerStart - start));
+        return crc.getValue() == expected ? markerStart : -1;
+    }
+
+    private static long parseHex(String text, int start, int end) {
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = Character.digit(text.charAt(i), 16);
+            if (digit < 0) {
+                return -1;
+            }
+            value = (value << 4) | digit;
+        }
+        return value;
+    }
+}
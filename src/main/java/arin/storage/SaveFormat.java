@@ -0,0 +1,11 @@
+package arin.storage;
+
+/**
+ * The on-disk formats a snapshot can be stored in.
+ */
+public enum SaveFormat {
+    /** One human-readable line per task, e.g. "T | 0 | read book". */
+    TEXT,
+    /** The compact binary format written by {@link BinaryTaskCodec}. */
+    BINARY
+}
@@ -0,0 +1,40 @@
+package arin.storage;
+
+import arin.task.ParseErrors;
+import arin.task.ParseErrors.Reason;
+import arin.task.Task;
+import arin.task.TextLineParser;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Scanner;
+
+/**
+ * Loads tasks line by line with a {@link Scanner} and a {@link TextLineParser}.
+ */
+public class ScannerTaskLoader implements TaskLoader {
+
+    @Override
+    public ArrayList<Task> load(File file, ParseErrors errors) throws IOException {
+        ArrayList<Task> tasks = new ArrayList<>();
+        TextLineParser parser = new TextLineParser(errors);
+
+        try (Scanner scanner = new Scanner(file, StandardCharsets.UTF_8)) {
+            while (scanner.hasNextLine()) {
+                String line = scanner.nextLine();
+                String taskData = RecordChecksum.strip(line);
+                if (taskData == null) {
+                    errors.record(Reason.CHECKSUM_MISMATCH, line);
+                    continue;
+                }
+                Task task = parser.parse(taskData);
+                if (task != null) {
+                    tasks.add(task);
+                }
+            }
+        }
+
+        return tasks;
+    }
+}
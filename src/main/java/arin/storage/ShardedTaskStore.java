@@ -0,0 +1,369 @@
+package arin.storage;
+
+import arin.task.Deadline;
+import arin.task.Event;
+import arin.task.ParseErrors;
+import arin.task.ParseErrors.Reason;
+import arin.task.Task;
+import arin.task.TaskList;
+import arin.task.TextLineParser;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Scanner;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Stores tasks in a directory of shards: one file per month for deadlines and events,
+ * keyed by the deadline or the event's start, and one file for all todos.
+ *
+ * <p>Each record is prefixed with a sequence number that fixes the task's position in the list,
+ * e.g. "42 | D | 0 | return book | 2025-06-06 1200 | id:7 | #1a2b3c4d", so the list order survives
+ * the split. A change only rewrites the shard holding the changed task, and date-range
+ * lookups only read the months they cover.
+ */
+public class ShardedTaskStore implements TaskStore {
+
+    private static final String DIRECTORY_SUFFIX = ".shards";
+    private static final String JOURNAL_SUFFIX = ".log";
+    private static final String SHARD_SUFFIX = ".txt";
+    private static final String NEW_SUFFIX = ".new";
+    private static final String TODO_SHARD = "todo";
+    private static final String SEPARATOR = " | ";
+
+    private final String filePath;
+    private final File directory;
+    private final LastIdFile lastIdFile;
+    private FsyncPolicy fsyncPolicy = FsyncPolicy.BATCHED;
+
+    /** The sequence number of each task, in list order. */
+    private final ArrayList<Long> sequences = new ArrayList<>();
+    /** The shard of each task, in list order. */
+    private final ArrayList<String> shardNames = new ArrayList<>();
+    private final Map<String, TreeMap<Long, Task>> shards = new HashMap<>();
+    private long nextSequence;
+    private int shardWriteCount;
+
+    /**
+     * Creates a sharded store whose shards live in a directory next to the given save file.
+     * An existing single-file save, including any changes still only in its journal, is split
+     * into shards the first time it is loaded. The file that keeps the last task id is shared
+     * with the single-file stores, so ids are not handed out again after the switch.
+     *
+     * @param filePath The path of the single-file save this store replaces.
+     */
+    public ShardedTaskStore(String filePath) {
+        this.filePath = filePath;
+        this.directory = new File(filePath + DIRECTORY_SUFFIX);
+        this.lastIdFile = new LastIdFile(filePath);
+    }
+
+    /**
+     * Sets when written shards are forced to the disk.
+     *
+     * @param fsyncPolicy The fsync policy to use.
+     */
+    public synchronized void setFsyncPolicy(FsyncPolicy fsyncPolicy) {
+        assert fsyncPolicy != null : "Fsync policy cannot be null";
+        this.fsyncPolicy = fsyncPolicy;
+    }
+
+    @Override
+    public synchronized ArrayList<Task> loadTasks() {
+        lastIdFile.read();
+        boolean hasSingleFileSave = new File(filePath).exists() || new File(filePath + JOURNAL_SUFFIX).exists();
+        if (!directory.exists() && hasSingleFileSave) {
+            ArrayList<Task> tasks = new Storage(filePath, true).loadTasks();
+            saveTasks(tasks);
+            return tasks;
+        }
+
+        TreeMap<Long, Task> ordered = new TreeMap<>();
+        Map<Long, String> owners = new HashMap<>();
+        ParseErrors errors = new ParseErrors();
+        TextLineParser parser = new TextLineParser(errors);
+        shards.clear();
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(SHARD_SUFFIX));
+        for (File file : files == null ? new File[0] : files) {
+            String name = file.getName().substring(0, file.getName().length() - SHARD_SUFFIX.length());
+            TreeMap<Long, Task> shard = readShard(file, parser);
+            shards.put(name, shard);
+            ordered.putAll(shard);
+            shard.keySet().forEach(sequence -> owners.put(sequence, name));
+        }
+
+        sequences.clear();
+        shardNames.clear();
+        for (Long sequence : ordered.keySet()) {
+            sequences.add(sequence);
+            shardNames.add(owners.get(sequence));
+        }
+        nextSequence = ordered.isEmpty() ? 0 : ordered.lastKey() + 1;
+        if (!errors.isEmpty()) {
+            System.out.println(errors);
+        }
+        return new ArrayList<>(ordered.values());
+    }
+
+    /**
+     * Loads only the deadlines and events whose date lies in the given range, reading just the
+     * monthly shards that overlap it. The loaded tasks are independent of the task list.
+     *
+     * @param from The start of the range, inclusive.
+     * @param to The end of the range, exclusive.
+     * @return The matching tasks, in list order.
+     */
+    public synchronized List<Task> loadTasksBetween(LocalDateTime from, LocalDateTime to) {
+        TreeMap<Long, Task> matching = new TreeMap<>();
+        YearMonth last = YearMonth.from(to);
+        for (YearMonth month = YearMonth.from(from); !month.isAfter(last); month = month.plusMonths(1)) {
+            File file = shardFile(month.toString());
+            if (!file.exists()) {
+                continue;
+            }
+            readShard(file, new TextLineParser(new ParseErrors())).forEach((sequence, task) -> {
+                LocalDateTime date = getDate(task);
+                if (!date.isBefore(from) && date.isBefore(to)) {
+                    matching.put(sequence, task);
+                }
+            });
+        }
+        return new ArrayList<>(matching.values());
+    }
+
+    private TreeMap<Long, Task> readShard(File file, TextLineParser parser) {
+        TreeMap<Long, Task> shard = new TreeMap<>();
+        ParseErrors errors = parser.getErrors();
+        try (Scanner scanner = new Scanner(file, StandardCharsets.UTF_8)) {
+            while (scanner.hasNextLine()) {
+                String line = scanner.nextLine();
+                String record = RecordChecksum.strip(line);
+                if (record == null) {
+                    errors.record(Reason.CHECKSUM_MISMATCH, line);
+                    continue;
+                }
+
+                int separator = record.indexOf(SEPARATOR);
+                long sequence = separator > 0 ? parseSequence(record, separator) : -1;
+                if (sequence < 0) {
+                    errors.record(Reason.INVALID_FORMAT, record);
+                    continue;
+                }
+                Task task = parser.parse(record, separator + SEPARATOR.length(), record.length());
+                if (task != null) {
+                    shard.put(sequence, task);
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Error reading shard " + file.getName() + ", skipping it.");
+        }
+        return shard;
+    }
+
+    /**
+     * Replaces every shard with the given tasks, numbering them afresh.
+     */
+    @Override
+    public synchronized void saveTasks(ArrayList<Task> tasks) {
+        sequences.clear();
+        shardNames.clear();
+        shards.clear();
+        nextSequence = 0;
+        for (Task task : tasks) {
+            String name = getShardName(task);
+            long sequence = nextSequence++;
+            sequences.add(sequence);
+            shardNames.add(name);
+            shards.computeIfAbsent(name, key -> new TreeMap<>()).put(sequence, task);
+        }
+
+        if (!directory.exists() && !directory.mkdirs()) {
+            System.out.println("Error creating shard directory.");
+            return;
+        }
+        File[] existing = directory.listFiles((dir, name) -> name.endsWith(SHARD_SUFFIX));
+        for (File file : existing == null ? new File[0] : existing) {
+            String name = file.getName().substring(0, file.getName().length() - SHARD_SUFFIX.length());
+            if (!shards.containsKey(name)) {
+                file.delete();
+            }
+        }
+        for (String name : shards.keySet()) {
+            writeShard(name);
+        }
+    }
+
+    /**
+     * Rewrites only the shard that holds the changed task.
+     */
+    @Override
+    public synchronized void appendMutation(Mutation mutation, TaskList taskList) {
+        appendMutations(List.of(mutation), taskList);
+    }
+
+    /**
+     * Rewrites each shard that holds a changed task once, however many of its tasks changed.
+     */
+    @Override
+    public synchronized void appendMutations(List<Mutation> mutations, TaskList taskList) {
+        lastIdFile.update(mutations, taskList, fsyncPolicy);
+        Set<String> changedShards = new LinkedHashSet<>();
+        for (Mutation mutation : mutations) {
+            changedShards.add(apply(mutation, taskList));
+        }
+
+        if (!directory.exists() && !directory.mkdirs()) {
+            System.out.println("Error creating shard directory.");
+            return;
+        }
+        for (String name : changedShards) {
+            writeShard(name);
+        }
+        taskList.getChanges().clear();
+    }
+
+    /**
+     * Applies a change to the in-memory shards.
+     *
+     * @return The name of the shard the change touched.
+     */
+    private String apply(Mutation mutation, TaskList taskList) {
+        String name;
+        switch (mutation.getType()) {
+        case ADD:
+            Task task = mutation.getTask();
+            name = getShardName(task);
+            long sequence = nextSequence++;
+            sequences.add(sequence);
+            shardNames.add(name);
+            shards.computeIfAbsent(name, key -> new TreeMap<>()).put(sequence, task);
+            break;
+        case DELETE:
+            name = shardNames.remove(mutation.getIndex());
+            shards.get(name).remove(sequences.remove(mutation.getIndex()));
+            break;
+        default:
+            int index = mutation.getIndex();
+            name = shardNames.get(index);
+            shards.get(name).put(sequences.get(index), taskList.getTask(index));
+            break;
+        }
+        return name;
+    }
+
+    private void writeShard(String name) {
+        TreeMap<Long, Task> shard = shards.get(name);
+        File target = shardFile(name);
+        shardWriteCount++;
+        if (shard.isEmpty()) {
+            shards.remove(name);
+            target.delete();
+            return;
+        }
+
+        File temp = new File(target.getPath() + NEW_SUFFIX);
+        try (FileOutputStream file = new FileOutputStream(temp)) {
+            OutputStream out = new BufferedOutputStream(file, 64 * 1024);
+            for (Map.Entry<Long, Task> entry : shard.entrySet()) {
+                String record = RecordChecksum.append(entry.getKey() + SEPARATOR + Storage.toRecord(entry.getValue()));
+                out.write((record + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+            }
+            out.flush();
+            if (fsyncPolicy != FsyncPolicy.NEVER) {
+                file.getChannel().force(true);
+            }
+        } catch (IOException e) {
+            System.out.println("Error saving shard " + name + ".");
+            temp.delete();
+            return;
+        }
+        if (!Storage.replace(temp, target, fsyncPolicy)) {
+            System.out.println("Error saving shard " + name + ".");
+            temp.delete();
+        }
+    }
+
+    /**
+     * Reads the decimal sequence number that prefixes a record.
+     *
+     * @return The sequence number, or -1 if the prefix is not a number.
+     */
+    private static long parseSequence(String record, int end) {
+        long sequence = 0;
+        for (int i = 0; i < end; i++) {
+            int digit = record.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || sequence > (Long.MAX_VALUE - digit) / 10) {
+                return -1;
+            }
+            sequence = sequence * 10 + digit;
+        }
+        return sequence;
+    }
+
+    private File shardFile(String name) {
+        return new File(directory, name + SHARD_SUFFIX);
+    }
+
+    private static String getShardName(Task task) {
+        switch (task.getTaskType()) {
+        case DEADLINE:
+        case EVENT:
+            return YearMonth.from(getDate(task)).toString();
+        default:
+            return TODO_SHARD;
+        }
+    }
+
+    /**
+     * Gets the date a dated task is sharded by: the deadline, or the start of an event.
+     */
+    private static LocalDateTime getDate(Task task) {
+        switch (task.getTaskType()) {
+        case DEADLINE:
+            return ((Deadline) task).getBy();
+        case EVENT:
+            return ((Event) task).getFrom();
+        default:
+            return LocalDateTime.MAX;
+        }
+    }
+
+    /**
+     * Gets the largest task id handed out before the tasks were last loaded,
+     * as kept by {@link LastIdFile}.
+     *
+     * @return The id, or 0 if no newest task was ever deleted.
+     */
+    @Override
+    public synchronized int getLastTaskId() {
+        return lastIdFile.get();
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    /**
+     * Gets the number of shard files written since the store was created.
+     *
+     * @return The shard write count.
+     */
+    public synchronized int getShardWriteCount() {
+        return shardWriteCount;
+    }
+}
@@ -0,0 +1,92 @@
+package arin.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Remembers where each record of a text snapshot starts, so single records can be rewritten in place.
+ */
+class SnapshotIndex {
+
+    /** offsets[i] is where record i starts; offsets[count] is where the last record ends. */
+    private long[] offsets = new long[16];
+    private int count;
+
+    /**
+     * Builds the index of an existing text snapshot by finding its line breaks.
+     *
+     * @param file The snapshot file.
+     * @return The index of the file's lines.
+     * @throws IOException If the file cannot be read or is too large to map.
+     */
+    static SnapshotIndex scan(File file) throws IOException {
+        SnapshotIndex index = new SnapshotIndex();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Save file is too large to index: " + size + " bytes");
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int lineStart = 0;
+            for (int i = 0; i < size; i++) {
+                if (buffer.get(i) == '\n') {
+                    index.append(i + 1 - lineStart);
+                    lineStart = i + 1;
+                }
+            }
+            if (lineStart < size) {
+                index.append((int) size - lineStart);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Gets the number of records in the index.
+     *
+     * @return The record count.
+     */
+    int size() {
+        return count;
+    }
+
+    /**
+     * Gets the offset of a record, or the end of the file for the index one past the last record.
+     *
+     * @param index The record index.
+     * @return The offset of the record's first byte.
+     */
+    long start(int index) {
+        assert index >= 0 && index <= count : "Record index out of bounds";
+        return offsets[index];
+    }
+
+    /**
+     * Gets the length of a record, including its line separator.
+     *
+     * @param index The record index.
+     * @return The record length in bytes.
+     */
+    long length(int index) {
+        assert index >= 0 && index < count : "Record index out of bounds";
+        return offsets[index + 1] - offsets[index];
+    }
+
+    /**
+     * Adds a record after the last one.
+     *
+     * @param length The record length in bytes, including its line separator.
+     */
+    void append(int length) {
+        if (count + 1 == offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        offsets[count + 1] = offsets[count] + length;
+        count++;
+    }
+}
@@ -1,19 +1,86 @@
 package arin.storage;
 
+import arin.task.ChangeSet;
+import arin.task.ParseErrors;
+import arin.task.ParseErrors.Reason;
 import arin.task.Task;
+import arin.task.TaskList;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Handles loading and saving tasks to a file.
+ * In journaled mode, each change is appended to a log file next to the snapshot
+ * instead of rewriting the whole snapshot, and the log is replayed on load.
+ * Once the log grows past the {@link CompactionPolicy} thresholds, a background
+ * thread folds it into a fresh snapshot and truncates the replayed part.
+ * With write-behind enabled, saves are handed to a writer thread and commands
+ * return without waiting for the disk; {@link #flush()} waits for them.
+ * Snapshots are written to a temporary file and renamed over the old one, and every
+ * record carries a checksum, so a crash mid-write never loses previously saved tasks.
+ * Without a journal, changes to a text snapshot are saved by rewriting only the
+ * changed records in place, as tracked by the task list's {@link ChangeSet}.
  */
-public class Storage {
+public class Storage implements TaskStore {
+
+    private static final String JOURNAL_SUFFIX = ".log";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String NEW_SUFFIX = ".new";
+    private static final String FAILED_SUFFIX = ".failed";
+    private static final String OLD_SUFFIX = ".old";
+    private static final int FSYNC_BATCH_RECORDS = 64;
+    private static final long FSYNC_BATCH_NANOS = 1_000_000_000L;
 
     private final String filePath;
+    private final String journalPath;
+    private final LastIdFile lastIdFile;
+    private final boolean isJournaled;
+    private final CompactionPolicy compactionPolicy;
+    private final TaskLoader textLoader = new ParallelTaskLoader();
+    private final TaskLoader binaryLoader = new BinaryTaskCodec();
+    /** The format snapshots are written in; follows the format of the file that was loaded. */
+    private volatile SaveFormat saveFormat = SaveFormat.TEXT;
+    private volatile FsyncPolicy fsyncPolicy = FsyncPolicy.BATCHED;
+
+    /** Guards the journal file and its counters; compaction only holds it while swapping files. */
+    private final Object journalLock = new Object();
+    /** Lets only one compaction read, rebuild and swap the files at a time. */
+    private final Object compactionLock = new Object();
+    private final AtomicBoolean isCompactionScheduled = new AtomicBoolean(false);
+    private final AtomicBoolean isJournalSyncScheduled = new AtomicBoolean(false);
+    /** Runs compactions and delayed journal syncs on a daemon thread, started on first use. */
+    private ScheduledExecutorService background;
+    private volatile WriteBehindQueue writeBehindQueue;
+    private int journalRecords;
+    private long journalBytes;
+    /** Bumped whenever a snapshot is installed, invalidating compactions that read the files before it. */
+    private long journalGeneration;
+    private int unsyncedJournalRecords;
+    private long lastJournalSyncNanos = System.nanoTime();
+    /** Record offsets of the text snapshot when it is patched in place; null when its layout is unknown. */
+    private SnapshotIndex snapshotIndex;
 
     /**
      * Creates a Storage object with the specified file path.
@@ -21,53 +88,986 @@ public class Storage {
      * @param filePath The file path where tasks are stored.
      */
     public Storage(String filePath) {
+        this(filePath, false);
+    }
+
+    /**
+     * Creates a Storage object with the specified file path and journaling mode.
+     * Journaled storage uses the default compaction thresholds.
+     *
+     * @param filePath The file path where tasks are stored.
+     * @param isJournaled Whether changes are appended to a journal instead of rewriting the file.
+     */
+    public Storage(String filePath, boolean isJournaled) {
+        this(filePath, isJournaled, CompactionPolicy.DEFAULT);
+    }
+
+    /**
+     * Creates a journaled Storage object that compacts its journal according to the given policy.
+     *
+     * @param filePath The file path where tasks are stored.
+     * @param compactionPolicy The thresholds that trigger background compaction.
+     */
+    public Storage(String filePath, CompactionPolicy compactionPolicy) {
+        this(filePath, true, compactionPolicy);
+    }
+
+    private Storage(String filePath, boolean isJournaled, CompactionPolicy compactionPolicy) {
+        assert compactionPolicy != null : "Compaction policy cannot be null";
         this.filePath = filePath;
+        this.journalPath = filePath + JOURNAL_SUFFIX;
+        this.lastIdFile = new LastIdFile(filePath);
+        this.isJournaled = isJournaled;
+        this.compactionPolicy = compactionPolicy;
     }
 
     /**
      * Loads tasks from the specified file and returns them as an ArrayList.
+     * Any journaled changes are replayed on top of the snapshot.
+     * Records that cannot be loaded are skipped and reported in one summary.
      *
      * @return An ArrayList of tasks loaded from the file.
      */
+    @Override
     public ArrayList<Task> loadTasks() {
-        ArrayList<Task> tasks = new ArrayList<>();
+        synchronized (journalLock) {
+            recoverInterruptedWrites();
+            lastIdFile.read();
+
+            ParseErrors errors = new ParseErrors();
+            ArrayList<Task> tasks = readSnapshot(errors);
+            if (!isJournaled) {
+                snapshotIndex = indexSnapshot(tasks.size());
+            }
+            File journal = new File(journalPath);
+            int replayed = 0;
+            if (journal.exists()) {
+                try {
+                    try (FileChannel channel = FileChannel.open(journal.toPath(),
+                            StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                        trimJournalPadding(channel);
+                    }
+                    replayed = replayJournal(Files.newInputStream(journal.toPath()), tasks, errors);
+                    journalRecords = Math.max(replayed, 0);
+                    journalBytes = journal.length();
+                } catch (IOException e) {
+                    System.out.println("Error reading journal, using snapshot only.");
+                }
+            }
+
+            if (!errors.isEmpty()) {
+                System.out.println(errors);
+            }
+            if (replayed < 0) {
+                setAsideJournal(journalPath);
+                writeSnapshotNow(tasks);
+            }
+            return tasks;
+        }
+    }
+
+    /**
+     * Indexes the loaded text snapshot for in-place saves.
+     *
+     * @param taskCount The number of tasks that were loaded from it.
+     * @return The index, or null if the records do not line up one-to-one with the loaded tasks.
+     */
+    private SnapshotIndex indexSnapshot(int taskCount) {
+        File file = new File(filePath);
+        if (saveFormat != SaveFormat.TEXT) {
+            return null;
+        }
+        if (!file.exists()) {
+            return new SnapshotIndex();
+        }
+
+        try {
+            SnapshotIndex index = SnapshotIndex.scan(file);
+            // Skipped invalid lines would misalign records and tasks; the next save rewrites the file cleanly.
+            return index.size() == taskCount ? index : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads the snapshot file in whichever format it is stored, skipping any records that cannot be parsed.
+     *
+     * @param errors The collector for records that cannot be loaded.
+     * @return The tasks stored in the snapshot.
+     */
+    private ArrayList<Task> readSnapshot(ParseErrors errors) {
         File file = new File(filePath);
 
         if (!file.exists()) {
-            return tasks;
+            return new ArrayList<>();
         }
 
-        try (Scanner scanner = new Scanner(file)) {
+        try {
+            if (BinaryTaskCodec.isBinary(file)) {
+                saveFormat = SaveFormat.BINARY;
+                return binaryLoader.load(file, errors);
+            }
+            saveFormat = SaveFormat.TEXT;
+            return textLoader.load(file, errors);
+        } catch (IOException e) {
+            System.out.println("Error reading save file, starting with an empty list.");
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Replays journal records on top of the given tasks. Replay stops at the first record that
+     * cannot be applied, such as the torn tail of a crashed append, and the records after it are
+     * only counted as skipped, since they may build on the change that was lost.
+     * Tasks without an id are numbered first, as a task list would number them, so records that
+     * name tasks by id find the same tasks they named when they were written.
+     *
+     * @param journal The journal contents.
+     * @param tasks The tasks loaded from the snapshot.
+     * @param errors The collector for records that cannot be replayed.
+     * @return The number of records replayed, or -1 if replay stopped early, in which case the
+     *     journal has to be set aside so new records are not appended after the failed one.
+     */
+    static int replayJournal(InputStream journal, ArrayList<Task> tasks, ParseErrors errors) {
+        int lastId = 0;
+        for (Task task : tasks) {
+            lastId = assignId(task, lastId);
+        }
+
+        int records = 0;
+        boolean isChecksummed = false;
+        boolean hasFailed = false;
+        try (Scanner scanner = new Scanner(journal, StandardCharsets.UTF_8)) {
             while (scanner.hasNextLine()) {
-                String taskData = scanner.nextLine();
+                String line = scanner.nextLine();
+                if (hasFailed) {
+                    errors.record(Reason.AFTER_FAILED_RECORD, line);
+                    continue;
+                }
+                String record = RecordChecksum.strip(line);
+                // Once records carry checksums, a record without one is the torn tail of a crashed append.
+                if (record == null || (isChecksummed && !RecordChecksum.hasChecksum(line))) {
+                    errors.record(Reason.CHECKSUM_MISMATCH, line);
+                    hasFailed = true;
+                    continue;
+                }
+                isChecksummed |= RecordChecksum.hasChecksum(line);
                 try {
-                    Task task = Task.parseTask(taskData);
-                    tasks.add(task);
+                    Mutation mutation = Mutation.parseRecord(record);
+                    mutation.applyTo(tasks);
+                    if (mutation.getType() == Mutation.Type.ADD) {
+                        lastId = assignId(mutation.getTask(), lastId);
+                    }
+                    records++;
                 } catch (IllegalArgumentException e) {
-                    System.err.println("Skipping invalid task: " + taskData);
-                    System.err.println("Reason: " + e.getMessage());
-                    // Continue processing other tasks
+                    errors.record(Reason.INVALID_JOURNAL_RECORD, record);
+                    hasFailed = true;
                 }
             }
-        } catch (FileNotFoundException e) {
-            System.out.println("File not found, starting with an empty list.");
         }
+        return hasFailed ? -1 : records;
+    }
 
-        return tasks;
+    /**
+     * Truncates the zero bytes after the last record of a journal, which a memory-mapped store
+     * leaves behind when it is not closed, so appended records follow the last record directly.
+     *
+     * @param channel The journal, open for reading and writing.
+     * @return The length of the journal without the padding.
+     * @throws IOException If the journal cannot be read or truncated.
+     */
+    static long trimJournalPadding(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long end = size;
+        ByteBuffer buffer = ByteBuffer.allocate(8 * 1024);
+        while (end > 0) {
+            int length = (int) Math.min(buffer.capacity(), end);
+            buffer.clear().limit(length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, end - length + buffer.position()) < 0) {
+                    throw new IOException("Journal ended while reading it");
+                }
+            }
+            int last = length - 1;
+            while (last >= 0 && buffer.get(last) == 0) {
+                last--;
+            }
+            end -= length - (last + 1);
+            if (last >= 0) {
+                break;
+            }
+        }
+        if (end < size) {
+            channel.truncate(end);
+        }
+        return end;
+    }
+
+    /**
+     * Gives a task the id a task list would give it when it follows a task with the given id.
+     *
+     * @return The id of the task.
+     */
+    private static int assignId(Task task, int lastId) {
+        if (task.getId() <= lastId) {
+            task.setId(lastId + 1);
+        }
+        return task.getId();
+    }
+
+    /**
+     * Moves a journal that could not be replayed to the end out of the way, keeping it next to
+     * the save file for inspection. The caller then saves the replayed tasks as a new snapshot.
+     *
+     * @param journalPath The path of the journal.
+     */
+    static void setAsideJournal(String journalPath) {
+        File failed = new File(journalPath + FAILED_SUFFIX);
+        try {
+            Files.move(new File(journalPath).toPath(), failed.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Changes after the skipped journal record were kept in " + failed + ".");
+        } catch (IOException e) {
+            System.out.println("Error keeping the journal that could not be replayed.");
+        }
+    }
+
+    /**
+     * Sets when written data is forced to the disk.
+     *
+     * @param fsyncPolicy The fsync policy to use.
+     */
+    public void setFsyncPolicy(FsyncPolicy fsyncPolicy) {
+        assert fsyncPolicy != null : "Fsync policy cannot be null";
+        this.fsyncPolicy = fsyncPolicy;
+    }
+
+    /**
+     * Enables write-behind: saves are queued and written on a dedicated thread.
+     * Queued saves are also flushed when the JVM shuts down.
+     */
+    public synchronized void enableWriteBehind() {
+        if (writeBehindQueue != null) {
+            return;
+        }
+        writeBehindQueue = new WriteBehindQueue(this);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "arin-flush-on-exit"));
     }
 
     /**
      * Saves the given list of tasks to a file.
+     * In journaled mode, the journal is cleared since the snapshot now holds every change.
      *
      * @param tasks The list of tasks to be saved.
      */
+    @Override
     public void saveTasks(ArrayList<Task> tasks) {
-        try (PrintWriter writer = new PrintWriter(new File(filePath))) {
-            for (Task task : tasks) {
-                writer.println(task.toSaveString());
+        WriteBehindQueue queue = writeBehindQueue;
+        if (queue != null) {
+            // Encoded here, since the writer must not read tasks that commands keep changing.
+            queue.enqueueSnapshot(encodeSnapshot(tasks));
+            return;
+        }
+        writeSnapshotNow(tasks);
+    }
+
+    /**
+     * Writes a snapshot on the calling thread and clears the journal.
+     *
+     * @param tasks The list of tasks to be saved.
+     */
+    void writeSnapshotNow(ArrayList<Task> tasks) {
+        SnapshotIndex index = !isJournaled && saveFormat == SaveFormat.TEXT ? new SnapshotIndex() : null;
+        installSnapshot(out -> writeTasks(out, tasks, index), index);
+    }
+
+    /**
+     * Writes a snapshot encoded by {@link #encodeSnapshot(List)} on the calling thread and clears the journal.
+     *
+     * @param snapshot The encoded snapshot.
+     */
+    void writeSnapshotNow(byte[] snapshot) {
+        installSnapshot(out -> out.write(snapshot), null);
+    }
+
+    /**
+     * Encodes the given tasks as a snapshot in the current save format, so they can be written later
+     * by another thread without reading the tasks again.
+     *
+     * @param tasks The tasks to encode.
+     * @return The snapshot file's contents.
+     */
+    byte[] encodeSnapshot(List<Task> tasks) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            writeTasks(out, tasks, null);
+        } catch (IOException e) {
+            throw new AssertionError("Writing to a byte array cannot fail", e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Replaces the snapshot file with a new one and clears the journal, which the new snapshot
+     * contains. A journal left over from a journaled run is cleared in either mode.
+     *
+     * @param writer Writes the contents of the new snapshot.
+     * @param index The record index the writer fills in, or null if there is none.
+     */
+    private void installSnapshot(SnapshotWriter writer, SnapshotIndex index) {
+        synchronized (journalLock) {
+            File temp = new File(filePath + NEW_SUFFIX);
+            snapshotIndex = null;
+            if (!writeSnapshot(temp, writer) || !swapSnapshot(temp, new File(filePath), journalPath, fsyncPolicy)) {
+                System.out.println("Error saving tasks to file.");
+                temp.delete();
+                return;
+            }
+            snapshotIndex = index;
+            journalGeneration++;
+            journalRecords = 0;
+            journalBytes = 0;
+            unsyncedJournalRecords = 0;
+        }
+    }
+
+    /**
+     * Renames a fully written snapshot over the old one and drops the journal, which the new
+     * snapshot already contains. The journal is renamed aside before the snapshot is swapped in,
+     * so a crash in between never replays it on top of the new snapshot;
+     * {@link #recoverSnapshotSwap(File, String)} then puts it back or drops it.
+     *
+     * @param temp The fully written new snapshot.
+     * @param target The snapshot file to replace.
+     * @param journalPath The path of the journal.
+     * @param fsyncPolicy The fsync policy of the calling store.
+     * @return True if the new snapshot is in place, false if the old snapshot and journal were kept.
+     */
+    static boolean swapSnapshot(File temp, File target, String journalPath, FsyncPolicy fsyncPolicy) {
+        File journal = new File(journalPath);
+        File oldJournal = new File(journalPath + OLD_SUFFIX);
+        if (journal.exists() && !replace(journal, oldJournal, fsyncPolicy)) {
+            return false;
+        }
+        if (!replace(temp, target, fsyncPolicy)) {
+            if (oldJournal.exists()) {
+                replace(oldJournal, journal, fsyncPolicy);
+            }
+            return false;
+        }
+        oldJournal.delete();
+        return true;
+    }
+
+    /**
+     * Finishes or undoes a {@link #swapSnapshot} that was interrupted by a crash. A journal that
+     * was renamed aside still belongs to the old snapshot if the new one was never swapped in,
+     * and is contained in the new snapshot otherwise. A half-written new snapshot is dropped.
+     *
+     * @param temp The new snapshot file the swap was writing.
+     * @param journalPath The path of the journal.
+     */
+    static void recoverSnapshotSwap(File temp, String journalPath) {
+        File oldJournal = new File(journalPath + OLD_SUFFIX);
+        if (oldJournal.exists()) {
+            if (temp.exists()) {
+                try {
+                    Files.move(oldJournal.toPath(), new File(journalPath).toPath(),
+                            StandardCopyOption.REPLACE_EXISTING);
+                } catch (IOException e) {
+                    System.out.println("Error recovering interrupted save.");
+                }
+            } else {
+                oldJournal.delete();
+            }
+        }
+        temp.delete();
+    }
+
+    /**
+     * Writes the given tasks to a new snapshot file in the current save format,
+     * forcing it to the disk unless the fsync policy is {@link FsyncPolicy#NEVER}.
+     *
+     * @param target The file to write.
+     * @param tasks The tasks to write.
+     * @param index The index to record text record offsets in, or null if they are not needed.
+     * @return True if the file was written successfully, false otherwise.
+     */
+    private boolean writeSnapshot(File target, ArrayList<Task> tasks, SnapshotIndex index) {
+        return writeSnapshot(target, out -> writeTasks(out, tasks, index));
+    }
+
+    private boolean writeSnapshot(File target, SnapshotWriter writer) {
+        try (FileOutputStream file = new FileOutputStream(target)) {
+            OutputStream out = new BufferedOutputStream(file, 64 * 1024);
+            writer.writeTo(out);
+            out.flush();
+            if (fsyncPolicy != FsyncPolicy.NEVER) {
+                file.getChannel().force(true);
+            }
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Writes the given tasks to a stream in the current save format.
+     *
+     * @param out The stream to write to.
+     * @param tasks The tasks to write.
+     * @param index The index to record text record offsets in, or null if they are not needed.
+     * @throws IOException If the stream cannot be written.
+     */
+    private void writeTasks(OutputStream out, List<Task> tasks, SnapshotIndex index) throws IOException {
+        if (saveFormat == SaveFormat.BINARY) {
+            BinaryTaskCodec.save(out, tasks);
+            return;
+        }
+        for (Task task : tasks) {
+            byte[] record = encodeRecord(task);
+            out.write(record);
+            if (index != null) {
+                index.append(record.length);
+            }
+        }
+    }
+
+    /**
+     * Writes the contents of a snapshot file.
+     */
+    private interface SnapshotWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Encodes a task as a checksummed text record, including its line separator.
+     *
+     * @param task The task to encode.
+     * @return The UTF-8 bytes of the record.
+     */
+    static byte[] encodeRecord(Task task) {
+        return (RecordChecksum.append(toRecord(task)) + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Formats a task as a text record, followed by its id if it has one,
+     * e.g. "T | 0 | read book | id:12".
+     *
+     * @param task The task to format.
+     * @return The record without a checksum.
+     */
+    static String toRecord(Task task) {
+        String record = task.toSaveString();
+        return task.getId() > 0 ? record + " | id:" + task.getId() : record;
+    }
+
+    /**
+     * Renames a fully written file over the target, so readers see either the old or the new contents.
+     *
+     * @param source The file to move.
+     * @param target The file to replace.
+     * @return True if the file was replaced, false otherwise.
+     */
+    private boolean replace(File source, File target) {
+        return replace(source, target, fsyncPolicy);
+    }
+
+    /**
+     * Renames a fully written file over the target, syncing the directory unless the policy is
+     * {@link FsyncPolicy#NEVER}. Shared by the file-based stores.
+     *
+     * @param source The file to move.
+     * @param target The file to replace.
+     * @param fsyncPolicy The fsync policy of the calling store.
+     * @return True if the file was replaced, false otherwise.
+     */
+    static boolean replace(File source, File target, FsyncPolicy fsyncPolicy) {
+        try {
+            try {
+                Files.move(source.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
             }
         } catch (IOException e) {
-            System.out.println("Error saving tasks to file.");
+            return false;
+        }
+
+        if (fsyncPolicy != FsyncPolicy.NEVER) {
+            syncDirectory(target);
+        }
+        return true;
+    }
+
+    /**
+     * Forces the directory entry of a renamed file to the disk.
+     * Not every platform allows opening a directory, in which case the rename is left to the OS.
+     */
+    private static void syncDirectory(File file) {
+        File directory = file.getAbsoluteFile().getParentFile();
+        try (FileChannel channel = FileChannel.open(directory.toPath(), StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Directory fsync is best effort.
+        }
+    }
+
+    /**
+     * Persists a single change to the task list.
+     * In journaled mode, only the change is appended to the journal. Otherwise the
+     * changed records are rewritten in place, or the whole list is saved if write-behind is on.
+     *
+     * @param mutation The change that was applied to the task list.
+     * @param taskList The task list after the change.
+     */
+    @Override
+    public void appendMutation(Mutation mutation, TaskList taskList) {
+        appendMutations(List.of(mutation), taskList);
+    }
+
+    /**
+     * Persists several changes to the task list with a single write: one journal append,
+     * one in-place save of the changed records, or one queued snapshot.
+     *
+     * @param mutations The changes that were applied to the task list, in order.
+     * @param taskList The task list after the changes.
+     */
+    @Override
+    public void appendMutations(List<Mutation> mutations, TaskList taskList) {
+        lastIdFile.update(mutations, taskList, fsyncPolicy);
+        WriteBehindQueue queue = writeBehindQueue;
+        if (!isJournaled && queue == null) {
+            saveChanges(taskList);
+            return;
+        }
+
+        // Everything below persists the change, so the task list no longer needs to remember it.
+        taskList.getChanges().clear();
+        if (!isJournaled) {
+            saveTasks(taskList.getTasks());
+            return;
+        }
+        List<String> records = new ArrayList<>(mutations.size());
+        for (Mutation mutation : mutations) {
+            records.add(mutation.toRecord());
+        }
+        if (queue != null) {
+            queue.enqueueRecords(records);
+            return;
+        }
+        appendRecordsNow(records);
+    }
+
+    /**
+     * Saves the changes recorded in the task list's change set. If only tasks that kept their
+     * record length changed, such as a task being marked, those records are overwritten where
+     * they are, and a crash during that write can only damage them, which their checksums then
+     * reveal. If any record moves, the whole list is saved to a new file that then replaces the
+     * old one, so a crash never loses the records after the change.
+     *
+     * @param taskList The task list after the changes.
+     */
+    private void saveChanges(TaskList taskList) {
+        synchronized (journalLock) {
+            ChangeSet changes = taskList.getChanges();
+            ArrayList<Task> tasks = taskList.getTasks();
+            if (snapshotIndex == null || saveFormat != SaveFormat.TEXT || !patchSnapshot(tasks, changes)) {
+                writeSnapshotNow(tasks);
+            }
+            changes.clear();
+        }
+    }
+
+    /**
+     * Overwrites the changed records of the snapshot file in place through its record index.
+     * Nothing is written unless every changed record still fits its slot exactly.
+     *
+     * @return True if the snapshot now matches the tasks, false if it has to be rewritten completely.
+     */
+    private boolean patchSnapshot(ArrayList<Task> tasks, ChangeSet changes) {
+        if (changes.getFirstShiftedIndex() != Integer.MAX_VALUE || snapshotIndex.size() != tasks.size()) {
+            return false;
+        }
+        BitSet modified = changes.getModifiedIndices();
+        List<byte[]> records = new ArrayList<>(modified.cardinality());
+        for (int i = modified.nextSetBit(0); i >= 0; i = modified.nextSetBit(i + 1)) {
+            byte[] record = encodeRecord(tasks.get(i));
+            if (record.length != snapshotIndex.length(i)) {
+                return false;
+            }
+            records.add(record);
+        }
+
+        try (FileChannel channel = FileChannel.open(new File(filePath).toPath(), StandardOpenOption.WRITE)) {
+            int next = 0;
+            for (int i = modified.nextSetBit(0); i >= 0; i = modified.nextSetBit(i + 1)) {
+                channel.write(ByteBuffer.wrap(records.get(next++)), snapshotIndex.start(i));
+            }
+            if (fsyncPolicy != FsyncPolicy.NEVER) {
+                channel.force(false);
+            }
+            return true;
+        } catch (IOException e) {
+            snapshotIndex = null;
+            return false;
+        }
+    }
+
+    /**
+     * Appends journal records on the calling thread, scheduling compaction if the journal grew too large.
+     *
+     * @param records The journal lines to append.
+     */
+    void appendRecordsNow(List<String> records) {
+        boolean shouldCompact;
+        boolean hasUnsyncedRecords;
+        synchronized (journalLock) {
+            StringBuilder batch = new StringBuilder();
+            for (String record : records) {
+                batch.append(RecordChecksum.append(record)).append(System.lineSeparator());
+            }
+
+            try (FileOutputStream journal = new FileOutputStream(journalPath, true)) {
+                journal.write(batch.toString().getBytes(StandardCharsets.UTF_8));
+                unsyncedJournalRecords += records.size();
+                if (shouldSyncJournal(fsyncPolicy, unsyncedJournalRecords, lastJournalSyncNanos)) {
+                    journal.getChannel().force(false);
+                    unsyncedJournalRecords = 0;
+                    lastJournalSyncNanos = System.nanoTime();
+                }
+            } catch (IOException e) {
+                System.out.println("Error appending change to journal.");
+                return;
+            }
+            journalRecords += records.size();
+            journalBytes = new File(journalPath).length();
+            shouldCompact = compactionPolicy.shouldCompact(journalBytes, journalRecords);
+            hasUnsyncedRecords = fsyncPolicy == FsyncPolicy.BATCHED && unsyncedJournalRecords > 0;
+        }
+
+        if (hasUnsyncedRecords) {
+            scheduleJournalSync();
+        }
+        if (shouldCompact) {
+            scheduleCompaction();
+        }
+    }
+
+    /**
+     * Decides whether the journal appends written so far should be forced to the disk now.
+     *
+     * @param fsyncPolicy The fsync policy of the store that appended them.
+     * @param unsyncedRecords The number of records appended since the journal was last forced.
+     * @param lastSyncNanos The {@link System#nanoTime()} at which the journal was last forced.
+     * @return true if the journal should be forced now.
+     */
+    static boolean shouldSyncJournal(FsyncPolicy fsyncPolicy, int unsyncedRecords, long lastSyncNanos) {
+        switch (fsyncPolicy) {
+        case ALWAYS:
+            return true;
+        case BATCHED:
+            return unsyncedRecords >= FSYNC_BATCH_RECORDS
+                    || System.nanoTime() - lastSyncNanos >= FSYNC_BATCH_NANOS;
+        default:
+            return false;
+        }
+    }
+
+    /**
+     * Forces any journal appends that the batched fsync policy has not synced yet.
+     */
+    private void syncJournal() {
+        synchronized (journalLock) {
+            if (unsyncedJournalRecords == 0 || fsyncPolicy == FsyncPolicy.NEVER) {
+                return;
+            }
+            try (FileChannel channel = FileChannel.open(new File(journalPath).toPath(), StandardOpenOption.WRITE)) {
+                channel.force(false);
+                unsyncedJournalRecords = 0;
+                lastJournalSyncNanos = System.nanoTime();
+            } catch (IOException e) {
+                System.out.println("Error syncing journal to disk.");
+            }
+        }
+    }
+
+    /**
+     * Starts a background compaction unless one is already pending.
+     */
+    private void scheduleCompaction() {
+        if (!isCompactionScheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        synchronized (this) {
+            getBackground().submit(() -> {
+                try {
+                    compact();
+                } finally {
+                    isCompactionScheduled.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Forces the journal once the batching interval has passed, unless a sync is already pending,
+     * so batched appends reach the disk within the interval even if no further appends follow.
+     */
+    private void scheduleJournalSync() {
+        if (!isJournalSyncScheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        synchronized (this) {
+            getBackground().schedule(() -> {
+                isJournalSyncScheduled.set(false);
+                syncJournal();
+            }, FSYNC_BATCH_NANOS, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private ScheduledExecutorService getBackground() {
+        if (background == null) {
+            background = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "arin-storage");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return background;
+    }
+
+    /**
+     * Folds the journal into a fresh snapshot and truncates the replayed records.
+     * The snapshot is rebuilt from the files on disk, so this can run on a background
+     * thread while commands keep appending; the journal lock is only held while the
+     * records appended in the meantime are carried over and the files are swapped.
+     * Compactions run one at a time, whichever thread starts them.
+     */
+    void compact() {
+        if (!isJournaled) {
+            return;
+        }
+
+        synchronized (compactionLock) {
+            compactOnce();
+        }
+    }
+
+    private void compactOnce() {
+        byte[] journal;
+        long generation;
+        synchronized (journalLock) {
+            generation = journalGeneration;
+            try {
+                File journalFile = new File(journalPath);
+                journal = journalFile.exists() ? Files.readAllBytes(journalFile.toPath()) : new byte[0];
+            } catch (IOException e) {
+                System.out.println("Error reading journal for compaction.");
+                return;
+            }
+        }
+        if (journal.length == 0) {
+            return;
+        }
+
+        // Bad records were already reported when the tasks were loaded.
+        ParseErrors errors = new ParseErrors();
+        ArrayList<Task> tasks = readSnapshot(errors);
+        if (replayJournal(new ByteArrayInputStream(journal), tasks, errors) < 0) {
+            System.out.println("Error replaying journal for compaction.");
+            return;
+        }
+
+        File snapshotTemp = new File(filePath + TEMP_SUFFIX);
+        if (!writeSnapshot(snapshotTemp, tasks, null)) {
+            System.out.println("Error writing compacted snapshot.");
+            snapshotTemp.delete();
+            return;
+        }
+
+        synchronized (journalLock) {
+            if (generation != journalGeneration) {
+                // Another snapshot was installed while we were compacting; our copy is stale.
+                snapshotTemp.delete();
+                return;
+            }
+
+            File journalFile = new File(journalPath);
+            File journalTemp = new File(journalPath + TEMP_SUFFIX);
+            try {
+                byte[] current = Files.readAllBytes(journalFile.toPath());
+                byte[] tail = Arrays.copyOfRange(current, journal.length, current.length);
+                try (FileOutputStream out = new FileOutputStream(journalTemp)) {
+                    out.write(tail);
+                    if (fsyncPolicy != FsyncPolicy.NEVER) {
+                        out.getChannel().force(false);
+                    }
+                }
+
+                // The snapshot is swapped first; a leftover journal temp file then marks
+                // a compaction that only needs its journal swap finished on the next load.
+                if (!replace(snapshotTemp, new File(filePath)) || !replace(journalTemp, journalFile)) {
+                    throw new IOException("Rename failed");
+                }
+
+                journalRecords = countLines(tail);
+                journalBytes = tail.length;
+                unsyncedJournalRecords = 0;
+                journalGeneration++;
+            } catch (IOException e) {
+                System.out.println("Error swapping compacted snapshot.");
+                snapshotTemp.delete();
+                journalTemp.delete();
+            }
+        }
+    }
+
+    /**
+     * Cleans up after a save or compaction that was interrupted by a crash.
+     * A half-written snapshot is simply dropped, since the old snapshot was never replaced.
+     */
+    private void recoverInterruptedWrites() {
+        recoverSnapshotSwap(new File(filePath + NEW_SUFFIX), journalPath);
+
+        File snapshotTemp = new File(filePath + TEMP_SUFFIX);
+        File journalTemp = new File(journalPath + TEMP_SUFFIX);
+
+        if (snapshotTemp.exists()) {
+            // The snapshot was never swapped in, so the old snapshot and journal are still consistent.
+            snapshotTemp.delete();
+            journalTemp.delete();
+        } else if (journalTemp.exists()) {
+            try {
+                Files.move(journalTemp.toPath(), new File(journalPath).toPath(),
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                System.out.println("Error recovering interrupted compaction.");
+            }
+        }
+    }
+
+    private static int countLines(byte[] data) {
+        int lines = 0;
+        for (byte b : data) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Gets the largest task id handed out before the tasks were last loaded,
+     * as kept by {@link LastIdFile}.
+     *
+     * @return The id, or 0 if no newest task was ever deleted.
+     */
+    @Override
+    public int getLastTaskId() {
+        return lastIdFile.get();
+    }
+
+    /**
+     * Writes any saves still queued for the writer thread.
+     * Does nothing unless write-behind is enabled.
+     */
+    @Override
+    public void flush() {
+        WriteBehindQueue queue = writeBehindQueue;
+        if (queue != null) {
+            queue.flush();
+        }
+    }
+
+    /**
+     * Gets the number of saves waiting to be written.
+     *
+     * @return The write-behind queue depth, or 0 if write-behind is disabled.
+     */
+    public int getPendingWriteCount() {
+        WriteBehindQueue queue = writeBehindQueue;
+        return queue == null ? 0 : queue.getPendingCount();
+    }
+
+    /**
+     * Gets how long the most recent write-behind flush took.
+     *
+     * @return The latency in nanoseconds, or 0 if nothing was flushed yet.
+     */
+    public long getLastFlushLatencyNanos() {
+        WriteBehindQueue queue = writeBehindQueue;
+        return queue == null ? 0 : queue.getLastFlushLatencyNanos();
+    }
+
+    /**
+     * Writes any queued saves and stops the background threads, if they were started.
+     */
+    @Override
+    public synchronized void close() {
+        if (writeBehindQueue != null) {
+            writeBehindQueue.close();
+            writeBehindQueue = null;
+        }
+        syncJournal();
+        if (background != null) {
+            background.shutdown();
+            background = null;
+        }
+    }
+
+    /**
+     * Converts a save file, including any journaled changes, into the given format.
+     * The source and target may be the same file to convert it in place.
+     *
+     * @param sourcePath The save file to read; its format is detected automatically.
+     * @param targetPath The save file to write.
+     * @param targetFormat The format to write.
+     * @return The number of tasks converted.
+     * @throws IOException If the target file cannot be written.
+     */
+    public static int convert(String sourcePath, String targetPath, SaveFormat targetFormat) throws IOException {
+        ArrayList<Task> tasks = new Storage(sourcePath, true).loadTasks();
+
+        Storage target = new Storage(targetPath, true);
+        target.saveFormat = targetFormat;
+        File temp = new File(targetPath + NEW_SUFFIX);
+        // The converted snapshot already contains every journaled change, so the journal is dropped.
+        if (!target.writeSnapshot(temp, tasks, null)
+                || !swapSnapshot(temp, new File(targetPath), target.journalPath, target.fsyncPolicy)) {
+            temp.delete();
+            throw new IOException("Error writing converted save file " + targetPath);
+        }
+        return tasks.size();
+    }
+
+    /**
+     * Gets the format snapshots are currently written in.
+     *
+     * @return The save format.
+     */
+    public SaveFormat getSaveFormat() {
+        return saveFormat;
+    }
+
+    /**
+     * Checks whether this storage appends changes to a journal.
+     *
+     * @return True if journaling is enabled, false otherwise.
+     */
+    public boolean isJournaled() {
+        return isJournaled;
+    }
+
+    /**
+     * Gets the number of records currently in the journal.
+     *
+     * @return The journal record count.
+     */
+    public int getJournalRecordCount() {
+        synchronized (journalLock) {
+            return journalRecords;
         }
     }
 }
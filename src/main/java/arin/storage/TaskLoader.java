@@ -0,0 +1,42 @@
+package arin.storage;
+
+import arin.task.ParseErrors;
+import arin.task.Task;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+
+/**
+ * Reads the tasks stored in a save file.
+ * Implementations skip lines that cannot be parsed instead of failing the whole load.
+ */
+public interface TaskLoader {
+
+    /**
+     * Loads every valid task in the given file, in file order,
+     * counting the records that had to be skipped in the given collector.
+     *
+     * @param file The save file to read.
+     * @param errors The collector for records that cannot be loaded.
+     * @return The tasks stored in the file.
+     * @throws IOException If the file cannot be read.
+     */
+    ArrayList<Task> load(File file, ParseErrors errors) throws IOException;
+
+    /**
+     * Loads every valid task in the given file, in file order,
+     * printing one summary of the skipped records if there were any.
+     *
+     * @param file The save file to read.
+     * @return The tasks stored in the file.
+     * @throws IOException If the file cannot be read.
+     */
+    default ArrayList<Task> load(File file) throws IOException {
+        ParseErrors errors = new ParseErrors();
+        ArrayList<Task> tasks = load(file, errors);
+        if (!errors.isEmpty()) {
+            System.out.println(errors);
+        }
+        return tasks;
+    }
+}
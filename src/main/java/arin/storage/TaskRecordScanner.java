@@ -0,0 +1,88 @@
+package arin.storage;
+
+import arin.task.ParseErrors;
+import arin.task.ParseErrors.Reason;
+import arin.task.SaveLineParser;
+import arin.task.Task;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Parses save file records directly from a byte buffer.
+ * Field boundaries and dates are read straight from the bytes, so the only
+ * objects created per line are the description String and the task itself.
+ * Records whose checksum does not match are skipped so the rest of the file can still be recovered.
+ * A scanner reuses its scratch space and is not thread-safe, but several scanners
+ * may share one buffer since they only use absolute reads.
+ */
+class TaskRecordScanner extends SaveLineParser {
+
+    private final ByteBuffer buffer;
+    private final CRC32 crc = new CRC32();
+    private byte[] scratch = new byte[256];
+
+    /**
+     * Creates a scanner over the given buffer.
+     *
+     * @param buffer The buffer holding save file bytes.
+     * @param errors The collector for records that cannot be loaded.
+     */
+    TaskRecordScanner(ByteBuffer buffer, ParseErrors errors) {
+        super(errors);
+        this.buffer = buffer;
+    }
+
+    /**
+     * Parses every line in the given range and appends the valid tasks to the output list.
+     * The range must start at the beginning of a line.
+     *
+     * @param start The offset of the first byte to parse.
+     * @param end The offset just past the last byte to parse.
+     * @param tasks The list to append parsed tasks to.
+     */
+    void scan(int start, int end, List<Task> tasks) {
+        int lineStart = start;
+        while (lineStart < end) {
+            int lineEnd = lineStart;
+            while (lineEnd < end && buffer.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+
+            int contentEnd = lineEnd;
+            if (contentEnd > lineStart && buffer.get(contentEnd - 1) == '\r') {
+                contentEnd--;
+            }
+
+            int recordEnd = RecordChecksum.verify(buffer, lineStart, contentEnd, crc);
+            if (recordEnd < 0) {
+                if (getErrors().record(Reason.CHECKSUM_MISMATCH)) {
+                    getErrors().setExample(Reason.CHECKSUM_MISMATCH, text(lineStart, contentEnd));
+                }
+            } else {
+                Task task = parse(lineStart, recordEnd);
+                if (task != null) {
+                    tasks.add(task);
+                }
+            }
+
+            lineStart = lineEnd + 1;
+        }
+    }
+
+    @Override
+    protected int charAt(int index) {
+        return buffer.get(index) & 0xFF;
+    }
+
+    @Override
+    protected String text(int start, int end) {
+        int length = end - start;
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        buffer.get(start, scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,64 @@
+package arin.storage;
+
+import arin.task.Task;
+import arin.task.TaskList;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Persists the task list. Commands only talk to this interface,
+ * so the backend can be swapped between files, memory-mapped files and plain memory.
+ */
+public interface TaskStore {
+
+    /**
+     * Loads every stored task, in list order.
+     *
+     * @return The stored tasks.
+     */
+    ArrayList<Task> loadTasks();
+
+    /**
+     * Replaces the stored tasks with the given list.
+     *
+     * @param tasks The tasks to save.
+     */
+    void saveTasks(ArrayList<Task> tasks);
+
+    /**
+     * Persists a single change to the task list.
+     *
+     * @param mutation The change that was applied to the task list.
+     * @param taskList The task list after the change.
+     */
+    void appendMutation(Mutation mutation, TaskList taskList);
+
+    /**
+     * Persists several changes to the task list at once, such as those of a bulk command,
+     * writing them out together rather than one at a time.
+     *
+     * @param mutations The changes that were applied to the task list, in the order they were applied.
+     * @param taskList The task list after the changes.
+     */
+    void appendMutations(List<Mutation> mutations, TaskList taskList);
+
+    /**
+     * Gets the largest task id handed out before the tasks were last loaded. It is larger than
+     * the id of every stored task if the newest tasks were deleted.
+     *
+     * @return The id, or 0 if the store does not keep one.
+     */
+    default int getLastTaskId() {
+        return 0;
+    }
+
+    /**
+     * Makes sure every change persisted so far has been written out.
+     */
+    void flush();
+
+    /**
+     * Writes any outstanding changes and releases the resources held by the store.
+     */
+    void close();
+}
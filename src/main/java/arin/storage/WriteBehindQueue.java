@@ -0,0 +1,132 @@
+package arin.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Queues saves for a {@link Storage} and writes them on a dedicated thread.
+ * Everything queued while a write is in progress is coalesced into the next write:
+ * journal records are appended in one go, and only the newest full snapshot is written.
+ */
+class WriteBehindQueue {
+
+    private final Storage storage;
+    /** Held for the whole drain-and-write step, so batches reach the disk in the order they were queued. */
+    private final Object writeLock = new Object();
+    private final Thread writer;
+
+    private byte[] pendingSnapshot;
+    private ArrayList<String> pendingRecords = new ArrayList<>();
+    private boolean isClosed;
+    private volatile long lastFlushLatencyNanos;
+
+    /**
+     * Creates a queue that writes through the given storage and starts its writer thread.
+     *
+     * @param storage The storage to write to.
+     */
+    WriteBehindQueue(Storage storage) {
+        this.storage = storage;
+        this.writer = new Thread(this::run, "arin-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queues a full snapshot. Any records queued before it are already part of the snapshot.
+     *
+     * @param snapshot The snapshot, already encoded by {@link Storage#encodeSnapshot(List)}
+     *     so the writer never reads tasks that commands are changing.
+     */
+    synchronized void enqueueSnapshot(byte[] snapshot) {
+        pendingSnapshot = snapshot;
+        pendingRecords.clear();
+        notifyAll();
+    }
+
+    /**
+     * Queues several journal records, to be written together.
+     *
+     * @param records The journal lines to append.
+     */
+    synchronized void enqueueRecords(List<String> records) {
+        pendingRecords.addAll(records);
+        notifyAll();
+    }
+
+    /**
+     * Gets the number of writes waiting for the writer thread.
+     *
+     * @return The queue depth.
+     */
+    synchronized int getPendingCount() {
+        return pendingRecords.size() + (pendingSnapshot == null ? 0 : 1);
+    }
+
+    /**
+     * Gets how long the most recent write took.
+     *
+     * @return The latency of the last flush in nanoseconds, or 0 if nothing was written yet.
+     */
+    long getLastFlushLatencyNanos() {
+        return lastFlushLatencyNanos;
+    }
+
+    /**
+     * Writes everything queued so far on the calling thread.
+     */
+    void flush() {
+        synchronized (writeLock) {
+            byte[] snapshot;
+            ArrayList<String> records;
+            synchronized (this) {
+                snapshot = pendingSnapshot;
+                records = pendingRecords;
+                pendingSnapshot = null;
+                pendingRecords = new ArrayList<>();
+            }
+
+            if (snapshot == null && records.isEmpty()) {
+                return;
+            }
+
+            long start = System.nanoTime();
+            if (snapshot != null) {
+                storage.writeSnapshotNow(snapshot);
+            }
+            if (!records.isEmpty()) {
+                storage.appendRecordsNow(records);
+            }
+            lastFlushLatencyNanos = System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Writes any remaining saves and stops the writer thread.
+     */
+    void close() {
+        synchronized (this) {
+            isClosed = true;
+            notifyAll();
+        }
+        flush();
+    }
+
+    private void run() {
+        while (true) {
+            synchronized (this) {
+                while (!isClosed && pendingSnapshot == null && pendingRecords.isEmpty()) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (isClosed) {
+                    return;
+                }
+            }
+            flush();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package arin.task;
+
+import java.util.BitSet;
+
+/**
+ * Records which entries of a {@link TaskList} changed since it was last saved,
+ * so storage can rewrite only those records instead of the whole list.
+ *
+ * <p>Tasks that changed in place (marked or unmarked) are tracked individually.
+ * Adding or deleting a task shifts every task after it, so those changes are tracked
+ * as the lowest index from which the rest of the list has to be rewritten.
+ */
+public class ChangeSet {
+
+    private final BitSet modifiedIndices = new BitSet();
+    private int firstShiftedIndex = Integer.MAX_VALUE;
+
+    /**
+     * Records that the task at the given index changed in place.
+     *
+     * @param index The index of the changed task.
+     */
+    void recordModified(int index) {
+        if (index < firstShiftedIndex) {
+            modifiedIndices.set(index);
+        }
+    }
+
+    /**
+     * Records that the tasks from the given index onwards moved or were added.
+     *
+     * @param index The index of the first task that moved or was added.
+     */
+    void recordShifted(int index) {
+        if (index < firstShiftedIndex) {
+            firstShiftedIndex = index;
+            modifiedIndices.clear(index, Math.max(index, modifiedIndices.length()));
+        }
+    }
+
+    /**
+     * Gets the indices of tasks that changed in place, all of which lie before the first shifted index.
+     *
+     * @return A copy of the modified indices.
+     */
+    public BitSet getModifiedIndices() {
+        return (BitSet) modifiedIndices.clone();
+    }
+
+    /**
+     * Gets the lowest index from which every task may have moved, been added or been removed.
+     *
+     * @return The first shifted index, or {@link Integer#MAX_VALUE} if no task was added or deleted.
+     */
+    public int getFirstShiftedIndex() {
+        return firstShiftedIndex;
+    }
+
+    /**
+     * Checks whether anything changed since the last save.
+     *
+     * @return True if there are no recorded changes, false otherwise.
+     */
+    public boolean isEmpty() {
+        return modifiedIndices.isEmpty() && firstShiftedIndex == Integer.MAX_VALUE;
+    }
+
+    /**
+     * Forgets all recorded changes, typically after they have been saved.
+     */
+    public void clear() {
+        modifiedIndices.clear();
+        firstShiftedIndex = Integer.MAX_VALUE;
+    }
+}
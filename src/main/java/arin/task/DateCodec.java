@@ -0,0 +1,187 @@
+package arin.task;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Reads and writes dates in the fixed "yyyy-MM-dd HHmm" layout used by commands and save files,
+ * e.g. "2025-02-21 2359", as minutes since 1970-01-01 0000.
+ *
+ * <p>Both directions work digit by digit instead of going through a DateTimeFormatter,
+ * since every dated line of a save file passes through here on load. Epoch minutes carry
+ * no time zone; they are the same local date and time the user typed.
+ */
+public final class DateCodec {
+
+    /** The number of characters in a date, e.g. "2025-02-21 2359". */
+    public static final int LENGTH = 15;
+
+    /** Returned by the parse methods when the text is not a valid date. */
+    public static final long INVALID = Long.MIN_VALUE;
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int[] DAYS_IN_MONTH = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    private DateCodec() {
+    }
+
+    /**
+     * Parses a whole string as a date.
+     *
+     * @param text The text, e.g. "2025-02-21 2359".
+     * @return The epoch minutes, or {@link #INVALID} if the text is not a valid date.
+     */
+    public static long parse(CharSequence text) {
+        return parse(text, 0, text.length());
+    }
+
+    /**
+     * Parses a date from part of a character sequence.
+     *
+     * @param text The text holding the date.
+     * @param start The offset of the first character of the date.
+     * @param end The offset just past the last character of the date.
+     * @return The epoch minutes, or {@link #INVALID} if the range is not a valid date.
+     */
+    public static long parse(CharSequence text, int start, int end) {
+        if (end - start != LENGTH || text.charAt(start + 4) != '-' || text.charAt(start + 7) != '-'
+                || text.charAt(start + 10) != ' ') {
+            return INVALID;
+        }
+        return of(digits(text, start, 4), digits(text, start + 5, 2), digits(text, start + 8, 2),
+                digits(text, start + 11, 2), digits(text, start + 13, 2));
+    }
+
+    private static int digits(CharSequence text, int start, int length) {
+        int value = 0;
+        for (int i = start; i < start + length; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Validates the fields of a date and converts them to epoch minutes.
+     * A day past the end of its month, such as 30 February, is clamped to the last day,
+     * as the "yyyy-MM-dd" formatter this replaces did; any other out-of-range field is rejected.
+     *
+     * @param year The year, from 1 to 9999.
+     * @param month The month, from 1 to 12.
+     * @param day The day of the month, from 1 to 31.
+     * @param hour The hour, from 0 to 23.
+     * @param minute The minute, from 0 to 59.
+     * @return The epoch minutes, or {@link #INVALID} if a field is out of range.
+     */
+    public static long of(int year, int month, int day, int hour, int minute) {
+        if (year < 1 || year > 9999 || month < 1 || month > 12 || day < 1 || day > 31
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+            return INVALID;
+        }
+        int lastDay = month == 2 && isLeapYear(year) ? 29 : DAYS_IN_MONTH[month - 1];
+        return toEpochDay(year, month, Math.min(day, lastDay)) * MINUTES_PER_DAY + hour * 60 + minute;
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    /**
+     * Counts days since 1970-01-01 in the proleptic Gregorian calendar, treating March as
+     * the first month of the year so the leap day falls at the end.
+     */
+    private static long toEpochDay(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = y / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468;
+    }
+
+    /**
+     * Formats epoch minutes as a date.
+     *
+     * @param minutes The epoch minutes.
+     * @return The date, e.g. "2025-02-21 2359".
+     */
+    public static String format(long minutes) {
+        return appendTo(new StringBuilder(LENGTH), minutes).toString();
+    }
+
+    /**
+     * Formats a date and time, dropping any seconds.
+     *
+     * @param dateTime The date and time.
+     * @return The date, e.g. "2025-02-21 2359".
+     */
+    public static String format(LocalDateTime dateTime) {
+        return format(toEpochMinutes(dateTime));
+    }
+
+    /**
+     * Appends epoch minutes as a date, so records can be built without intermediate Strings.
+     *
+     * @param builder The builder to append to.
+     * @param minutes The epoch minutes.
+     * @return The builder.
+     */
+    public static StringBuilder appendTo(StringBuilder builder, long minutes) {
+        long epochDay = Math.floorDiv(minutes, MINUTES_PER_DAY);
+        int minuteOfDay = Math.floorMod(minutes, MINUTES_PER_DAY);
+
+        // The inverse of toEpochDay.
+        long shifted = epochDay + 719468;
+        long era = Math.floorDiv(shifted, 146097);
+        int dayOfEra = (int) (shifted - era * 146097);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        appendDigits(builder, year, 4).append('-');
+        appendDigits(builder, month, 2).append('-');
+        appendDigits(builder, day, 2).append(' ');
+        appendDigits(builder, minuteOfDay / 60, 2);
+        return appendDigits(builder, minuteOfDay % 60, 2);
+    }
+
+    private static StringBuilder appendDigits(StringBuilder builder, long value, int width) {
+        long bound = 1;
+        for (int i = 1; i < width; i++) {
+            bound *= 10;
+        }
+        for (; bound > 1 && value < bound; bound /= 10) {
+            builder.append('0');
+        }
+        return builder.append(value);
+    }
+
+    /**
+     * Converts a date and time to epoch minutes, dropping any seconds.
+     *
+     * @param dateTime The date and time.
+     * @return The epoch minutes.
+     */
+    public static long toEpochMinutes(LocalDateTime dateTime) {
+        return dateTime.toLocalDate().toEpochDay() * MINUTES_PER_DAY
+                + dateTime.getHour() * 60 + dateTime.getMinute();
+    }
+
+    /**
+     * Converts epoch minutes to a date and time.
+     *
+     * @param minutes The epoch minutes.
+     * @return The date and time.
+     */
+    public static LocalDateTime toLocalDateTime(long minutes) {
+        return LocalDateTime.of(LocalDate.ofEpochDay(Math.floorDiv(minutes, MINUTES_PER_DAY)),
+                LocalTime.ofSecondOfDay(Math.floorMod(minutes, MINUTES_PER_DAY) * 60L));
+    }
+}
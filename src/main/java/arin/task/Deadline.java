@@ -2,14 +2,14 @@ package arin.task;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 
 /**
  * Represents a task with a strict deadline (requires date and time).
+ * The due date is kept as epoch minutes (see {@link DateCodec}) rather than a LocalDateTime,
+ * so sorting and filtering by date compare primitives.
  */
 public class Deadline extends Task {
-    private final LocalDateTime by;
-    private static final DateTimeFormatter INPUT_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm");
+    private final long by;
     private static final DateTimeFormatter DISPLAY_FORMATTER = DateTimeFormatter.ofPattern("MMM dd yyyy HH:mm");
 
     /**
@@ -21,25 +21,84 @@ public class Deadline extends Task {
      */
     public Deadline(String description, String by) {
         super(description, TaskType.DEADLINE);
-        try {
-            this.by = LocalDateTime.parse(by, INPUT_FORMATTER);
-        } catch (DateTimeParseException e) {
+        this.by = DateCodec.parse(by);
+        if (this.by == DateCodec.INVALID) {
             throw new IllegalArgumentException(
                     "Invalid deadline format! Use: deadline <task> /by yyyy-MM-dd HHmm (e.g., '2025-02-21 2359')");
         }
     }
 
+    /**
+     * Creates a Deadline task from an already parsed due date/time.
+     *
+     * @param description The description of the deadline.
+     * @param by The due date/time.
+     */
+    public Deadline(String description, LocalDateTime by) {
+        this(description, DateCodec.toEpochMinutes(by));
+    }
+
+    /**
+     * Creates a Deadline task from a due date/time in epoch minutes.
+     *
+     * @param description The description of the deadline.
+     * @param by The due date/time in epoch minutes.
+     */
+    public Deadline(String description, long by) {
+        super(description, TaskType.DEADLINE);
+        this.by = by;
+    }
+
+    /**
+     * Creates a Deadline task whose description is decoded lazily.
+     *
+     * @param encodedDescription The UTF-8 bytes of the description.
+     * @param by The due date/time in epoch minutes.
+     */
+    public Deadline(byte[] encodedDescription, long by) {
+        super(encodedDescription, TaskType.DEADLINE);
+        this.by = by;
+    }
+
+    /**
+     * Creates a Deadline task whose description is kept in an arena.
+     *
+     * @param arena The arena holding the description.
+     * @param offset The offset of the description's record in the arena.
+     * @param by The due date/time in epoch minutes.
+     */
+    public Deadline(DescriptionArena arena, int offset, long by) {
+        super(arena, offset, TaskType.DEADLINE);
+        this.by = by;
+    }
+
     @Override
     public String toString() {
-        return "[D]" + super.toString() + " (by: " + by.format(DISPLAY_FORMATTER) + ")";
+        return "[D]" + super.toString() + " (by: " + getBy().format(DISPLAY_FORMATTER) + ")";
     }
 
     @Override
     public String toSaveString() {
-        return "D | " + (isDone() ? "1" : "0") + " | " + description + " | " + by.format(INPUT_FORMATTER);
+        StringBuilder record = new StringBuilder("D | ").append(isDone() ? "1" : "0").append(" | ")
+                .append(getDescription()).append(" | ");
+        return DateCodec.appendTo(record, by).toString();
     }
 
+    /**
+     * Returns the due date/time. A new LocalDateTime is built on each call.
+     *
+     * @return The due date/time.
+     */
     public LocalDateTime getBy() {
+        return DateCodec.toLocalDateTime(by);
+    }
+
+    /**
+     * Returns the due date/time as epoch minutes, for comparisons that need no LocalDateTime.
+     *
+     * @return The due date/time in epoch minutes.
+     */
+    public long getByMinutes() {
         return by;
     }
 }
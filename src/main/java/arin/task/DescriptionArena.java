@@ -0,0 +1,234 @@
+package arin.task;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Holds task descriptions as UTF-8 bytes outside the Java heap, so lists with millions of tasks
+ * do not keep millions of Strings for the garbage collector to trace.
+ *
+ * <p>Each description is a record: its byte length as a zig-zag varint, then its bytes. This is
+ * how the binary save format stores descriptions, so an arena can wrap a mapped save file and
+ * tasks can point into it without the bytes being copied. A task refers to its description by
+ * the arena and the offset of the record, and holds no String or byte array for it.
+ *
+ * <p>Arenas created with {@link #allocate(int)} use a direct buffer that grows as descriptions
+ * are appended; wrapped arenas are read-only. An arena is not thread-safe.
+ */
+public final class DescriptionArena {
+
+    /** The system property that moves task list descriptions off the heap when set to "offheap". */
+    public static final String PROPERTY = "arin.descriptions";
+
+    private ByteBuffer buffer;
+    private final boolean isGrowable;
+    private int used;
+    private int released;
+
+    private DescriptionArena(ByteBuffer buffer, boolean isGrowable, int used) {
+        this.buffer = buffer;
+        this.isGrowable = isGrowable;
+        this.used = used;
+    }
+
+    /**
+     * Checks whether the {@link #PROPERTY} system property asks for off-heap descriptions.
+     *
+     * @return True if descriptions should be kept off the heap.
+     */
+    public static boolean isEnabled() {
+        return "offheap".equals(System.getProperty(PROPERTY));
+    }
+
+    /**
+     * Creates an empty arena backed by a direct buffer.
+     *
+     * @param capacity The initial capacity in bytes.
+     * @return The new arena.
+     */
+    public static DescriptionArena allocate(int capacity) {
+        return new DescriptionArena(ByteBuffer.allocateDirect(Math.max(capacity, 64)), true, 0);
+    }
+
+    /**
+     * Creates a read-only arena over existing records, such as a mapped binary save file.
+     * Offsets into the arena are offsets into the buffer.
+     *
+     * @param buffer The buffer holding the records.
+     * @return The new arena.
+     */
+    public static DescriptionArena wrap(ByteBuffer buffer) {
+        return new DescriptionArena(buffer, false, buffer.limit());
+    }
+
+    /**
+     * Appends a description.
+     *
+     * @param utf8 The UTF-8 bytes of the description.
+     * @return The offset of the new record.
+     */
+    int append(byte[] utf8) {
+        int offset = reserve(varIntLength(utf8.length) + utf8.length);
+        int position = putVarInt(offset, utf8.length);
+        buffer.put(position, utf8);
+        return offset;
+    }
+
+    /**
+     * Copies a record from another arena without decoding it.
+     *
+     * @param source The arena holding the record.
+     * @param offset The offset of the record in the source arena.
+     * @return The offset of the copy in this arena.
+     */
+    int copy(DescriptionArena source, int offset) {
+        int length = source.recordLength(offset);
+        int copyOffset = reserve(length);
+        buffer.put(copyOffset, source.buffer, offset, length);
+        return copyOffset;
+    }
+
+    private int reserve(int length) {
+        if (!isGrowable) {
+            throw new UnsupportedOperationException("Wrapped description arenas are read-only");
+        }
+        if (used + length > buffer.capacity()) {
+            long capacity = Math.max((long) buffer.capacity() * 2, (long) used + length);
+            ByteBuffer grown = ByteBuffer.allocateDirect((int) Math.min(capacity, Integer.MAX_VALUE));
+            grown.put(0, buffer, 0, used);
+            buffer = grown;
+        }
+        int offset = used;
+        used += length;
+        return offset;
+    }
+
+    /**
+     * Marks a record as no longer used, so {@link #shouldCompact()} can tell when to rebuild.
+     *
+     * @param offset The offset of the record.
+     */
+    void release(int offset) {
+        released += recordLength(offset);
+    }
+
+    /**
+     * Checks whether released records take up more than half of the arena.
+     *
+     * @return True if the live records should be copied into a new arena.
+     */
+    boolean shouldCompact() {
+        return isGrowable && released > 0 && released * 2 > used;
+    }
+
+    /**
+     * Gets the number of bytes taken by live and released records.
+     *
+     * @return The used size in bytes.
+     */
+    public int getUsedBytes() {
+        return used;
+    }
+
+    /**
+     * Decodes a description into a new String.
+     *
+     * @param offset The offset of the record.
+     * @return The description.
+     */
+    String decode(int offset) {
+        return new String(getBytes(offset), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Copies the UTF-8 bytes of a description onto the heap.
+     *
+     * @param offset The offset of the record.
+     * @return The description bytes.
+     */
+    byte[] getBytes(int offset) {
+        int length = (int) readVarInt(offset);
+        byte[] bytes = new byte[length];
+        buffer.get(dataStart(offset), bytes);
+        return bytes;
+    }
+
+    /**
+     * Checks whether a description contains a keyword, ignoring case as
+     * {@code description.toLowerCase().contains(keyword)} does. ASCII descriptions are
+     * compared in place; others are decoded first.
+     *
+     * @param offset The offset of the record.
+     * @param lowerKeyword The keyword, already lowercased.
+     * @return True if the description contains the keyword.
+     */
+    boolean containsIgnoreCase(int offset, String lowerKeyword) {
+        int start = dataStart(offset);
+        int end = start + (int) readVarInt(offset);
+        for (int i = start; i < end; i++) {
+            if (buffer.get(i) < 0) {
+                return decode(offset).toLowerCase().contains(lowerKeyword);
+            }
+        }
+
+        int length = lowerKeyword.length();
+        for (int i = start; i <= end - length; i++) {
+            int j = 0;
+            while (j < length && toLowerAscii(buffer.get(i + j)) == lowerKeyword.charAt(j)) {
+                j++;
+            }
+            if (j == length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int toLowerAscii(byte b) {
+        return b >= 'A' && b <= 'Z' ? b + ('a' - 'A') : b;
+    }
+
+    private int recordLength(int offset) {
+        return dataStart(offset) - offset + (int) readVarInt(offset);
+    }
+
+    private int dataStart(int offset) {
+        int position = offset;
+        while ((buffer.get(position) & 0x80) != 0) {
+            position++;
+        }
+        return position + 1;
+    }
+
+    private long readVarInt(int offset) {
+        long zigZag = 0;
+        for (int shift = 0, position = offset; shift < 64; shift += 7, position++) {
+            byte b = buffer.get(position);
+            zigZag |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (zigZag >>> 1) ^ -(zigZag & 1);
+            }
+        }
+        throw new IllegalArgumentException("Malformed description length");
+    }
+
+    private int putVarInt(int position, int value) {
+        long zigZag = ((long) value << 1) ^ (value >> 31);
+        while ((zigZag & ~0x7FL) != 0) {
+            buffer.put(position++, (byte) ((zigZag & 0x7F) | 0x80));
+            zigZag >>>= 7;
+        }
+        buffer.put(position++, (byte) zigZag);
+        return position;
+    }
+
+    private static int varIntLength(int value) {
+        long zigZag = ((long) value << 1) ^ (value >> 31);
+        int length = 1;
+        while ((zigZag & ~0x7FL) != 0) {
+            zigZag >>>= 7;
+            length++;
+        }
+        return length;
+    }
+}
@@ -0,0 +1,117 @@
+package arin.task;
+
+/**
+ * Deduplicates task descriptions, so tasks that repeat a description, such as recurring chores,
+ * share one String instead of each holding a copy.
+ *
+ * <p>Lookups can take a range of a line being parsed, so a description that is already in the
+ * pool costs no allocation at all. The pool only grows; loaders use one per load and drop it
+ * afterwards, leaving the shared Strings with the tasks. A pool is not thread-safe.
+ */
+public class DescriptionPool {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** An open-addressing table whose length is a power of two, kept at most half full. */
+    private String[] table = new String[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Gets the pooled String equal to the given one, adding it if it is not pooled yet.
+     *
+     * @param description The description to look up.
+     * @return The pooled description.
+     */
+    public String intern(String description) {
+        int slot = find(description, 0, description.length(), description.hashCode());
+        if (table[slot] != null) {
+            return table[slot];
+        }
+        return insert(slot, description);
+    }
+
+    /**
+     * Gets the pooled String equal to part of a character sequence, only creating
+     * a String for it if it is not pooled yet.
+     *
+     * @param text The text holding the description.
+     * @param start The offset of the first character of the description.
+     * @param end The offset just past the last character of the description.
+     * @return The pooled description.
+     */
+    public String intern(CharSequence text, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + text.charAt(i);
+        }
+
+        int slot = find(text, start, end, hash);
+        if (table[slot] != null) {
+            return table[slot];
+        }
+        return insert(slot, text.subSequence(start, end).toString());
+    }
+
+    /**
+     * Gets the number of distinct descriptions in the pool.
+     *
+     * @return The pool size.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds the slot holding the given text, or the empty slot where it belongs.
+     * The hash matches {@link String#hashCode()}, which Strings cache, so probing
+     * only compares characters when the hashes agree.
+     */
+    private int find(CharSequence text, int start, int end, int hash) {
+        int mask = table.length - 1;
+        int slot = spread(hash) & mask;
+        while (table[slot] != null && !matches(table[slot], hash, text, start, end)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static boolean matches(String candidate, int hash, CharSequence text, int start, int end) {
+        if (candidate.hashCode() != hash || candidate.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < candidate.length(); i++) {
+            if (candidate.charAt(i) != text.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String insert(int slot, String description) {
+        table[slot] = description;
+        if (++size * 2 > table.length) {
+            resize();
+        }
+        return description;
+    }
+
+    private void resize() {
+        String[] old = table;
+        table = new String[old.length * 2];
+        int mask = table.length - 1;
+        for (String description : old) {
+            if (description == null) {
+                continue;
+            }
+            int slot = spread(description.hashCode()) & mask;
+            while (table[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = description;
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -2,15 +2,14 @@ package arin.task;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 
 /**
  * Represents an event task with a start and end time.
+ * Both times are kept as epoch minutes (see {@link DateCodec}) rather than LocalDateTimes.
  */
 public class Event extends Task {
-    private final LocalDateTime from;
-    private final LocalDateTime to;
-    private static final DateTimeFormatter INPUT_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm");
+    private final long from;
+    private final long to;
     private static final DateTimeFormatter DISPLAY_FORMATTER = DateTimeFormatter.ofPattern("MMM dd yyyy HH:mm");
 
     /**
@@ -23,30 +22,111 @@ public class Event extends Task {
      */
     public Event(String description, String from, String to) {
         super(description, TaskType.EVENT);
-        try {
-            this.from = LocalDateTime.parse(from, INPUT_FORMATTER);
-            this.to = LocalDateTime.parse(to, INPUT_FORMATTER);
-        } catch (DateTimeParseException e) {
+        this.from = DateCodec.parse(from);
+        this.to = DateCodec.parse(to);
+        if (this.from == DateCodec.INVALID || this.to == DateCodec.INVALID) {
             throw new IllegalArgumentException(
                     "Invalid event format! Use: event <task> /from yyyy-MM-dd HHmm /to yyyy-MM-dd HHmm (e.g., '2025-03-05 1400 /to 2025-03-05 1600')");
         }
     }
 
+    /**
+     * Creates an Event task from already parsed start and end times.
+     *
+     * @param description The description of the event.
+     * @param from The start time.
+     * @param to The end time.
+     */
+    public Event(String description, LocalDateTime from, LocalDateTime to) {
+        this(description, DateCodec.toEpochMinutes(from), DateCodec.toEpochMinutes(to));
+    }
+
+    /**
+     * Creates an Event task from start and end times in epoch minutes.
+     *
+     * @param description The description of the event.
+     * @param from The start time in epoch minutes.
+     * @param to The end time in epoch minutes.
+     */
+    public Event(String description, long from, long to) {
+        super(description, TaskType.EVENT);
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Creates an Event task whose description is decoded lazily.
+     *
+     * @param encodedDescription The UTF-8 bytes of the description.
+     * @param from The start time in epoch minutes.
+     * @param to The end time in epoch minutes.
+     */
+    public Event(byte[] encodedDescription, long from, long to) {
+        super(encodedDescription, TaskType.EVENT);
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Creates an Event task whose description is kept in an arena.
+     *
+     * @param arena The arena holding the description.
+     * @param offset The offset of the description's record in the arena.
+     * @param from The start time in epoch minutes.
+     * @param to The end time in epoch minutes.
+     */
+    public Event(DescriptionArena arena, int offset, long from, long to) {
+        super(arena, offset, TaskType.EVENT);
+        this.from = from;
+        this.to = to;
+    }
+
     @Override
     public String toString() {
-        return "[E]" + super.toString() + " (from: " + from.format(DISPLAY_FORMATTER) + " to: " + to.format(DISPLAY_FORMATTER) + ")";
+        return "[E]" + super.toString() + " (from: " + getFrom().format(DISPLAY_FORMATTER) + " to: " + getTo().format(DISPLAY_FORMATTER) + ")";
     }
 
     @Override
     public String toSaveString() {
-        return "E | " + (isDone() ? "1" : "0") + " | " + description + " | " + from.format(INPUT_FORMATTER) + " | " + to.format(INPUT_FORMATTER);
+        StringBuilder record = new StringBuilder("E | ").append(isDone() ? "1" : "0").append(" | ")
+                .append(getDescription()).append(" | ");
+        DateCodec.appendTo(record, from).append(" | ");
+        return DateCodec.appendTo(record, to).toString();
     }
 
+    /**
+     * Returns the start time. A new LocalDateTime is built on each call.
+     *
+     * @return The start time.
+     */
     public LocalDateTime getFrom() {
-        return from;
+        return DateCodec.toLocalDateTime(from);
     }
 
+    /**
+     * Returns the end time. A new LocalDateTime is built on each call.
+     *
+     * @return The end time.
+     */
     public LocalDateTime getTo() {
+        return DateCodec.toLocalDateTime(to);
+    }
+
+    /**
+     * Returns the start time as epoch minutes, for comparisons that need no LocalDateTime.
+     *
+     * @return The start time in epoch minutes.
+     */
+    public long getFromMinutes() {
+        return from;
+    }
+
+    /**
+     * Returns the end time as epoch minutes, for comparisons that need no LocalDateTime.
+     *
+     * @return The end time in epoch minutes.
+     */
+    public long getToMinutes() {
         return to;
     }
 }
@@ -0,0 +1,222 @@
+package arin.task;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An interval tree over the events of a task list, so "what overlaps this slot?" is answered by
+ * walking only the branches that can hold an overlap instead of scanning every task.
+ *
+ * <p>The tree is an AVL tree ordered by start and then row id, where each node also records the
+ * latest end in its subtree. A search skips any subtree whose latest end is not after the start
+ * of the slot, and anything right of a node that starts at or after the end of the slot, so
+ * finding whether a slot is free takes O(log n) and listing its k overlaps takes
+ * O(min(n, (k + 1) log n)).
+ *
+ * <p>An event takes up the minutes from its start up to, but not including, its end, and at
+ * least its starting minute, so back-to-back events do not overlap.
+ */
+class EventIntervals {
+
+    private Node root;
+    private int size;
+
+    /**
+     * Adds a task to the tree if it is an event.
+     *
+     * @param id The row id of the task.
+     * @param task The task.
+     */
+    void add(int id, Task task) {
+        if (task.getTaskType() == TaskType.EVENT) {
+            root = insert(root, new Node(id, (Event) task));
+            size++;
+        }
+    }
+
+    /**
+     * Removes a task from the tree if it is an event.
+     *
+     * @param id The row id of the task.
+     * @param task The task.
+     */
+    void remove(int id, Task task) {
+        if (task.getTaskType() == TaskType.EVENT) {
+            root = delete(root, ((Event) task).getFromMinutes(), id);
+            size--;
+        }
+    }
+
+    /**
+     * Gets the events that share at least one minute with a slot.
+     *
+     * @param start The start of the slot in epoch minutes, inclusive.
+     * @param end The end of the slot in epoch minutes, exclusive.
+     * @return The overlapping events, ordered by start.
+     */
+    List<Task> getOverlapping(long start, long end) {
+        List<Task> result = new ArrayList<>();
+        collect(root, start, end, result);
+        return result;
+    }
+
+    private static void collect(Node node, long start, long end, List<Task> result) {
+        if (node == null || node.maxEnd <= start) {
+            return;
+        }
+        collect(node.left, start, end, result);
+        if (node.start < end) {
+            if (node.end > start) {
+                result.add(node.event);
+            }
+            collect(node.right, start, end, result);
+        }
+    }
+
+    /**
+     * Gets every pair of overlapping events. Events are walked in start order, and each is
+     * paired with the events after it that start before it ends, so the cost is linear in the
+     * number of events plus the number of pairs.
+     *
+     * @return The pairs, the earlier-starting event first, ordered by that event's start.
+     */
+    List<Event[]> getConflicts() {
+        List<Node> nodes = new ArrayList<>(size);
+        inOrder(root, nodes);
+        List<Event[]> conflicts = new ArrayList<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            Node first = nodes.get(i);
+            for (int j = i + 1; j < nodes.size() && nodes.get(j).start < first.end; j++) {
+                conflicts.add(new Event[] {first.event, nodes.get(j).event});
+            }
+        }
+        return conflicts;
+    }
+
+    private static void inOrder(Node node, List<Node> nodes) {
+        if (node != null) {
+            inOrder(node.left, nodes);
+            nodes.add(node);
+            inOrder(node.right, nodes);
+        }
+    }
+
+    /**
+     * Gets the end of the span an event takes up, which is at least its starting minute.
+     *
+     * @param from The start of the event in epoch minutes.
+     * @param to The end of the event in epoch minutes.
+     * @return The exclusive end of the span.
+     */
+    static long spanEnd(long from, long to) {
+        return Math.max(to, from + 1);
+    }
+
+    private static int compare(long start, int id, Node node) {
+        int byStart = Long.compare(start, node.start);
+        return byStart != 0 ? byStart : Integer.compare(id, node.id);
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.start, added.id, node) < 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        return rebalance(node);
+    }
+
+    private static Node delete(Node node, long start, int id) {
+        assert node != null : "Deleted event must be in the tree";
+        int comparison = compare(start, id, node);
+        if (comparison < 0) {
+            node.left = delete(node.left, start, id);
+        } else if (comparison > 0) {
+            node.right = delete(node.right, start, id);
+        } else if (node.left == null || node.right == null) {
+            return node.left != null ? node.left : node.right;
+        } else {
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = delete(node.right, successor.start, successor.id);
+            successor.left = node.left;
+            return rebalance(successor);
+        }
+        return rebalance(node);
+    }
+
+    private static Node rebalance(Node node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        node.maxEnd = node.end;
+        if (node.left != null && node.left.maxEnd > node.maxEnd) {
+            node.maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd > node.maxEnd) {
+            node.maxEnd = node.right.maxEnd;
+        }
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static class Node {
+        private final long start;
+        private final long end;
+        private final int id;
+        private final Event event;
+        private long maxEnd;
+        private int height = 1;
+        private Node left;
+        private Node right;
+
+        Node(int id, Event event) {
+            this.start = event.getFromMinutes();
+            this.end = spanEnd(start, event.getToMinutes());
+            this.id = id;
+            this.event = event;
+            this.maxEnd = end;
+        }
+    }
+}
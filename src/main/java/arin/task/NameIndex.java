@@ -0,0 +1,86 @@
+package arin.task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Keeps the tasks of a list ordered by description, ignoring case as
+ * {@link String#CASE_INSENSITIVE_ORDER} does, so sorting by name is a walk over the tree.
+ *
+ * <p>Each task is compared once, when it is added, through its cached sort key; tasks with the
+ * same description keep list order by comparing their {@link RowIds} ids.
+ */
+class NameIndex {
+
+    private final TreeSet<Entry> entries = new TreeSet<>();
+
+    /**
+     * Adds a task.
+     *
+     * @param id The row id of the task.
+     * @param task The task.
+     */
+    void add(int id, Task task) {
+        entries.add(new Entry(id, task));
+    }
+
+    /**
+     * Removes a task.
+     *
+     * @param id The row id of the task.
+     * @param task The task.
+     */
+    void remove(int id, Task task) {
+        boolean isRemoved = entries.remove(new Entry(id, task));
+        assert isRemoved : "Removed task must be indexed";
+    }
+
+    /**
+     * Gets the tasks ordered by description, and by list order among equal descriptions.
+     *
+     * @return The ordered tasks.
+     */
+    List<Task> getSortedByDescription() {
+        List<Task> result = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            result.add(entry.task);
+        }
+        return result;
+    }
+
+    /**
+     * Compares two tasks by description as a sort by name orders them, ignoring case.
+     *
+     * @param key The sort key of the first task, or null if it has none.
+     * @param task The first task.
+     * @param otherKey The sort key of the second task, or null if it has none.
+     * @param other The second task.
+     * @return A negative number, zero or a positive number as the first task sorts before,
+     *     with or after the second.
+     */
+    static int compareNames(String key, Task task, String otherKey, Task other) {
+        return key != null && otherKey != null
+                ? key.compareTo(otherKey)
+                : String.CASE_INSENSITIVE_ORDER.compare(task.getDescription(), other.getDescription());
+    }
+
+    private static class Entry implements Comparable<Entry> {
+        private final int id;
+        private final Task task;
+        /** The sort key, or null if the description must be compared with the case-insensitive order. */
+        private final String key;
+
+        Entry(int id, Task task) {
+            this.id = id;
+            this.task = task;
+            this.key = task.getSortKey();
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int byName = compareNames(key, task, other.key, other.task);
+            return byName != 0 ? byName : Integer.compare(id, other.id);
+        }
+    }
+}
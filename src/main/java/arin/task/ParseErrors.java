@@ -0,0 +1,170 @@
+package arin.task;
+
+/**
+ * Collects the records that could not be loaded, counted by reason, so a load can report
+ * one summary instead of a message per bad line. The first offending record of each reason
+ * is kept as an example. A collector is not thread-safe; parallel loads use one per thread
+ * and combine them with {@link #addAll(ParseErrors)}.
+ */
+public class ParseErrors {
+
+    /**
+     * The reasons a record can be rejected for.
+     */
+    public enum Reason {
+        INVALID_FORMAT("invalid format"),
+        UNKNOWN_TYPE("unknown task type"),
+        MISSING_DATE("missing date"),
+        INVALID_DATE("invalid date"),
+        CHECKSUM_MISMATCH("checksum mismatch"),
+        DAMAGED_RECORD("damaged binary record"),
+        INVALID_JOURNAL_RECORD("invalid journal record"),
+        AFTER_FAILED_RECORD("journal record after a failed one");
+
+        private final String label;
+
+        Reason(String label) {
+            this.label = label;
+        }
+
+        /**
+         * Gets a short human-readable description of the reason.
+         *
+         * @return The label of the reason.
+         */
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private final int[] counts = new int[Reason.values().length];
+    private final String[] examples = new String[Reason.values().length];
+    private Reason lastReason;
+
+    /**
+     * Counts a rejected record.
+     *
+     * @param reason Why the record was rejected.
+     * @return True if this is the first record rejected for this reason, so the caller
+     *     should pass an example to {@link #setExample(Reason, String)}.
+     */
+    public boolean record(Reason reason) {
+        lastReason = reason;
+        return counts[reason.ordinal()]++ == 0;
+    }
+
+    /**
+     * Counts a rejected record and keeps it as the example if it is the first for its reason.
+     *
+     * @param reason Why the record was rejected.
+     * @param record The rejected record.
+     */
+    public void record(Reason reason, String record) {
+        if (record(reason)) {
+            setExample(reason, record);
+        }
+    }
+
+    /**
+     * Sets the example record for a reason, unless one was already kept.
+     *
+     * @param reason The reason the record was rejected for.
+     * @param record The rejected record.
+     */
+    public void setExample(Reason reason, String record) {
+        if (examples[reason.ordinal()] == null) {
+            examples[reason.ordinal()] = record;
+        }
+    }
+
+    /**
+     * Gets the number of records rejected for the given reason.
+     *
+     * @param reason The reason to count.
+     * @return The number of rejected records.
+     */
+    public int getCount(Reason reason) {
+        return counts[reason.ordinal()];
+    }
+
+    /**
+     * Gets the first record rejected for the given reason.
+     *
+     * @param reason The reason to look up.
+     * @return The example record, or null if none was kept.
+     */
+    public String getExample(Reason reason) {
+        return examples[reason.ordinal()];
+    }
+
+    /**
+     * Gets the reason the most recent record was rejected for.
+     *
+     * @return The last reason, or null if no record was rejected.
+     */
+    public Reason getLastReason() {
+        return lastReason;
+    }
+
+    /**
+     * Gets the number of records rejected for any reason.
+     *
+     * @return The total number of rejected records.
+     */
+    public int getTotal() {
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Checks whether any record was rejected.
+     *
+     * @return True if no record was rejected, false otherwise.
+     */
+    public boolean isEmpty() {
+        return getTotal() == 0;
+    }
+
+    /**
+     * Adds the counts of another collector to this one, keeping this collector's examples first.
+     *
+     * @param other The collector to add.
+     */
+    public void addAll(ParseErrors other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+            if (examples[i] == null) {
+                examples[i] = other.examples[i];
+            }
+        }
+        if (other.lastReason != null) {
+            lastReason = other.lastReason;
+        }
+    }
+
+    /**
+     * Summarises the rejected records, e.g. "Skipped 3 records: 2 invalid date (e.g. "..."), 1 ...".
+     *
+     * @return The summary.
+     */
+    @Override
+    public String toString() {
+        StringBuilder summary = new StringBuilder("Skipped ").append(getTotal()).append(" records:");
+        String separator = " ";
+        for (Reason reason : Reason.values()) {
+            int count = counts[reason.ordinal()];
+            if (count == 0) {
+                continue;
+            }
+            summary.append(separator).append(count).append(' ').append(reason.getLabel());
+            if (examples[reason.ordinal()] != null) {
+                summary.append(" (e.g. \"").append(examples[reason.ordinal()]).append("\")");
+            }
+            separator = ", ";
+        }
+        return summary.toString();
+    }
+}
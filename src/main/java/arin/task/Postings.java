@@ -0,0 +1,107 @@
+package arin.task;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+
+/**
+ * The ids of the rows holding one index key, in ascending order. Rows are appended with
+ * growing ids, so adding is an append and removing is a binary search.
+ */
+class Postings {
+
+    private int[] ids = new int[2];
+    private int size;
+
+    /**
+     * Adds an id larger than every id already held.
+     *
+     * @param id The id to add.
+     */
+    void add(int id) {
+        assert size == 0 || ids[size - 1] < id : "Ids must be added in ascending order";
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        ids[size++] = id;
+    }
+
+    /**
+     * Removes an id.
+     *
+     * @param id The id to remove, which must be held.
+     */
+    void remove(int id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        assert index >= 0 : "Removed id must be held";
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        size--;
+    }
+
+    boolean contains(int id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Sets the bit of every id held.
+     *
+     * @param bits The bits to set.
+     */
+    void addTo(BitSet bits) {
+        for (int i = 0; i < size; i++) {
+            bits.set(ids[i]);
+        }
+    }
+
+    /**
+     * Gets the ids held by every one of the given postings. The shortest list is walked and
+     * the others are searched from where the previous search stopped, doubling the step until
+     * it passes the id, so the cost follows the rarest key rather than the longest list.
+     *
+     * @param lists The postings to intersect; at least one.
+     * @return The common ids, in ascending order.
+     */
+    static int[] intersect(Postings[] lists) {
+        assert lists.length > 0 : "At least one postings list is needed";
+        Postings[] ordered = lists.clone();
+        Arrays.sort(ordered, Comparator.comparingInt(list -> list.size));
+
+        Postings shortest = ordered[0];
+        int[] cursors = new int[ordered.length];
+        int[] common = new int[shortest.size];
+        int count = 0;
+        outer:
+        for (int i = 0; i < shortest.size; i++) {
+            int id = shortest.ids[i];
+            for (int j = 1; j < ordered.length; j++) {
+                cursors[j] = ordered[j].gallop(cursors[j], id);
+                if (cursors[j] == ordered[j].size) {
+                    break outer;
+                }
+                if (ordered[j].ids[cursors[j]] != id) {
+                    continue outer;
+                }
+            }
+            common[count++] = id;
+        }
+        return Arrays.copyOf(common, count);
+    }
+
+    /**
+     * Finds the first index at or after the given one whose id is not less than the given id.
+     */
+    private int gallop(int from, int id) {
+        int step = 1;
+        int low = from;
+        while (low + step < size && ids[low + step] < id) {
+            low += step;
+            step <<= 1;
+        }
+        int index = Arrays.binarySearch(ids, low, Math.min(low + step + 1, size), id);
+        return index >= 0 ? index : -index - 1;
+    }
+}
@@ -0,0 +1,157 @@
+package arin.task;
+
+import java.util.Arrays;
+
+/**
+ * Gives each task of a list an id that stays with it while tasks before it are deleted, so
+ * indexes and users can refer to tasks without them being renumbered on every delete.
+ *
+ * <p>Ids start at 1 and are handed out in increasing order, and tasks are only appended, so
+ * the ids are sorted by row. The tasks are kept in a table indexed by id, so finding a task by
+ * id takes O(1). A Fenwick tree over the ids counts the ones still in the list, which makes it
+ * an order-statistic tree: the row of an id is the number of live ids up to it, and the id of
+ * a row is found by walking down the tree, each in O(log n), as is deleting a row. Deleted ids
+ * are never reused, so both arrays grow with the number of ids handed out, not the list size.
+ */
+class RowIds {
+
+    /** The Fenwick tree of live ids; slot i counts the live ids in (i - lowbit(i), i]. */
+    private int[] counts = new int[16];
+    /** The tasks by id; null for ids that were deleted. */
+    private Task[] tasks = new Task[16];
+    private int lastId;
+    private int size;
+
+    /**
+     * Gives an id to a task appended to the end of the list. A task that already has an id
+     * larger than every id handed out, such as one loaded from a save file, keeps it.
+     *
+     * @param task The appended task, which is given the id.
+     * @return The id of the new row.
+     */
+    int add(Task task) {
+        assert lastId < Integer.MAX_VALUE - 1 : "Row ids exhausted";
+        int id = task.getId() > lastId ? task.getId() : lastId + 1;
+        reserve(id - 1);
+        lastId = id;
+        grow(id);
+        // Nothing after the new id is live, so its slot only sums ids handed out earlier.
+        counts[id] = 1 + countUpTo(id - 1) - countUpTo(id - (id & -id));
+        tasks[id] = task;
+        task.setId(id);
+        size++;
+        return id;
+    }
+
+    /**
+     * Marks every id up to the given one as handed out, so tasks added later get larger ids.
+     *
+     * @param id The largest id that must not be handed out again.
+     */
+    void reserve(int id) {
+        if (id <= lastId) {
+            return;
+        }
+        grow(id);
+        // The skipped ids are never live, but their slots still sum the live ids below them.
+        for (int skipped = lastId + 1; skipped <= id; skipped++) {
+            counts[skipped] = countUpTo(skipped - 1) - countUpTo(skipped - (skipped & -skipped));
+        }
+        lastId = id;
+    }
+
+    /**
+     * Gets the largest id handed out so far.
+     *
+     * @return The id, or 0 if none was handed out.
+     */
+    int getLastId() {
+        return lastId;
+    }
+
+    private void grow(int id) {
+        if (id >= counts.length) {
+            int length = Math.max(id + 1, counts.length * 2);
+            counts = Arrays.copyOf(counts, length);
+            tasks = Arrays.copyOf(tasks, length);
+        }
+    }
+
+    /**
+     * Removes a row, shifting the rows after it down by one.
+     *
+     * @param row The index of the deleted row.
+     * @return The id the row had.
+     */
+    int remove(int row) {
+        int id = get(row);
+        for (int i = id; i <= lastId; i += i & -i) {
+            counts[i]--;
+        }
+        tasks[id] = null;
+        size--;
+        return id;
+    }
+
+    /**
+     * Gets the id of a row.
+     *
+     * @param row The index of the row.
+     * @return The id of the row.
+     */
+    int get(int row) {
+        assert row >= 0 && row < size : "Row index out of bounds";
+        int id = 0;
+        int remaining = row + 1;
+        for (int step = Integer.highestOneBit(lastId); step > 0; step >>= 1) {
+            if (id + step <= lastId && counts[id + step] < remaining) {
+                id += step;
+                remaining -= counts[id];
+            }
+        }
+        return id + 1;
+    }
+
+    /**
+     * Gets the task with an id.
+     *
+     * @param id The id of the task.
+     * @return The task, or null if no task in the list has the id.
+     */
+    Task find(int id) {
+        return id > 0 && id <= lastId ? tasks[id] : null;
+    }
+
+    /**
+     * Gets the row of an id.
+     *
+     * @param id The id of the task.
+     * @return The index of the row, or -1 if no task in the list has the id.
+     */
+    int rowOf(int id) {
+        return find(id) == null ? -1 : countUpTo(id) - 1;
+    }
+
+    /**
+     * Turns ascending ids into their rows, which are then ascending too.
+     *
+     * @param sortedIds Ids of rows in the list, in ascending order.
+     * @return The rows, in the same order.
+     */
+    int[] toRows(int[] sortedIds) {
+        int[] rows = new int[sortedIds.length];
+        for (int i = 0; i < sortedIds.length; i++) {
+            rows[i] = rowOf(sortedIds[i]);
+            assert rows[i] >= 0 : "Id must belong to a row";
+        }
+        return rows;
+    }
+
+    private int countUpTo(int id) {
+        int count = 0;
+        for (int i = id; i > 0; i -= i & -i) {
+            count += counts[i];
+        }
+        return count;
+    }
+}
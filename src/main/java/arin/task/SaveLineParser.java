@@ -0,0 +1,264 @@
+package arin.task;
+
+import arin.task.ParseErrors.Reason;
+
+/**
+ * Parses save file records such as "D | 0 | return book | 2025-06-06 1200 | id:12" in a single pass.
+ * The trailing id field is optional, as records written by older versions do not have it.
+ *
+ * <p>Field boundaries are kept as offsets and dates are read digit by digit, so the only
+ * objects created for a valid record are the description String and the task itself.
+ * Descriptions go through the parser's {@link DescriptionPool}, so a description seen
+ * earlier in the same load is shared rather than created again.
+ * Malformed records are counted in a {@link ParseErrors} collector instead of throwing.
+ * Subclasses supply the characters from a String or straight from a byte buffer;
+ * the record structure is plain ASCII, so UTF-8 bytes can be matched without decoding them.
+ * A parser reuses its scratch space and is not thread-safe.
+ */
+public abstract class SaveLineParser {
+
+    private static final int MAX_FIELDS = 6;
+    private static final String ID_PREFIX = "id:";
+
+    private final int[] fieldStarts = new int[MAX_FIELDS];
+    private final int[] fieldEnds = new int[MAX_FIELDS];
+    private final ParseErrors errors;
+    private final DescriptionPool descriptions = new DescriptionPool();
+    private final CharSequence asciiInput = new AsciiInput();
+
+    /**
+     * Creates a parser that reports malformed records to the given collector.
+     *
+     * @param errors The collector for malformed records.
+     */
+    protected SaveLineParser(ParseErrors errors) {
+        this.errors = errors;
+    }
+
+    /**
+     * Gets the character at the given offset. Only ASCII characters are compared.
+     *
+     * @param index The offset in the input.
+     * @return The character, or a value of at least 0x80 for non-ASCII input.
+     */
+    protected abstract int charAt(int index);
+
+    /**
+     * Creates a String from part of the input.
+     *
+     * @param start The offset of the first character.
+     * @param end The offset just past the last character.
+     * @return The text in the range.
+     */
+    protected abstract String text(int start, int end);
+
+    /**
+     * Gets the collector that malformed records are reported to.
+     *
+     * @return The error collector.
+     */
+    public ParseErrors getErrors() {
+        return errors;
+    }
+
+    /**
+     * Parses the record in the given range of the input, without its checksum or line break.
+     * Fields after the id field are ignored.
+     *
+     * @param start The offset of the first character of the record.
+     * @param end The offset just past the last character of the record.
+     * @return The parsed task, or null if the record is malformed.
+     */
+    protected Task parse(int start, int end) {
+        int fieldCount = splitFields(start, end);
+        if (fieldCount < 3) {
+            return reject(Reason.INVALID_FORMAT, start, end);
+        }
+        if (fieldEnds[0] - fieldStarts[0] != 1) {
+            return reject(Reason.UNKNOWN_TYPE, start, end);
+        }
+
+        Task task;
+        switch (charAt(fieldStarts[0])) {
+        case 'T':
+            task = new ToDo(description(fieldStarts[2], fieldEnds[2]));
+            break;
+        case 'D':
+            if (fieldCount < 4) {
+                return reject(Reason.MISSING_DATE, start, end);
+            }
+            long by = parseDate(3);
+            if (by == DateCodec.INVALID) {
+                return reject(Reason.INVALID_DATE, start, end);
+            }
+            task = new Deadline(description(fieldStarts[2], fieldEnds[2]), by);
+            break;
+        case 'E':
+            if (fieldCount < 5) {
+                return reject(Reason.MISSING_DATE, start, end);
+            }
+            long from = parseDate(3);
+            long to = parseDate(4);
+            if (from == DateCodec.INVALID || to == DateCodec.INVALID) {
+                return reject(Reason.INVALID_DATE, start, end);
+            }
+            task = new Event(description(fieldStarts[2], fieldEnds[2]), from, to);
+            break;
+        default:
+            return reject(Reason.UNKNOWN_TYPE, start, end);
+        }
+
+        if (fieldEnds[1] - fieldStarts[1] == 1 && charAt(fieldStarts[1]) == '1') {
+            task.markAsDone();
+        }
+        // The id follows the task's own fields: three for todos, four for deadlines, five for events.
+        int idField = 3 + task.getTaskType().ordinal();
+        int id = idField < fieldCount ? parseId(idField) : 0;
+        if (id > 0) {
+            task.setId(id);
+        }
+        return task;
+    }
+
+    /**
+     * Parses an "id:N" field. Any other trailing field is left for newer versions to use.
+     *
+     * @return The id, or 0 if the field is not an id.
+     */
+    private int parseId(int field) {
+        int start = fieldStarts[field] + ID_PREFIX.length();
+        int end = fieldEnds[field];
+        if (end <= start || end - start > 9) {
+            return 0;
+        }
+        for (int i = 0; i < ID_PREFIX.length(); i++) {
+            if (charAt(fieldStarts[field] + i) != ID_PREFIX.charAt(i)) {
+                return 0;
+            }
+        }
+        int id = digits(start, end - start);
+        return Math.max(id, 0);
+    }
+
+    /**
+     * Gets the pooled description in the given range. Only ASCII ranges are looked up in place,
+     * since {@link #charAt(int)} does not decode other characters.
+     */
+    private String description(int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (charAt(i) >= 0x80) {
+                return descriptions.intern(text(start, end));
+            }
+        }
+        return descriptions.intern(asciiInput, start, end);
+    }
+
+    private Task reject(Reason reason, int start, int end) {
+        if (errors.record(reason)) {
+            errors.setExample(reason, text(start, end));
+        }
+        return null;
+    }
+
+    /**
+     * Splits a record on " | " into at most {@link #MAX_FIELDS} fields.
+     * Trailing empty fields are dropped, matching {@link String#split(String)}.
+     *
+     * @return The number of fields found.
+     */
+    private int splitFields(int start, int end) {
+        int count = 0;
+        int fieldStart = start;
+        int i = start;
+        while (i + 2 < end && count < MAX_FIELDS - 1) {
+            if (isSeparator(i)) {
+                fieldStarts[count] = fieldStart;
+                fieldEnds[count] = i;
+                count++;
+                i += 3;
+                fieldStart = i;
+            } else {
+                i++;
+            }
+        }
+
+        boolean hasRemainder = false;
+        if (count < MAX_FIELDS - 1) {
+            fieldStarts[count] = fieldStart;
+            fieldEnds[count] = end;
+        } else {
+            // Anything after the last field we need is ignored, like the extra parts of a split.
+            int fieldEnd = fieldStart;
+            while (fieldEnd + 2 < end && !isSeparator(fieldEnd)) {
+                fieldEnd++;
+            }
+            hasRemainder = fieldEnd + 2 < end;
+            fieldStarts[count] = fieldStart;
+            fieldEnds[count] = hasRemainder ? fieldEnd : end;
+        }
+        count++;
+
+        while (!hasRemainder && count > 0 && fieldStarts[count - 1] == fieldEnds[count - 1]) {
+            count--;
+        }
+        return count;
+    }
+
+    private boolean isSeparator(int index) {
+        return charAt(index) == ' ' && charAt(index + 1) == '|' && charAt(index + 2) == ' ';
+    }
+
+    /**
+     * Parses a "yyyy-MM-dd HHmm" field, validating it with {@link DateCodec}.
+     *
+     * @return The epoch minutes, or {@link DateCodec#INVALID} if the field is not a valid date.
+     */
+    private long parseDate(int field) {
+        int start = fieldStarts[field];
+        if (fieldEnds[field] - start != DateCodec.LENGTH
+                || charAt(start + 4) != '-' || charAt(start + 7) != '-' || charAt(start + 10) != ' ') {
+            return DateCodec.INVALID;
+        }
+
+        return DateCodec.of(digits(start, 4), digits(start + 5, 2), digits(start + 8, 2),
+                digits(start + 11, 2), digits(start + 13, 2));
+    }
+
+    /**
+     * Presents the ASCII input as characters, so the description pool can compare it in place.
+     */
+    private class AsciiInput implements CharSequence {
+
+        @Override
+        public int length() {
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) SaveLineParser.this.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return text(start, end);
+        }
+    }
+
+    /**
+     * Reads a fixed number of decimal digits.
+     *
+     * @return The value, or -1 if a character is not a digit.
+     */
+    private int digits(int start, int length) {
+        int value = 0;
+        for (int i = start; i < start + length; i++) {
+            int digit = charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
@@ -1,15 +1,39 @@
 package arin.task;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 
 /**
  * Represents an abstract task with a description and completion status.
+ *
+ * <p>The type and completion status are packed into a single byte, so a task holds only
+ * that byte, its id, its description and the fields of its subclass. Loaders pass descriptions
+ * through a {@link DescriptionPool}, so tasks with the same description share one String.
+ * A description can also live off the heap in a {@link DescriptionArena}, in which case
+ * the task only keeps the arena and an offset into it.
  */
 public abstract class Task {
 
-    protected String description;
-    protected boolean isDone;
-    protected TaskType taskType;
+    private static final TaskType[] TASK_TYPES = TaskType.values();
+    private static final int TYPE_MASK = 0x03;
+    private static final int DONE_FLAG = 0x04;
+
+    /**
+     * The description as a String, its UTF-8 bytes until it is first read,
+     * or the arena holding it at {@link #descriptionOffset}.
+     */
+    private Object description;
+    private int descriptionOffset;
+    /**
+     * The lowercased description used by searches, or a String[] of it and the sort key when the
+     * two differ; null until first needed. Descriptions never change once a task is created,
+     * so these never go stale.
+     */
+    private Object foldedDescription;
+    /** The id given by the task list holding the task or read from a save file, or 0 if it has none. */
+    private int id;
+    /** The ordinal of the task type in the low bits, plus {@link #DONE_FLAG}. */
+    private byte flags;
 
     /**
      * Creates a task with the given description and type.
@@ -19,15 +43,59 @@ public abstract class Task {
      */
     public Task(String description, TaskType taskType) {
         this.description = description;
-        this.isDone = false;
-        this.taskType = taskType;
+        this.flags = (byte) taskType.ordinal();
+    }
+
+    /**
+     * Creates a task whose description is only decoded from UTF-8 when it is first read.
+     *
+     * @param encodedDescription The UTF-8 bytes of the task description.
+     * @param taskType The type of the task (ToDo, Deadline, Event).
+     */
+    protected Task(byte[] encodedDescription, TaskType taskType) {
+        this.description = encodedDescription;
+        this.flags = (byte) taskType.ordinal();
+    }
+
+    /**
+     * Creates a task whose description is kept in an arena and decoded each time it is read.
+     *
+     * @param arena The arena holding the description.
+     * @param offset The offset of the description's record in the arena.
+     * @param taskType The type of the task (ToDo, Deadline, Event).
+     */
+    protected Task(DescriptionArena arena, int offset, TaskType taskType) {
+        this.description = arena;
+        this.descriptionOffset = offset;
+        this.flags = (byte) taskType.ordinal();
+    }
+
+    /**
+     * Gets the id of the task in its task list. Unlike its index, the id stays the same while
+     * other tasks are added and deleted, and it is saved with the task.
+     *
+     * @return The id, or 0 if the task has not been added to a task list or loaded with one.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Sets the id of the task, e.g. the one it was saved with. A task list keeps the id when the
+     * task is added if it is larger than every id the list has handed out, and replaces it otherwise.
+     *
+     * @param id The id, larger than 0.
+     */
+    public void setId(int id) {
+        assert id > 0 : "Task ids start at 1";
+        this.id = id;
     }
 
     /**
      * Marks the task as done.
      */
     public void markAsDone() {
-        this.isDone = true;
+        flags |= DONE_FLAG;
     }
 
     /**
@@ -36,7 +104,7 @@ public abstract class Task {
      * @return True if the task is completed, false otherwise.
      */
     public boolean isDone() {
-        return isDone;
+        return (flags & DONE_FLAG) != 0;
     }
 
     /**
@@ -45,7 +113,7 @@ public abstract class Task {
      * @return The formatted string representation.
      */
     public String toString() {
-        return (isDone ? "[X]" : "[ ]") + " " + description;
+        return (isDone() ? "[X]" : "[ ]") + " " + getDescription();
     }
 
     /**
@@ -57,64 +125,185 @@ public abstract class Task {
 
     /**
      * Parses a saved task string and returns the corresponding Task object.
+     * Loaders that parse many lines use a {@link TextLineParser} directly and collect errors instead.
      *
      * @param taskData The saved task string.
      * @return The corresponding Task object.
+     * @throws IllegalArgumentException if the string is not a valid task.
      */
     public static Task parseTask(String taskData) {
-        String[] parts = taskData.split(" \\| ");
-        if (parts.length < 3) {
-            throw new IllegalArgumentException("Invalid task format in save file!");
+        ParseErrors errors = new ParseErrors();
+        Task task = new TextLineParser(errors).parse(taskData);
+        if (task == null) {
+            throw new IllegalArgumentException("Failed to parse task: " + errors.getLastReason().getLabel());
         }
+        return task;
+    }
 
-        String type = parts[0];
-        Task task = null;
-
-        try {
-            switch (type) {
-            case "T":
-                task = new ToDo(parts[2]);
-                break;
-            case "D":
-                if (parts.length < 4) {
-                    throw new IllegalArgumentException("Deadline task is missing the due date!");
-                }
-                task = new Deadline(parts[2], parts[3]);
-                break;
-            case "E":
-                if (parts.length < 5) {
-                    throw new IllegalArgumentException("Event task is missing start or end time!");
-                }
-                task = new Event(parts[2], parts[3], parts[4]);
-                break;
-            default:
-                throw new IllegalArgumentException("Unknown task type: " + type);
-            }
+    /**
+     * Returns the task's description.
+     *
+     * @return The task description as a string.
+     */
+    public String getDescription() {
+        if (description instanceof DescriptionArena) {
+            // Not cached, so the text stays off the heap once the caller is done with it.
+            return ((DescriptionArena) description).decode(descriptionOffset);
+        }
+        if (description instanceof byte[]) {
+            description = new String((byte[]) description, StandardCharsets.UTF_8);
+        }
+        return (String) description;
+    }
 
-            if (parts[1].equals("1")) {
-                task.markAsDone();
+    /**
+     * Returns the task's description encoded as UTF-8.
+     * Descriptions that have not been decoded yet are returned without a round trip through String.
+     *
+     * @return The UTF-8 bytes of the task description.
+     */
+    public byte[] getEncodedDescription() {
+        Object current = description;
+        if (current instanceof DescriptionArena) {
+            return ((DescriptionArena) current).getBytes(descriptionOffset);
+        }
+        if (current instanceof byte[]) {
+            return (byte[]) current;
+        }
+        return ((String) current).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Checks whether the description contains a keyword, ignoring case.
+     * Descriptions in an arena are matched without being decoded where possible.
+     *
+     * @param lowerKeyword The keyword, already lowercased.
+     * @return True if the description contains the keyword.
+     */
+    boolean descriptionContains(String lowerKeyword) {
+        if (description instanceof DescriptionArena) {
+            return ((DescriptionArena) description).containsIgnoreCase(descriptionOffset, lowerKeyword);
+        }
+        return getSearchForm().contains(lowerKeyword);
+    }
+
+    /**
+     * Gets the description lowercased as {@link String#toLowerCase()} does, for searching.
+     * The result is cached unless the description lives in an arena.
+     *
+     * @return The lowercased description.
+     */
+    String getSearchForm() {
+        Object forms = getFoldedForms();
+        return forms instanceof String ? (String) forms : ((String[]) forms)[0];
+    }
+
+    /**
+     * Gets a key that orders descriptions as {@link String#CASE_INSENSITIVE_ORDER} does when
+     * compared with {@link String#compareTo(String)}, so sorting folds each description once
+     * instead of on every comparison. The result is cached unless the description lives in an arena.
+     *
+     * @return The sort key, or null if the description has characters outside the Basic
+     *     Multilingual Plane, which the case-insensitive order compares by code point.
+     */
+    String getSortKey() {
+        Object forms = getFoldedForms();
+        return forms instanceof String ? (String) forms : ((String[]) forms)[1];
+    }
+
+    private Object getFoldedForms() {
+        Object forms = foldedDescription;
+        if (forms != null) {
+            return forms;
+        }
+        String text = getDescription();
+        String searchForm = text.toLowerCase();
+        String sortKey = toSortKey(text);
+        forms = searchForm.equals(sortKey) ? searchForm : new String[] {searchForm, sortKey};
+        if (!(description instanceof DescriptionArena)) {
+            foldedDescription = forms;
+        }
+        return forms;
+    }
+
+    /**
+     * Folds each character the way {@link String#CASE_INSENSITIVE_ORDER} compares it:
+     * to upper case and then to lower case.
+     */
+    private static String toSortKey(String text) {
+        char[] key = new char[text.length()];
+        for (int i = 0; i < key.length; i++) {
+            char c = text.charAt(i);
+            if (Character.isSurrogate(c)) {
+                return null;
             }
+            key[i] = Character.toLowerCase(Character.toUpperCase(c));
+        }
+        return new String(key);
+    }
+
+    /**
+     * Checks whether the description is kept in an arena rather than on the heap.
+     *
+     * @return True if the description lives in an arena.
+     */
+    boolean isDescriptionOffHeap() {
+        return description instanceof DescriptionArena;
+    }
+
+    /**
+     * Checks whether the description is kept in the given arena.
+     *
+     * @param arena The arena to check.
+     * @return True if the description lives in the arena.
+     */
+    boolean isDescriptionIn(DescriptionArena arena) {
+        return description == arena;
+    }
 
-            return task;
-        } catch (Exception e) {
-            System.err.println("Error parsing task: " + taskData);
-            System.err.println("Error details: " + e.getMessage());
-            throw new IllegalArgumentException("Failed to parse task: " + e.getMessage());
+    /**
+     * Moves the description into the given arena, copying the record directly
+     * if it is already in another arena.
+     *
+     * @param arena The arena to move the description to.
+     */
+    void moveDescriptionTo(DescriptionArena arena) {
+        Object current = description;
+        if (current == arena) {
+            return;
         }
+        if (current instanceof DescriptionArena) {
+            descriptionOffset = arena.copy((DescriptionArena) current, descriptionOffset);
+        } else {
+            descriptionOffset = arena.append(getEncodedDescription());
+        }
+        description = arena;
     }
+
     /**
-     * Returns the task's description.
+     * Releases the description's record in the given arena, if it is kept there.
      *
-     * @return The task description as a string.
+     * @param arena The arena the task is being removed from.
      */
-    public String getDescription() {
-        return description;
+    void releaseDescription(DescriptionArena arena) {
+        if (description == arena) {
+            arena.release(descriptionOffset);
+        }
+    }
+
+    /**
+     * Returns the task's type.
+     *
+     * @return The type of the task.
+     */
+    public TaskType getTaskType() {
+        return TASK_TYPES[flags & TYPE_MASK];
     }
 
     /**
      * Marks the task as not done.
      */
     public void markAsNotDone() {
-        this.isDone = false;
+        flags &= ~DONE_FLAG;
     }
 }
@@ -0,0 +1,209 @@
+package arin.task;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Mirrors a task list as parallel primitive arrays, one column per field, so filters and sorts
+ * can loop over contiguous memory instead of following a reference to each task.
+ *
+ * <p>Row i holds the task at index i of the list: its type ordinal, a done bit and the range of
+ * its lowercased description in a shared char arena. Dates are not mirrored; date queries go
+ * through the task list's {@link TimeIndex}. Deleted descriptions stay in the arena until
+ * they make up half of it, when it is compacted. Rows are only appended at the end, matching
+ * how tasks are added to a task list.
+ */
+class TaskColumns {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private long[] doneBits = new long[1];
+    private int[] descriptionStarts = new int[INITIAL_CAPACITY];
+    private int[] descriptionLengths = new int[INITIAL_CAPACITY];
+    private char[] descriptions = new char[INITIAL_CAPACITY * 16];
+    private int descriptionsUsed;
+    private int descriptionsDeleted;
+    private int size;
+
+    /**
+     * Creates columns holding the given tasks, in order.
+     *
+     * @param tasks The tasks to mirror.
+     */
+    TaskColumns(List<Task> tasks) {
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return The row count.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Appends a row for the given task.
+     *
+     * @param task The task added to the end of the list.
+     */
+    void add(Task task) {
+        if (size == types.length) {
+            int capacity = size * 2;
+            types = Arrays.copyOf(types, capacity);
+            descriptionStarts = Arrays.copyOf(descriptionStarts, capacity);
+            descriptionLengths = Arrays.copyOf(descriptionLengths, capacity);
+        }
+        if (size >>> 6 == doneBits.length) {
+            doneBits = Arrays.copyOf(doneBits, doneBits.length * 2);
+        }
+
+        int row = size++;
+        types[row] = (byte) task.getTaskType().ordinal();
+        setDone(row, task.isDone());
+        appendDescription(row, task.getDescription().toLowerCase());
+    }
+
+    private void appendDescription(int row, String description) {
+        int length = description.length();
+        if (descriptionsUsed + length > descriptions.length) {
+            descriptions = Arrays.copyOf(descriptions, Math.max(descriptions.length * 2, descriptionsUsed + length));
+        }
+        description.getChars(0, length, descriptions, descriptionsUsed);
+        descriptionStarts[row] = descriptionsUsed;
+        descriptionLengths[row] = length;
+        descriptionsUsed += length;
+    }
+
+    /**
+     * Removes a row, shifting the rows after it down by one.
+     *
+     * @param row The index of the deleted task.
+     */
+    void remove(int row) {
+        assert row >= 0 && row < size : "Row index out of bounds";
+        descriptionsDeleted += descriptionLengths[row];
+
+        int moved = size - row - 1;
+        System.arraycopy(types, row + 1, types, row, moved);
+        System.arraycopy(descriptionStarts, row + 1, descriptionStarts, row, moved);
+        System.arraycopy(descriptionLengths, row + 1, descriptionLengths, row, moved);
+        removeDoneBit(row);
+        size--;
+
+        if (descriptionsDeleted * 2 > descriptionsUsed) {
+            compactDescriptions();
+        }
+    }
+
+    /**
+     * Removes several rows in one pass, moving each remaining row at most once.
+     *
+     * @param sortedRows The distinct indices of the deleted tasks, in ascending order.
+     */
+    void remove(int[] sortedRows) {
+        int kept = sortedRows[0];
+        for (int row = kept, next = 0; row < size; row++) {
+            if (next < sortedRows.length && sortedRows[next] == row) {
+                descriptionsDeleted += descriptionLengths[row];
+                next++;
+                continue;
+            }
+            types[kept] = types[row];
+            descriptionStarts[kept] = descriptionStarts[row];
+            descriptionLengths[kept] = descriptionLengths[row];
+            setDone(kept, isDone(row));
+            kept++;
+        }
+        size = kept;
+
+        if (descriptionsDeleted * 2 > descriptionsUsed) {
+            compactDescriptions();
+        }
+    }
+
+    /**
+     * Shifts the done bits above the given row down by one, across word boundaries.
+     */
+    private void removeDoneBit(int row) {
+        int word = row >>> 6;
+        int lastWord = (size - 1) >>> 6;
+        long below = (1L << row) - 1;
+        long current = (doneBits[word] & below) | ((doneBits[word] >>> 1) & ~below);
+        for (int i = word; i <= lastWord; i++) {
+            long next = i < lastWord ? doneBits[i + 1] : 0;
+            doneBits[i] = current | (next << 63);
+            current = next >>> 1;
+        }
+    }
+
+    private void compactDescriptions() {
+        char[] compacted = new char[Math.max(INITIAL_CAPACITY * 16, (descriptionsUsed - descriptionsDeleted) * 2)];
+        int used = 0;
+        for (int row = 0; row < size; row++) {
+            System.arraycopy(descriptions, descriptionStarts[row], compacted, used, descriptionLengths[row]);
+            descriptionStarts[row] = used;
+            used += descriptionLengths[row];
+        }
+        descriptions = compacted;
+        descriptionsUsed = used;
+        descriptionsDeleted = 0;
+    }
+
+    /**
+     * Sets the done bit of a row.
+     *
+     * @param row The index of the task.
+     * @param isDone Whether the task is done.
+     */
+    void setDone(int row, boolean isDone) {
+        if (isDone) {
+            doneBits[row >>> 6] |= 1L << row;
+        } else {
+            doneBits[row >>> 6] &= ~(1L << row);
+        }
+    }
+
+    boolean isDone(int row) {
+        return (doneBits[row >>> 6] & (1L << row)) != 0;
+    }
+
+    int type(int row) {
+        return types[row];
+    }
+
+    /**
+     * Checks whether the lowercased description of a row contains the given lowercased keyword,
+     * comparing in the arena without creating a String.
+     *
+     * @param row The index of the task.
+     * @param keyword The keyword, already lowercased.
+     * @return True if the description contains the keyword.
+     */
+    boolean descriptionContains(int row, String keyword) {
+        int length = keyword.length();
+        if (length == 0) {
+            return true;
+        }
+        char first = keyword.charAt(0);
+        int start = descriptionStarts[row];
+        int last = start + descriptionLengths[row] - length;
+        for (int i = start; i <= last; i++) {
+            if (descriptions[i] != first) {
+                continue;
+            }
+            int j = 1;
+            while (j < length && descriptions[i + j] == keyword.charAt(j)) {
+                j++;
+            }
+            if (j == length) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -2,26 +2,136 @@ package arin.task;
 
 import arin.ui.Ui;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
 import java.util.stream.Collectors;
 import java.time.LocalDateTime;
 
 /**
  * Represents a list of tasks.
  * Uses Java Streams API for efficient task filtering and operations.
+ *
+ * <p>Every list keeps indexes and sorted views of its tasks (words, trigrams, dates, event
+ * intervals, names and counts by type and status), updated as tasks are added, deleted and
+ * marked, so searches and sorts do not rescan or re-sort the whole list. Apart from the counts,
+ * each is built by the first call that needs it, so lists that are never searched or sorted do
+ * not pay for them. Tasks in a list must therefore only be changed through the methods of this
+ * class.
+ *
+ * <p>A list can also keep a columnar mirror of its tasks (see {@link TaskColumns}), which the
+ * filters then loop over instead of the task objects.
+ *
+ * <p>A list can also keep its descriptions off the heap in a {@link DescriptionArena}. Tasks added
+ * to such a list have their descriptions moved into the list's arena, unless they already live
+ * in one, such as tasks loaded straight from a mapped binary save file.
  */
 public class TaskList {
 
+    /** The system property that selects the backend of new lists: "columnar" or "list". */
+    public static final String BACKEND_PROPERTY = "arin.tasklist";
+
     private ArrayList<Task> tasks;
+    private final ChangeSet changes = new ChangeSet();
+    /** The columnar mirror of the tasks, or null for a plain list. */
+    private final TaskColumns columns;
+    /** The ids of the tasks, which the indexes use to refer to rows. */
+    private final RowIds rowIds = new RowIds();
+    /** The index from description words to tasks, built by the first short-keyword search. */
+    private TokenIndex words;
+    /** The index of deadlines and events by date, built by the first lookup by date. */
+    private TimeIndex dates;
+    /** The interval tree over events, built by the first overlap or conflict lookup. */
+    private EventIntervals events;
+    /** The tasks ordered by description, built by the first sort by name. */
+    private NameIndex names;
+    /** The number of tasks of each type, by ordinal. */
+    private final int[] typeCounts = new int[TaskType.values().length];
+    /** The number of done tasks; tasks must be marked through this list to keep it right. */
+    private int doneCount;
+    /** The index from description trigrams to tasks, built by the first substring search. */
+    private TrigramIndex trigrams;
+    /** The arena holding the descriptions, or null if they stay on the heap. */
+    private DescriptionArena arena;
 
     /**
-     * Creates a TaskList with an existing list of tasks.
+     * Creates a TaskList with an existing list of tasks, using the backend chosen by the
+     * {@link #BACKEND_PROPERTY} system property and off-heap descriptions if the
+     * {@link DescriptionArena#PROPERTY} system property asks for them.
      *
      * @param tasks The list of tasks.
      */
     public TaskList(ArrayList<Task> tasks) {
+        this(tasks, "columnar".equals(System.getProperty(BACKEND_PROPERTY)), DescriptionArena.isEnabled());
+    }
+
+    /**
+     * Creates a TaskList with an existing list of tasks, keeping the descriptions on the heap.
+     *
+     * @param tasks The list of tasks.
+     * @param isColumnar Whether to keep a columnar mirror for filtering and sorting.
+     */
+    public TaskList(ArrayList<Task> tasks, boolean isColumnar) {
+        this(tasks, isColumnar, false);
+    }
+
+    /**
+     * Creates a TaskList with an existing list of tasks.
+     *
+     * @param tasks The list of tasks.
+     * @param isColumnar Whether to keep a columnar mirror for filtering and sorting.
+     * @param isOffHeap Whether to move the descriptions into an off-heap arena.
+     */
+    public TaskList(ArrayList<Task> tasks, boolean isColumnar, boolean isOffHeap) {
         this.tasks = tasks;
+        this.columns = isColumnar ? new TaskColumns(tasks) : null;
+        for (Task task : tasks) {
+            index(rowIds.add(task), task);
+        }
+        if (isOffHeap) {
+            arena = DescriptionArena.allocate(tasks.size() * 32);
+            tasks.forEach(this::moveOffHeap);
+        }
+    }
+
+    /**
+     * Gets the arena that holds the descriptions of this list.
+     *
+     * @return The arena, or null if the descriptions are kept on the heap.
+     */
+    public DescriptionArena getDescriptionArena() {
+        return arena;
+    }
+
+    private void moveOffHeap(Task task) {
+        if (!task.isDescriptionOffHeap()) {
+            task.moveDescriptionTo(arena);
+        }
+    }
+
+    /**
+     * Copies the live descriptions into a new arena once deleted ones fill most of the current one.
+     */
+    private void compactArena() {
+        DescriptionArena old = arena;
+        arena = DescriptionArena.allocate(old.getUsedBytes() / 2);
+        for (Task task : tasks) {
+            if (task.isDescriptionIn(old)) {
+                task.moveDescriptionTo(arena);
+            }
+        }
+    }
+
+    /**
+     * Checks whether this list keeps a columnar mirror of its tasks.
+     *
+     * @return True if the list is columnar, false otherwise.
+     */
+    public boolean isColumnar() {
+        return columns != null;
     }
 
     /**
@@ -30,7 +140,61 @@ public class TaskList {
      * @param task The task to add.
      */
     public void addTask(Task task) {
+        changes.recordShifted(tasks.size());
+        if (arena != null) {
+            moveOffHeap(task);
+        }
         tasks.add(task);
+        if (columns != null) {
+            columns.add(task);
+        }
+        index(rowIds.add(task), task);
+    }
+
+    /**
+     * Adds a task to the indexes and sorted views.
+     */
+    private void index(int id, Task task) {
+        if (words != null) {
+            words.add(id, task);
+        }
+        if (dates != null) {
+            dates.add(id, task);
+        }
+        if (events != null) {
+            events.add(id, task);
+        }
+        if (trigrams != null) {
+            trigrams.add(id, task);
+        }
+        if (names != null) {
+            names.add(id, task);
+        }
+        typeCounts[task.getTaskType().ordinal()]++;
+        doneCount += task.isDone() ? 1 : 0;
+    }
+
+    /**
+     * Removes a task from the indexes and sorted views.
+     */
+    private void unindex(int id, Task task) {
+        if (words != null) {
+            words.remove(id, task);
+        }
+        if (dates != null) {
+            dates.remove(id, task);
+        }
+        if (events != null) {
+            events.remove(id, task);
+        }
+        if (trigrams != null) {
+            trigrams.remove(id, task);
+        }
+        if (names != null) {
+            names.remove(id, task);
+        }
+        typeCounts[task.getTaskType().ordinal()]--;
+        doneCount -= task.isDone() ? 1 : 0;
     }
 
     /**
@@ -39,7 +203,55 @@ public class TaskList {
      * @param index The index of the task to remove.
      */
     public void deleteTask(int index) {
-        tasks.remove(index);
+        Task removed = tasks.remove(index);
+        if (columns != null) {
+            columns.remove(index);
+        }
+        unindex(rowIds.remove(index), removed);
+        if (arena != null) {
+            removed.releaseDescription(arena);
+            if (arena.shouldCompact()) {
+                compactArena();
+            }
+        }
+        changes.recordShifted(index);
+    }
+
+    /**
+     * Deletes several tasks in one pass, moving each remaining task at most once instead of
+     * shifting the tail of the list for every deleted task.
+     *
+     * @param sortedIndices The distinct indices of the tasks to remove, in ascending order.
+     */
+    public void deleteTasks(int[] sortedIndices) {
+        if (sortedIndices.length == 0) {
+            return;
+        }
+        // Deleting from the back keeps the indices still to be deleted pointing at the same rows.
+        for (int i = sortedIndices.length - 1; i >= 0; i--) {
+            Task removed = tasks.get(sortedIndices[i]);
+            unindex(rowIds.remove(sortedIndices[i]), removed);
+            if (arena != null) {
+                removed.releaseDescription(arena);
+            }
+        }
+
+        int kept = sortedIndices[0];
+        for (int row = kept, next = 0; row < tasks.size(); row++) {
+            if (next < sortedIndices.length && sortedIndices[next] == row) {
+                next++;
+            } else {
+                tasks.set(kept++, tasks.get(row));
+            }
+        }
+        tasks.subList(kept, tasks.size()).clear();
+        if (columns != null) {
+            columns.remove(sortedIndices);
+        }
+        if (arena != null && arena.shouldCompact()) {
+            compactArena();
+        }
+        changes.recordShifted(sortedIndices[0]);
     }
 
     /**
@@ -51,6 +263,16 @@ public class TaskList {
         return tasks;
     }
 
+    /**
+     * Gets the changes made to the task list since they were last cleared.
+     * Storage clears them once the changes are saved.
+     *
+     * @return The change set of this task list.
+     */
+    public ChangeSet getChanges() {
+        return changes;
+    }
+
     /**
      * Gets a task from the task list by index.
      *
@@ -62,13 +284,58 @@ public class TaskList {
         return tasks.get(index);
     }
 
+    /**
+     * Gets a task from the task list by id.
+     *
+     * @param id The id of the task.
+     * @return The task, or null if no task in the list has the id.
+     */
+    public Task getTaskById(int id) {
+        return rowIds.find(id);
+    }
+
+    /**
+     * Gets the index of a task from its id.
+     *
+     * @param id The id of the task.
+     * @return The index of the task, or -1 if no task in the list has the id.
+     */
+    public int indexOfId(int id) {
+        return rowIds.rowOf(id);
+    }
+
+    /**
+     * Makes sure tasks added later get larger ids than the given one, e.g. the largest id
+     * handed out before the list was saved, so the ids of deleted tasks are not used again.
+     *
+     * @param lastId The largest id that must not be handed out again.
+     */
+    public void reserveIds(int lastId) {
+        rowIds.reserve(lastId);
+    }
+
+    /**
+     * Gets the largest id handed out so far, which may belong to a task that was deleted.
+     *
+     * @return The id, or 0 if no task was ever added.
+     */
+    public int getLastId() {
+        return rowIds.getLastId();
+    }
+
     /**
      * Marks a task as done.
      *
      * @param index The index of the task to mark as done.
      */
     public void markTaskAsDone(int index) {
-        tasks.get(index).markAsDone();
+        Task task = tasks.get(index);
+        doneCount += task.isDone() ? 0 : 1;
+        task.markAsDone();
+        if (columns != null) {
+            columns.setDone(index, true);
+        }
+        changes.recordModified(index);
     }
 
     /**
@@ -86,8 +353,8 @@ public class TaskList {
     }
 
     /**
-     * Finds tasks that contain the given keyword.
-     * Uses Java Streams to filter tasks efficiently.
+     * Finds tasks that contain the given keyword, ignoring case.
+     * Keywords of three or more characters are narrowed down with the trigram index first.
      *
      * @param keyword The keyword to search for in task descriptions.
      * @return A list of matching tasks.
@@ -95,19 +362,43 @@ public class TaskList {
     public List<Task> findTasks(String keyword) {
         assert keyword != null : "Search keyword cannot be null";
 
+        String lowerKeyword = keyword.toLowerCase();
+        if (TrigramIndex.canNarrow(lowerKeyword)) {
+            return selectCandidates(idsMaybeContaining(lowerKeyword), lowerKeyword);
+        }
+        if (columns != null) {
+            return select(row -> columns.descriptionContains(row, lowerKeyword));
+        }
         return tasks.stream()
-                .filter(task -> task.getDescription().toLowerCase()
-                        .contains(keyword.toLowerCase()))
+                .filter(task -> task.descriptionContains(lowerKeyword))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Finds tasks whose descriptions contain every space-separated keyword of the query,
+     * ignoring case, in list order, as {@link #findTasksWithAllKeywords(String...)} does.
+     *
+     * @param query The keywords to search for, separated by spaces.
+     * @return A list of matching tasks.
+     */
+    public List<Task> findTasksWithWords(String query) {
+        assert query != null : "Search query cannot be null";
+        return findTasksWithAllKeywords(query.trim().split("\\s+"));
+    }
+
     /**
      * Marks a task as not done.
      *
      * @param index The index of the task to mark as not done.
      */
     public void markTaskAsNotDone(int index) {
-        tasks.get(index).markAsNotDone();
+        Task task = tasks.get(index);
+        doneCount -= task.isDone() ? 1 : 0;
+        task.markAsNotDone();
+        if (columns != null) {
+            columns.setDone(index, false);
+        }
+        changes.recordModified(index);
     }
 
     /**
@@ -119,8 +410,12 @@ public class TaskList {
     public List<Task> getTasksByType(TaskType taskType) {
         assert taskType != null : "Task type cannot be null";
 
+        if (columns != null) {
+            int type = taskType.ordinal();
+            return select(row -> columns.type(row) == type);
+        }
         return tasks.stream()
-                .filter(task -> task.taskType == taskType)
+                .filter(task -> task.getTaskType() == taskType)
                 .collect(Collectors.toList());
     }
 
@@ -130,24 +425,25 @@ public class TaskList {
      * @return A list of upcoming event tasks.
      */
     public List<Task> getUpcomingEvents() {
-        LocalDateTime now = LocalDateTime.now();
-
-        return tasks.stream()
-                .filter(task -> task.taskType == TaskType.EVENT)
-                .map(task -> (Event) task)
-                .filter(event -> event.getFrom().isAfter(now))
-                .collect(Collectors.toList());
+        long now = DateCodec.toEpochMinutes(LocalDateTime.now());
+        return getTasksWithIds(dates().idsBetween(TaskType.EVENT, now, Long.MAX_VALUE));
     }
 
     /**
-     * Sorts tasks by their description alphabetically.
+     * Sorts tasks by their description alphabetically, ignoring case as
+     * {@link String#CASE_INSENSITIVE_ORDER} does. The order is kept in a tree that is built by
+     * the first call and updated as tasks are added and deleted, so later calls only walk it.
      *
      * @return A new list of tasks sorted alphabetically by description.
      */
     public List<Task> getSortedByDescription() {
-        return tasks.stream()
-                .sorted(Comparator.comparing(Task::getDescription, String.CASE_INSENSITIVE_ORDER))
-                .collect(Collectors.toList());
+        if (names == null) {
+            names = new NameIndex();
+            for (int row = 0; row < tasks.size(); row++) {
+                names.add(rowIds.get(row), tasks.get(row));
+            }
+        }
+        return names.getSortedByDescription();
     }
 
     /**
@@ -157,98 +453,407 @@ public class TaskList {
      * @return A sorted list with tasks ordered by date/time.
      */
     public List<Task> getSortedByDeadline() {
-        // First, create a list for todos (which have no date)
-        List<Task> todos = tasks.stream()
-                .filter(task -> task.taskType == TaskType.TODO)
-                .collect(Collectors.toList());
-
-        // Create a list for tasks with dates (deadlines and events)
-        List<Task> tasksWithDates = new ArrayList<>();
-
-        // Add all deadlines with their dates
-        tasks.stream()
-                .filter(task -> task.taskType == TaskType.DEADLINE)
-                .forEach(task -> tasksWithDates.add(task));
-
-        // Add all events with their dates
-        tasks.stream()
-                .filter(task -> task.taskType == TaskType.EVENT)
-                .forEach(task -> tasksWithDates.add(task));
-
-        // Sort the tasks with dates chronologically
-        tasksWithDates.sort((task1, task2) -> {
-            LocalDateTime date1 = getTaskDateTime(task1);
-            LocalDateTime date2 = getTaskDateTime(task2);
-            return date1.compareTo(date2);
-        });
-
-        // Combine all tasks: first those with dates, then todos
-        List<Task> result = new ArrayList<>(tasksWithDates);
-        result.addAll(todos);
+        List<Task> result = dates().getSortedByDeadline();
+        result.addAll(getTasksByType(TaskType.TODO));
         return result;
     }
 
     /**
-     * Helper method to get the relevant date/time from a task.
-     * For Deadline tasks, returns the due date.
-     * For Event tasks, returns the start time.
+     * Gets tasks due within the specified number of days.
      *
-     * @param task The task to get the date/time from.
-     * @return The relevant LocalDateTime for the task.
+     * @param days Number of days from now.
+     * @return List of deadline tasks due within the specified days.
      */
-    private LocalDateTime getTaskDateTime(Task task) {
-        if (task.taskType == TaskType.DEADLINE) {
-            return ((Deadline) task).getBy();
-        } else if (task.taskType == TaskType.EVENT) {
-            return ((Event) task).getFrom();
-        } else {
-            // Shouldn't reach here since we filter tasks before calling this method
-            return LocalDateTime.MAX; // Default to far future
-        }
+    public List<Task> getTasksDueWithinDays(int days) {
+        assert days >= 0 : "Days must be a non-negative integer";
+
+        long now = DateCodec.toEpochMinutes(LocalDateTime.now());
+        long cutoff = now + days * 24L * 60;
+        return getTasksWithIds(dates().idsBetween(TaskType.DEADLINE, now, cutoff));
     }
 
     /**
-     * Gets tasks due within the specified number of days.
+     * Gets the deadlines due and the events starting within the specified number of days,
+     * found with a single range lookup in the date index.
      *
      * @param days Number of days from now.
-     * @return List of deadline tasks due within the specified days.
+     * @return The deadlines and events in the range, ordered by date.
      */
-    public List<Task> getTasksDueWithinDays(int days) {
+    public List<Task> getTasksWithinDays(int days) {
         assert days >= 0 : "Days must be a non-negative integer";
 
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime cutoff = now.plusDays(days);
+        long now = DateCodec.toEpochMinutes(LocalDateTime.now());
+        return dates().getBetween(now, now + days * 24L * 60);
+    }
 
-        return tasks.stream()
-                .filter(task -> task.taskType == TaskType.DEADLINE)
-                .map(task -> (Deadline) task)
-                .filter(deadline -> {
-                    LocalDateTime by = deadline.getBy();
-                    return by.isAfter(now) && by.isBefore(cutoff);
-                })
-                .map(deadline -> (Task) deadline)
-                .collect(Collectors.toList());
+    /**
+     * Gets the events that share at least one minute with a slot. An event takes up the minutes
+     * from its start up to its end, and at least its starting minute, so back-to-back events do
+     * not overlap.
+     *
+     * @param from The start of the slot in epoch minutes.
+     * @param to The end of the slot in epoch minutes.
+     * @return The overlapping events, ordered by start.
+     */
+    public List<Task> getEventsOverlapping(long from, long to) {
+        return events().getOverlapping(from, EventIntervals.spanEnd(from, to));
     }
 
     /**
-     * Sorts tasks by their type (ToDo, Deadline, Event).
+     * Gets every pair of events that overlap each other.
+     *
+     * @return The pairs, the earlier-starting event first, ordered by that event's start.
+     */
+    public List<Event[]> getConflictingEvents() {
+        return events().getConflicts();
+    }
+
+    /**
+     * Sorts tasks by their type (ToDo, Deadline, Event), keeping list order within each type.
+     * The kept type counts give where each type starts, so the tasks are placed in one pass.
      *
      * @return A list of tasks sorted by type.
      */
     public List<Task> getSortedByType() {
-        return tasks.stream()
-                .sorted((t1, t2) -> t1.taskType.compareTo(t2.taskType))
-                .collect(Collectors.toList());
+        int[] offsets = new int[typeCounts.length];
+        for (int type = 1; type < offsets.length; type++) {
+            offsets[type] = offsets[type - 1] + typeCounts[type - 1];
+        }
+        Task[] sorted = new Task[tasks.size()];
+        for (Task task : tasks) {
+            sorted[offsets[task.getTaskType().ordinal()]++] = task;
+        }
+        return new ArrayList<>(Arrays.asList(sorted));
     }
 
     /**
-     * Sorts tasks by their completion status (incomplete first, then completed).
+     * Sorts tasks by their completion status (incomplete first, then completed), keeping list
+     * order within each. The kept done count gives where the completed tasks start, so the
+     * tasks are placed in one pass.
      *
      * @return A list of tasks sorted by completion status.
      */
     public List<Task> getSortedByStatus() {
+        Task[] sorted = new Task[tasks.size()];
+        int incomplete = 0;
+        int completed = tasks.size() - doneCount;
+        for (Task task : tasks) {
+            sorted[task.isDone() ? completed++ : incomplete++] = task;
+        }
+        return new ArrayList<>(Arrays.asList(sorted));
+    }
+
+    /**
+     * Gets all completed tasks.
+     *
+     * @return A list of completed tasks, in list order.
+     */
+    public List<Task> getCompletedTasks() {
+        if (columns != null) {
+            return select(columns::isDone);
+        }
+        return tasks.stream()
+                .filter(Task::isDone)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Gets all tasks that are not completed yet.
+     *
+     * @return A list of incomplete tasks, in list order.
+     */
+    public List<Task> getIncompleteTasks() {
+        if (columns != null) {
+            return select(row -> !columns.isDone(row));
+        }
+        return tasks.stream()
+                .filter(task -> !task.isDone())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Gets all deadlines that are due in the future, whether or not they are done.
+     *
+     * @return A list of upcoming deadline tasks.
+     */
+    public List<Task> getUpcomingDeadlines() {
+        long now = DateCodec.toEpochMinutes(LocalDateTime.now());
+        return getTasksWithIds(dates().idsBetween(TaskType.DEADLINE, now, Long.MAX_VALUE));
+    }
+
+    /**
+     * Finds tasks that contain at least one of the given keywords, ignoring case.
+     *
+     * @param keywords The keywords to search for.
+     * @return A list of matching tasks.
+     */
+    public List<Task> findTasksWithAnyKeyword(String... keywords) {
+        String[] lowerKeywords = toLowerCase(keywords);
+        if (columns != null) {
+            return select(row -> {
+                for (String keyword : lowerKeywords) {
+                    if (columns.descriptionContains(row, keyword)) {
+                        return true;
+                    }
+                }
+                return false;
+            });
+        }
         return tasks.stream()
-                .sorted(Comparator.comparing(Task::isDone))
+                .filter(task -> {
+                    for (String keyword : lowerKeywords) {
+                        if (task.descriptionContains(keyword)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                })
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Finds tasks that contain every one of the given keywords, ignoring case.
+     * If any keyword has three or more characters, the trigram index narrows the search.
+     * Otherwise the word index does, through the words that contain the keywords' letters
+     * and digits. Either way each candidate is checked as {@link #findTasks(String)} checks a task.
+     *
+     * @param keywords The keywords to search for.
+     * @return A list of matching tasks.
+     */
+    public List<Task> findTasksWithAllKeywords(String... keywords) {
+        String[] lowerKeywords = toLowerCase(keywords);
+        if (TrigramIndex.canNarrow(lowerKeywords)) {
+            return selectCandidates(idsMaybeContaining(lowerKeywords), lowerKeywords);
+        }
+        List<String> fragments = new ArrayList<>();
+        for (String keyword : lowerKeywords) {
+            fragments.addAll(TokenIndex.tokenize(keyword));
+        }
+        if (!fragments.isEmpty()) {
+            return selectCandidates(idsWithWordsContaining(fragments), lowerKeywords);
+        }
+        if (columns != null) {
+            return select(row -> {
+                for (String keyword : lowerKeywords) {
+                    if (!columns.descriptionContains(row, keyword)) {
+                        return false;
+                    }
+                }
+                return true;
+            });
+        }
+        return tasks.stream()
+                .filter(task -> {
+                    for (String keyword : lowerKeywords) {
+                        if (!task.descriptionContains(keyword)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                })
+                .collect(Collectors.toList());
+    }
+
+    private static String[] toLowerCase(String[] keywords) {
+        String[] lowerKeywords = new String[keywords.length];
+        for (int i = 0; i < keywords.length; i++) {
+            lowerKeywords[i] = keywords[i].toLowerCase();
+        }
+        return lowerKeywords;
+    }
+
+    /**
+     * Groups the tasks by type. Types without tasks are left out.
+     *
+     * @return The tasks of each type, in list order.
+     */
+    public Map<TaskType, List<Task>> getTasksGroupedByType() {
+        Map<TaskType, List<Task>> groups = new EnumMap<>(TaskType.class);
+        for (TaskType taskType : TaskType.values()) {
+            List<Task> group = getTasksByType(taskType);
+            if (!group.isEmpty()) {
+                groups.put(taskType, group);
+            }
+        }
+        return groups;
+    }
+
+    /**
+     * Groups the tasks by completion status. A status without tasks is left out.
+     *
+     * @return The completed tasks under true and the incomplete ones under false.
+     */
+    public Map<Boolean, List<Task>> getTasksGroupedByStatus() {
+        Map<Boolean, List<Task>> groups = new HashMap<>();
+        List<Task> completed = getCompletedTasks();
+        List<Task> incomplete = getIncompleteTasks();
+        if (!completed.isEmpty()) {
+            groups.put(true, completed);
+        }
+        if (!incomplete.isEmpty()) {
+            groups.put(false, incomplete);
+        }
+        return groups;
+    }
+
+    /**
+     * Counts the tasks of each type.
+     *
+     * @return The counts, indexed by {@link TaskType#ordinal()}.
+     */
+    public int[] getTaskTypeCounts() {
+        return typeCounts.clone();
+    }
+
+    /**
+     * Counts the tasks with the given completion status.
+     *
+     * @param isDone The status to count.
+     * @return The number of tasks with that status.
+     */
+    public int getTaskCountByStatus(boolean isDone) {
+        return isDone ? doneCount : tasks.size() - doneCount;
+    }
+
+    /**
+     * Collects the tasks that contain every keyword, checking only the candidates an index
+     * gives for them.
+     *
+     * @param candidateIds The row ids of every task that may match, in ascending order.
+     * @param lowerKeywords The keywords, already lowercased.
+     */
+    private List<Task> selectCandidates(int[] candidateIds, String... lowerKeywords) {
+        List<Task> result = new ArrayList<>();
+        outer:
+        for (int row : rowIds.toRows(candidateIds)) {
+            for (String keyword : lowerKeywords) {
+                boolean isContained = columns != null
+                        ? columns.descriptionContains(row, keyword)
+                        : tasks.get(row).descriptionContains(keyword);
+                if (!isContained) {
+                    continue outer;
+                }
+            }
+            result.add(tasks.get(row));
+        }
+        return result;
+    }
+
+    /**
+     * Gets the row ids of the tasks that may contain every keyword, from the trigram index,
+     * which is built on first use. The descriptions of the tasks must still be checked.
+     *
+     * @param lowerKeywords The keywords, already lowercased; at least one must pass
+     *     {@link TrigramIndex#canNarrow(String...)}.
+     * @return The candidate row ids, in ascending order.
+     */
+    int[] idsMaybeContaining(String... lowerKeywords) {
+        if (trigrams == null) {
+            trigrams = new TrigramIndex();
+            for (int row = 0; row < tasks.size(); row++) {
+                trigrams.add(rowIds.get(row), tasks.get(row));
+            }
+        }
+        return trigrams.candidates(lowerKeywords);
+    }
+
+    /**
+     * Gets the row ids of the tasks with words containing every fragment, from the word index,
+     * which is built on first use.
+     *
+     * @param fragments The fragments, as returned by {@link TokenIndex#tokenize(String)}; at least one.
+     * @return The row ids, in ascending order.
+     */
+    int[] idsWithWordsContaining(List<String> fragments) {
+        if (words == null) {
+            words = new TokenIndex();
+            for (int row = 0; row < tasks.size(); row++) {
+                words.add(rowIds.get(row), tasks.get(row));
+            }
+        }
+        return words.idsWithWordsContaining(fragments);
+    }
+
+    /**
+     * Gets the row ids of the deadlines and events dated in a range, from the date index.
+     *
+     * @param from The start of the range in epoch minutes, inclusive.
+     * @param to The end of the range in epoch minutes, exclusive.
+     * @return The row ids, in ascending order.
+     */
+    int[] idsDatedWithin(long from, long to) {
+        return dates().idsBetween(from == Long.MIN_VALUE ? from : from - 1, to);
+    }
+
+    /**
+     * Gets the row ids of every deadline or every event, from the date index.
+     *
+     * @param taskType Either deadlines or events.
+     * @return The row ids, in ascending order.
+     */
+    int[] idsOfType(TaskType taskType) {
+        return dates().idsBetween(taskType, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Gets the date index, building it on first use.
+     */
+    private TimeIndex dates() {
+        if (dates == null) {
+            dates = new TimeIndex();
+            for (int row = 0; row < tasks.size(); row++) {
+                dates.add(rowIds.get(row), tasks.get(row));
+            }
+        }
+        return dates;
+    }
+
+    /**
+     * Gets the interval tree over events, building it on first use.
+     */
+    private EventIntervals events() {
+        if (events == null) {
+            events = new EventIntervals();
+            for (int row = 0; row < tasks.size(); row++) {
+                events.add(rowIds.get(row), tasks.get(row));
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Turns ascending row ids into the indices of their tasks.
+     *
+     * @param sortedIds Row ids in ascending order.
+     * @return The indices, in ascending order.
+     */
+    int[] toIndices(int[] sortedIds) {
+        return rowIds.toRows(sortedIds);
+    }
+
+    /**
+     * Collects the tasks with the given row ids, in list order.
+     *
+     * @param sortedIds Row ids in ascending order.
+     */
+    private List<Task> getTasksWithIds(int[] sortedIds) {
+        List<Task> result = new ArrayList<>(sortedIds.length);
+        for (int row : rowIds.toRows(sortedIds)) {
+            result.add(tasks.get(row));
+        }
+        return result;
+    }
+
+    /**
+     * Collects the tasks whose rows in the columnar mirror match, in list order.
+     */
+    private List<Task> select(IntPredicate matches) {
+        List<Task> result = new ArrayList<>();
+        for (int row = 0; row < columns.size(); row++) {
+            if (matches.test(row)) {
+                result.add(tasks.get(row));
+            }
+        }
+        return result;
+    }
 }
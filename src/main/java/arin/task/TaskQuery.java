@@ -0,0 +1,529 @@
+package arin.task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * A filter over a task list with an optional order and limit, built once and then run
+ * against the list as it is at the time.
+ *
+ * <p>Running a query first plans it. Each condition that an index can answer is looked up in
+ * it: keywords in the trigram index, or in the word index when they are too short, and dates,
+ * deadlines and events in the date index. Keywords match anywhere in a description, as find
+ * matches them, so their candidates are always checked. Conditions joined by "and" intersect
+ * their index results, and conditions joined by "or" unite them when every side has one;
+ * whatever no index answers is checked on the tasks those results leave. If no index applies,
+ * the list is scanned once. The plan that was chosen is returned with the tasks, so it can be
+ * shown to the user.
+ */
+public final class TaskQuery {
+
+    /**
+     * The orders a query can sort its results in, matching the sort command.
+     */
+    public enum Order {
+        /** Deadlines and events by date, deadlines first on the same minute, then todos. */
+        DATE,
+        /** By description, ignoring case. */
+        NAME,
+        /** Todos, then deadlines, then events. */
+        TYPE,
+        /** Incomplete tasks, then completed ones. */
+        STATUS
+    }
+
+    private final Condition where;
+    private final Order order;
+    private final boolean isDescending;
+    private final int limit;
+
+    /**
+     * Creates a query.
+     *
+     * @param where The condition tasks must meet, or null to take every task.
+     * @param order The order of the results, or null to keep list order.
+     * @param isDescending Whether to reverse the order; ties stay in list order.
+     * @param limit The most tasks to return, or a negative number for no limit.
+     */
+    public TaskQuery(Condition where, Order order, boolean isDescending, int limit) {
+        this.where = where;
+        this.order = order;
+        this.isDescending = isDescending;
+        this.limit = limit;
+    }
+
+    /**
+     * Runs the query against a task list.
+     *
+     * @param taskList The task list to query.
+     * @return The matching tasks and the plan used to find them.
+     */
+    public Result run(TaskList taskList) {
+        StringBuilder plan = new StringBuilder();
+        if (where != null) {
+            plan.append("Where: ").append(where).append('\n');
+        }
+
+        // Without an order the first matches in list order are the answer, so the search can stop early.
+        int wanted = order == null && limit >= 0 ? limit : Integer.MAX_VALUE;
+        List<Task> tasks = new ArrayList<>();
+        Match match = where == null ? null : where.compile(taskList);
+        if (match != null && match.ids != null) {
+            plan.append("Read ").append(match.ids.length).append(" candidate(s) from ").append(match.source);
+            plan.append('\n').append(match.residual == null
+                    ? "Every candidate matches"
+                    : "Check each candidate for: " + match.residualText).append('\n');
+            for (int index : taskList.toIndices(match.ids)) {
+                if (tasks.size() == wanted) {
+                    break;
+                }
+                Task task = taskList.getTask(index);
+                if (match.residual == null || match.residual.test(task)) {
+                    tasks.add(task);
+                }
+            }
+        } else {
+            plan.append("Scan all ").append(taskList.getTasks().size()).append(" task(s)")
+                    .append(match == null ? "" : " checking each for: " + where).append('\n');
+            for (Task task : taskList.getTasks()) {
+                if (tasks.size() == wanted) {
+                    break;
+                }
+                if (match == null || match.test.test(task)) {
+                    tasks.add(task);
+                }
+            }
+        }
+
+        if (order != null) {
+            plan.append("Sort ").append(tasks.size()).append(" match(es) by ").append(order.name().toLowerCase())
+                    .append(isDescending ? ", descending" : "").append('\n');
+            tasks.sort(getComparator());
+        }
+        if (limit >= 0 && tasks.size() > limit) {
+            tasks = new ArrayList<>(tasks.subList(0, limit));
+        }
+        if (limit >= 0) {
+            plan.append("Keep the first ").append(limit).append('\n');
+        }
+        return new Result(tasks, plan.toString().trim());
+    }
+
+    /**
+     * Builds the comparator for the order; ties keep list order because the sort is stable.
+     */
+    private Comparator<Task> getComparator() {
+        Comparator<Task> comparator;
+        switch (order) {
+        case DATE:
+            comparator = Comparator.comparingLong(TaskQuery::getDateOrder)
+                    .thenComparingInt(task -> task.getTaskType().ordinal());
+            break;
+        case NAME:
+            comparator = (task, other) -> NameIndex.compareNames(task.getSortKey(), task, other.getSortKey(), other);
+            break;
+        case TYPE:
+            comparator = Comparator.comparingInt(task -> task.getTaskType().ordinal());
+            break;
+        default:
+            comparator = Comparator.comparing(Task::isDone);
+            break;
+        }
+        return isDescending ? comparator.reversed() : comparator;
+    }
+
+    /**
+     * Gets the minute a sort by date puts a task at, with todos after every dated task.
+     */
+    private static long getDateOrder(Task task) {
+        return task.getTaskType() == TaskType.TODO ? Long.MAX_VALUE : TimeIndex.getMinutes(task);
+    }
+
+    /**
+     * Creates a condition met by tasks of one type.
+     *
+     * @param taskType The type.
+     * @return The condition.
+     */
+    public static Condition ofType(TaskType taskType) {
+        return new TypeCondition(taskType);
+    }
+
+    /**
+     * Creates a condition met by completed, or by incomplete, tasks.
+     *
+     * @param isDone Whether the tasks must be completed.
+     * @return The condition.
+     */
+    public static Condition isDone(boolean isDone) {
+        return new DoneCondition(isDone);
+    }
+
+    /**
+     * Creates a condition met by tasks whose descriptions contain every space-separated keyword
+     * of a query, ignoring case, as {@link TaskList#findTasksWithWords(String)} matches them.
+     *
+     * @param query The keywords, separated by spaces.
+     * @return The condition.
+     */
+    public static Condition hasWords(String query) {
+        List<Condition> words = new ArrayList<>();
+        for (String keyword : query.trim().split("\\s+")) {
+            words.add(new WordCondition(keyword.toLowerCase()));
+        }
+        return words.size() == 1 ? words.get(0) : and(words);
+    }
+
+    /**
+     * Creates a condition met by deadlines due, and events starting, within a range.
+     *
+     * @param from The start of the range in epoch minutes, inclusive; {@link Long#MIN_VALUE} for no start.
+     * @param to The end of the range in epoch minutes, exclusive; {@link Long#MAX_VALUE} for no end.
+     * @return The condition.
+     */
+    public static Condition isDatedWithin(long from, long to) {
+        return new DateCondition(from, to);
+    }
+
+    /**
+     * Creates a condition met by tasks that meet every one of the given conditions.
+     *
+     * @param conditions The conditions; at least one.
+     * @return The condition.
+     */
+    public static Condition and(List<Condition> conditions) {
+        return new AllCondition(conditions, true);
+    }
+
+    /**
+     * Creates a condition met by tasks that meet any of the given conditions.
+     *
+     * @param conditions The conditions; at least one.
+     * @return The condition.
+     */
+    public static Condition or(List<Condition> conditions) {
+        return new AllCondition(conditions, false);
+    }
+
+    /**
+     * Creates a condition met by tasks that do not meet another.
+     *
+     * @param condition The condition to negate.
+     * @return The condition.
+     */
+    public static Condition not(Condition condition) {
+        return new NotCondition(condition);
+    }
+
+    /**
+     * The tasks a query found and the plan it followed.
+     */
+    public static final class Result {
+        private final List<Task> tasks;
+        private final String plan;
+
+        private Result(List<Task> tasks, String plan) {
+            this.tasks = tasks;
+            this.plan = plan;
+        }
+
+        /**
+         * Gets the matching tasks, in the order of the query.
+         *
+         * @return The tasks.
+         */
+        public List<Task> getTasks() {
+            return tasks;
+        }
+
+        /**
+         * Gets the plan, one step per line.
+         *
+         * @return The plan.
+         */
+        public String getPlan() {
+            return plan;
+        }
+    }
+
+    /**
+     * A condition on tasks. Conditions are created with the factory methods of {@link TaskQuery}.
+     */
+    public abstract static class Condition {
+
+        private Condition() {
+        }
+
+        /**
+         * Plans the condition against the current state of a task list.
+         */
+        abstract Match compile(TaskList taskList);
+    }
+
+    /**
+     * A planned condition: the ids an index gives for it, if any, and how to check tasks.
+     */
+    private static final class Match {
+        /** The ids of every matching task, and maybe others, in ascending order; null if no index applies. */
+        private int[] ids;
+        /** Where {@link #ids} came from. */
+        private String source;
+        /** What the tasks with {@link #ids} must still be checked for, or null if they all match. */
+        private Predicate<Task> residual;
+        private String residualText;
+        /** The full check of the condition on any task of the list. */
+        private Predicate<Task> test;
+
+        static Match scan(Predicate<Task> test) {
+            Match match = new Match();
+            match.test = test;
+            return match;
+        }
+
+        static Match indexed(int[] ids, String source, Predicate<Task> residual, String residualText) {
+            Match match = new Match();
+            match.ids = ids;
+            match.source = source + " (" + ids.length + ")";
+            match.residual = residual;
+            match.residualText = residualText;
+            match.test = residual == null
+                    ? task -> Arrays.binarySearch(ids, task.getId()) >= 0
+                    : task -> Arrays.binarySearch(ids, task.getId()) >= 0 && residual.test(task);
+            return match;
+        }
+    }
+
+    private static final class TypeCondition extends Condition {
+        private final TaskType taskType;
+
+        TypeCondition(TaskType taskType) {
+            this.taskType = taskType;
+        }
+
+        @Override
+        Match compile(TaskList taskList) {
+            if (taskType == TaskType.TODO) {
+                return Match.scan(task -> task.getTaskType() == TaskType.TODO);
+            }
+            return Match.indexed(taskList.idsOfType(taskType), "date index, every " + this, null, null);
+        }
+
+        @Override
+        public String toString() {
+            return "type:" + taskType.name().toLowerCase();
+        }
+    }
+
+    private static final class DoneCondition extends Condition {
+        private final boolean isDone;
+
+        DoneCondition(boolean isDone) {
+            this.isDone = isDone;
+        }
+
+        @Override
+        Match compile(TaskList taskList) {
+            return Match.scan(task -> task.isDone() == isDone);
+        }
+
+        @Override
+        public String toString() {
+            return isDone ? "done" : "undone";
+        }
+    }
+
+    private static final class WordCondition extends Condition {
+        private final String word;
+
+        WordCondition(String word) {
+            this.word = word;
+        }
+
+        @Override
+        Match compile(TaskList taskList) {
+            // Both indexes only narrow the search; the keyword may sit inside a longer word.
+            Predicate<Task> contains = task -> task.descriptionContains(word);
+            if (TrigramIndex.canNarrow(word)) {
+                return Match.indexed(taskList.idsMaybeContaining(word), "trigram index for '" + word + "'",
+                        contains, "contains '" + word + "'");
+            }
+            List<String> fragments = TokenIndex.tokenize(word);
+            if (!fragments.isEmpty()) {
+                return Match.indexed(taskList.idsWithWordsContaining(fragments), "word index for '" + word + "'",
+                        contains, "contains '" + word + "'");
+            }
+            return Match.scan(contains);
+        }
+
+        @Override
+        public String toString() {
+            return "find:" + word;
+        }
+    }
+
+    private static final class DateCondition extends Condition {
+        private final long from;
+        private final long to;
+
+        DateCondition(long from, long to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        Match compile(TaskList taskList) {
+            return Match.indexed(taskList.idsDatedWithin(from, to), "date index, " + this, null, null);
+        }
+
+        @Override
+        public String toString() {
+            if (from == Long.MIN_VALUE) {
+                return "date before " + DateCodec.format(to);
+            }
+            return to == Long.MAX_VALUE
+                    ? "date from " + DateCodec.format(from)
+                    : "date from " + DateCodec.format(from) + " before " + DateCodec.format(to);
+        }
+    }
+
+    private static final class NotCondition extends Condition {
+        private final Condition condition;
+
+        NotCondition(Condition condition) {
+            this.condition = condition;
+        }
+
+        @Override
+        Match compile(TaskList taskList) {
+            return Match.scan(condition.compile(taskList).test.negate());
+        }
+
+        @Override
+        public String toString() {
+            return "not " + condition;
+        }
+    }
+
+    private static final class AllCondition extends Condition {
+        private final List<Condition> conditions;
+        private final boolean isAnd;
+
+        AllCondition(List<Condition> conditions, boolean isAnd) {
+            assert !conditions.isEmpty() : "A combined condition needs at least one part";
+            this.conditions = List.copyOf(conditions);
+            this.isAnd = isAnd;
+        }
+
+        @Override
+        Match compile(TaskList taskList) {
+            List<Match> matches = new ArrayList<>();
+            for (Condition condition : conditions) {
+                matches.add(condition.compile(taskList));
+            }
+            Predicate<Task> test = matches.get(0).test;
+            for (Match match : matches.subList(1, matches.size())) {
+                test = isAnd ? test.and(match.test) : test.or(match.test);
+            }
+            return isAnd ? compileAnd(matches, test) : compileOr(matches, test);
+        }
+
+        /**
+         * Intersects the ids of the parts an index answers, leaving the rest to check.
+         */
+        private Match compileAnd(List<Match> matches, Predicate<Task> test) {
+            int[] ids = null;
+            List<String> sources = new ArrayList<>();
+            Predicate<Task> residual = null;
+            List<String> residualTexts = new ArrayList<>();
+            for (int i = 0; i < matches.size(); i++) {
+                Match match = matches.get(i);
+                Predicate<Task> unchecked = match.test;
+                if (match.ids != null) {
+                    ids = ids == null ? match.ids : intersect(ids, match.ids);
+                    sources.add(match.source);
+                    unchecked = match.residual;
+                }
+                if (unchecked != null) {
+                    residual = residual == null ? unchecked : residual.and(unchecked);
+                    residualTexts.add(match.ids != null ? match.residualText : conditions.get(i).toString());
+                }
+            }
+            if (ids == null) {
+                return Match.scan(test);
+            }
+            Match match = Match.indexed(ids, "", residual,
+                    residual == null ? null : String.join(" and ", residualTexts));
+            match.source = sources.size() == 1 ? sources.get(0) : "(" + String.join(" and ", sources) + ")";
+            match.test = test;
+            return match;
+        }
+
+        /**
+         * Unites the ids of the parts if an index answers every one of them.
+         */
+        private Match compileOr(List<Match> matches, Predicate<Task> test) {
+            int[] ids = new int[0];
+            List<String> sources = new ArrayList<>();
+            boolean isExact = true;
+            for (Match match : matches) {
+                if (match.ids == null) {
+                    return Match.scan(test);
+                }
+                ids = union(ids, match.ids);
+                sources.add(match.source);
+                isExact &= match.residual == null;
+            }
+            Match match = Match.indexed(ids, "", isExact ? null : test, isExact ? null : toString());
+            match.source = "(" + String.join(" or ", sources) + ")";
+            match.test = test;
+            return match;
+        }
+
+        @Override
+        public String toString() {
+            List<String> parts = new ArrayList<>();
+            for (Condition condition : conditions) {
+                parts.add(condition.toString());
+            }
+            return "(" + String.join(isAnd ? " and " : " or ", parts) + ")";
+        }
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int count = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[count++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static int[] union(int[] a, int[] b) {
+        int[] result = new int[a.length + b.length];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length || j < b.length) {
+            if (j == b.length || (i < a.length && a[i] < b[j])) {
+                result[count++] = a[i++];
+            } else if (i == a.length || b[j] < a[i]) {
+                result[count++] = b[j++];
+            } else {
+                result[count++] = a[i++];
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+}
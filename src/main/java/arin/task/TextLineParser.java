@@ -0,0 +1,55 @@
+package arin.task;
+
+/**
+ * Parses save file records held in Strings or other character sequences.
+ */
+public class TextLineParser extends SaveLineParser {
+
+    private CharSequence line;
+
+    /**
+     * Creates a parser that reports malformed records to the given collector.
+     *
+     * @param errors The collector for malformed records.
+     */
+    public TextLineParser(ParseErrors errors) {
+        super(errors);
+    }
+
+    /**
+     * Parses a whole line as one record.
+     *
+     * @param line The record without its checksum.
+     * @return The parsed task, or null if the record is malformed.
+     */
+    public Task parse(CharSequence line) {
+        return parse(line, 0, line.length());
+    }
+
+    /**
+     * Parses the record in part of a line, e.g. after a prefix that is not part of the record.
+     *
+     * @param line The line holding the record.
+     * @param start The offset where the record starts.
+     * @param end The offset where the record ends.
+     * @return The parsed task, or null if the record is malformed.
+     */
+    public Task parse(CharSequence line, int start, int end) {
+        this.line = line;
+        try {
+            return parse(start, end);
+        } finally {
+            this.line = null;
+        }
+    }
+
+    @Override
+    protected int charAt(int index) {
+        return line.charAt(index);
+    }
+
+    @Override
+    protected String text(int start, int end) {
+        return line.subSequence(start, end).toString();
+    }
+}
@@ -0,0 +1,193 @@
+package arin.task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Orders the deadlines and events of a task list by their date in epoch minutes: the deadline,
+ * or the start of an event. Date-range queries become a walk over part of the map instead of a
+ * scan of the whole list, and sorting by date becomes a walk over all of it.
+ *
+ * <p>Tasks sharing a minute are kept as {@link #getSortedByDeadline()} has always ordered them:
+ * deadlines before events, and each in list order. Tasks are referred to by their
+ * {@link RowIds} id, which grows with list order, so new tasks go at the end of their group.
+ */
+class TimeIndex {
+
+    private final TreeMap<Long, Slot> slots = new TreeMap<>();
+    private int size;
+
+    /**
+     * Indexes a task if it has a date.
+     *
+     * @param id The row id of the task, larger than any indexed so far.
+     * @param task The task.
+     */
+    void add(int id, Task task) {
+        TaskType taskType = task.getTaskType();
+        if (taskType == TaskType.TODO) {
+            return;
+        }
+        slots.computeIfAbsent(getMinutes(task), key -> new Slot()).add(id, task, taskType == TaskType.DEADLINE);
+        size++;
+    }
+
+    /**
+     * Removes a task from the index, if it has a date.
+     *
+     * @param id The row id of the task.
+     * @param task The task.
+     */
+    void remove(int id, Task task) {
+        if (task.getTaskType() == TaskType.TODO) {
+            return;
+        }
+        long minutes = getMinutes(task);
+        Slot slot = slots.get(minutes);
+        slot.remove(id);
+        if (slot.size == 0) {
+            slots.remove(minutes);
+        }
+        size--;
+    }
+
+    /**
+     * Gets every dated task ordered by date, deadlines before events on the same minute.
+     *
+     * @return The dated tasks.
+     */
+    List<Task> getSortedByDeadline() {
+        List<Task> result = new ArrayList<>(size);
+        for (Slot slot : slots.values()) {
+            result.addAll(Arrays.asList(slot.tasks).subList(0, slot.size));
+        }
+        return result;
+    }
+
+    /**
+     * Gets the dated tasks whose date lies strictly between two instants, ordered by date.
+     *
+     * @param after The start of the range in epoch minutes, exclusive.
+     * @param before The end of the range in epoch minutes, exclusive.
+     * @return The tasks in the range.
+     */
+    List<Task> getBetween(long after, long before) {
+        List<Task> result = new ArrayList<>();
+        if (after < before) {
+            for (Slot slot : slots.subMap(after, false, before, false).values()) {
+                result.addAll(Arrays.asList(slot.tasks).subList(0, slot.size));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the row ids of the deadlines and events whose date lies strictly between two instants.
+     *
+     * @param after The start of the range in epoch minutes, exclusive.
+     * @param before The end of the range in epoch minutes, exclusive.
+     * @return The row ids, in ascending order, so in list order.
+     */
+    int[] idsBetween(long after, long before) {
+        if (after >= before) {
+            return new int[0];
+        }
+        NavigableMap<Long, Slot> range = slots.subMap(after, false, before, false);
+        int count = 0;
+        for (Slot slot : range.values()) {
+            count += slot.size;
+        }
+        int[] ids = new int[count];
+        count = 0;
+        for (Slot slot : range.values()) {
+            System.arraycopy(slot.ids, 0, ids, count, slot.size);
+            count += slot.size;
+        }
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    /**
+     * Gets the row ids of the tasks of one type whose date lies strictly between two instants.
+     *
+     * @param taskType The type of the tasks, either deadlines or events.
+     * @param after The start of the range in epoch minutes, exclusive.
+     * @param before The end of the range in epoch minutes, exclusive.
+     * @return The row ids, in ascending order, so in list order.
+     */
+    int[] idsBetween(TaskType taskType, long after, long before) {
+        assert taskType != TaskType.TODO : "Todos are not indexed";
+        if (after >= before) {
+            return new int[0];
+        }
+        boolean isDeadline = taskType == TaskType.DEADLINE;
+        NavigableMap<Long, Slot> range = slots.subMap(after, false, before, false);
+        int count = 0;
+        for (Slot slot : range.values()) {
+            count += isDeadline ? slot.deadlineCount : slot.size - slot.deadlineCount;
+        }
+        int[] ids = new int[count];
+        count = 0;
+        for (Slot slot : range.values()) {
+            int from = isDeadline ? 0 : slot.deadlineCount;
+            int to = isDeadline ? slot.deadlineCount : slot.size;
+            System.arraycopy(slot.ids, from, ids, count, to - from);
+            count += to - from;
+        }
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    /**
+     * Gets the date a task is indexed by.
+     *
+     * @param task A deadline or an event.
+     * @return The deadline or the start of the event, in epoch minutes.
+     */
+    static long getMinutes(Task task) {
+        return task.getTaskType() == TaskType.DEADLINE
+                ? ((Deadline) task).getByMinutes()
+                : ((Event) task).getFromMinutes();
+    }
+
+    /**
+     * The tasks sharing one minute: deadlines first, then events, each in ascending id order.
+     */
+    private static class Slot {
+        private int[] ids = new int[1];
+        private Task[] tasks = new Task[1];
+        private int deadlineCount;
+        private int size;
+
+        void add(int id, Task task, boolean isDeadline) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                tasks = Arrays.copyOf(tasks, size * 2);
+            }
+            // The id is the largest so far, so it goes at the end of its group.
+            int index = isDeadline ? deadlineCount++ : size;
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            System.arraycopy(tasks, index, tasks, index + 1, size - index);
+            ids[index] = id;
+            tasks[index] = task;
+            size++;
+        }
+
+        void remove(int id) {
+            int index = 0;
+            while (ids[index] != id) {
+                index++;
+            }
+            if (index < deadlineCount) {
+                deadlineCount--;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            System.arraycopy(tasks, index + 1, tasks, index, size - index - 1);
+            size--;
+            tasks[size] = null;
+        }
+    }
+}
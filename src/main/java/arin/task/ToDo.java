@@ -14,6 +14,25 @@ public class ToDo extends Task {
         super(description, TaskType.TODO);
     }
 
+    /**
+     * Creates a ToDo task whose description is decoded lazily.
+     *
+     * @param encodedDescription The UTF-8 bytes of the task description.
+     */
+    public ToDo(byte[] encodedDescription) {
+        super(encodedDescription, TaskType.TODO);
+    }
+
+    /**
+     * Creates a ToDo task whose description is kept in an arena.
+     *
+     * @param arena The arena holding the description.
+     * @param offset The offset of the description's record in the arena.
+     */
+    public ToDo(DescriptionArena arena, int offset) {
+        super(arena, offset, TaskType.TODO);
+    }
+
     /**
      * Returns the string format for saving the ToDo task.
      *
@@ -21,6 +40,6 @@ public class ToDo extends Task {
      */
     @Override
     public String toSaveString() {
-        return "T | " + (isDone() ? "1" : "0") + " | " + description;
+        return "T | " + (isDone() ? "1" : "0") + " | " + getDescription();
     }
 }
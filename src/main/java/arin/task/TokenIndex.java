@@ -0,0 +1,126 @@
+package arin.task;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An inverted index from the words of task descriptions to the tasks that contain them,
+ * so word searches read a few postings lists instead of scanning every description.
+ *
+ * <p>A word is a maximal run of letters and digits in the lowercased description. Tasks are
+ * referred to by their {@link RowIds} id, so deleting a task only touches the postings of its
+ * own words.
+ */
+class TokenIndex {
+
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    /**
+     * Indexes a task.
+     *
+     * @param id The row id of the task, larger than any indexed so far.
+     * @param task The task.
+     */
+    void add(int id, Task task) {
+        for (String token : tokenize(task.getDescription())) {
+            postings.computeIfAbsent(token, key -> new Postings()).add(id);
+        }
+    }
+
+    /**
+     * Removes a task from the index.
+     *
+     * @param id The row id of the task.
+     * @param task The task.
+     */
+    void remove(int id, Task task) {
+        for (String token : tokenize(task.getDescription())) {
+            Postings ids = postings.get(token);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(token);
+            }
+        }
+    }
+
+    /**
+     * Checks whether any task has the given word.
+     *
+     * @param token The word, as returned by {@link #tokenize(String)}.
+     * @return True if the word is indexed.
+     */
+    boolean contains(String token) {
+        return postings.containsKey(token);
+    }
+
+    /**
+     * Gets the row ids of the tasks that have every one of the given words.
+     *
+     * @param tokens The words, as returned by {@link #tokenize(String)}; at least one.
+     * @return The matching row ids, in ascending order.
+     */
+    int[] idsWithAll(List<String> tokens) {
+        Postings[] lists = new Postings[tokens.size()];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = postings.get(tokens.get(i));
+            if (lists[i] == null) {
+                return new int[0];
+            }
+        }
+        return Postings.intersect(lists);
+    }
+
+    /**
+     * Gets the row ids of the tasks that have, for every fragment, some word containing it.
+     * Only the distinct words are searched, so a word that many tasks share is checked once.
+     * A run of letters and digits can only appear in a description inside one of its words,
+     * so these are the tasks whose descriptions contain every fragment.
+     *
+     * @param fragments The fragments, as returned by {@link #tokenize(String)}; at least one.
+     * @return The matching row ids, in ascending order.
+     */
+    int[] idsWithWordsContaining(List<String> fragments) {
+        BitSet common = null;
+        for (String fragment : fragments) {
+            BitSet ids = new BitSet();
+            for (Map.Entry<String, Postings> entry : postings.entrySet()) {
+                if (entry.getKey().contains(fragment)) {
+                    entry.getValue().addTo(ids);
+                }
+            }
+            if (common == null) {
+                common = ids;
+            } else {
+                common.and(ids);
+            }
+        }
+        return common.stream().toArray();
+    }
+
+    /**
+     * Splits text into its distinct lowercased words, in order of first appearance.
+     *
+     * @param text The text to split.
+     * @return The words.
+     */
+    static List<String> tokenize(String text) {
+        String lower = text.toLowerCase();
+        Set<String> tokens = new LinkedHashSet<>();
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean isWordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (isWordChar && start < 0) {
+                start = i;
+            } else if (!isWordChar && start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+}
@@ -0,0 +1,106 @@
+package arin.task;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An inverted index from the three-character substrings of lowercased task descriptions to the
+ * tasks that contain them. A description containing a keyword contains every trigram of the
+ * keyword, so intersecting the keyword's postings gives a short list of candidates that only
+ * need a final {@code contains} check. Keywords shorter than three characters have no
+ * trigrams and cannot be narrowed this way.
+ *
+ * <p>Tasks are referred to by their {@link RowIds} id. A trigram is packed into a long,
+ * sixteen bits per character.
+ */
+class TrigramIndex {
+
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    /**
+     * Indexes a task.
+     *
+     * @param id The row id of the task, larger than any indexed so far.
+     * @param task The task.
+     */
+    void add(int id, Task task) {
+        for (long trigram : trigrams(task.getDescription().toLowerCase())) {
+            postings.computeIfAbsent(trigram, key -> new Postings()).add(id);
+        }
+    }
+
+    /**
+     * Removes a task from the index.
+     *
+     * @param id The row id of the task.
+     * @param task The task.
+     */
+    void remove(int id, Task task) {
+        for (long trigram : trigrams(task.getDescription().toLowerCase())) {
+            Postings ids = postings.get(trigram);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    /**
+     * Checks whether any of the keywords is long enough to be narrowed by trigrams.
+     *
+     * @param lowerKeywords The keywords, already lowercased.
+     * @return True if {@link #candidates(String...)} can narrow the search.
+     */
+    static boolean canNarrow(String... lowerKeywords) {
+        return Arrays.stream(lowerKeywords).anyMatch(keyword -> keyword.length() >= 3);
+    }
+
+    /**
+     * Gets the row ids of the tasks whose descriptions hold every trigram of every keyword.
+     * These are a superset of the tasks containing all the keywords.
+     *
+     * @param lowerKeywords The keywords, already lowercased; at least one must pass
+     *     {@link #canNarrow(String...)}.
+     * @return The candidate row ids, in ascending order.
+     */
+    int[] candidates(String... lowerKeywords) {
+        assert canNarrow(lowerKeywords) : "A keyword of at least three characters is needed";
+        long[] keys = Arrays.stream(lowerKeywords)
+                .flatMapToLong(keyword -> Arrays.stream(trigrams(keyword)))
+                .distinct()
+                .toArray();
+        Postings[] lists = new Postings[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            lists[i] = postings.get(keys[i]);
+            if (lists[i] == null) {
+                return new int[0];
+            }
+        }
+        return Postings.intersect(lists);
+    }
+
+    /**
+     * Gets the distinct trigrams of some text, in ascending order.
+     *
+     * @param text The text.
+     * @return The packed trigrams.
+     */
+    static long[] trigrams(String text) {
+        if (text.length() < 3) {
+            return new long[0];
+        }
+        long[] trigrams = new long[text.length() - 2];
+        for (int i = 0; i < trigrams.length; i++) {
+            trigrams[i] = (long) text.charAt(i) << 32 | (long) text.charAt(i + 1) << 16 | text.charAt(i + 2);
+        }
+        Arrays.sort(trigrams);
+        int count = 1;
+        for (int i = 1; i < trigrams.length; i++) {
+            if (trigrams[i] != trigrams[count - 1]) {
+                trigrams[count++] = trigrams[i];
+            }
+        }
+        return Arrays.copyOf(trigrams, count);
+    }
+}
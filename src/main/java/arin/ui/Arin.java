@@ -2,7 +2,11 @@ package arin.ui;
 
 import arin.ArinException;
 import arin.command.Command;
+import arin.storage.InMemoryTaskStore;
+import arin.storage.MappedTaskStore;
+import arin.storage.ShardedTaskStore;
 import arin.storage.Storage;
+import arin.storage.TaskStore;
 import arin.task.TaskList;
 
 /**
@@ -12,8 +16,10 @@ import arin.task.TaskList;
 public class Arin {
 
     private static final String FILE_PATH = "./data/arin.txt";
+    /** Selects the storage backend: "file" (the default), "mmap", "sharded" or "memory". */
+    private static final String STORE_PROPERTY = "arin.store";
     private final Ui ui;
-    private final Storage storage;
+    private final TaskStore storage;
     private final TaskList taskList;
 
     /**
@@ -22,11 +28,42 @@ public class Arin {
      * @param filePath The file path for storing task data.
      */
     public Arin(String filePath) {
-        this.storage = new Storage(filePath);
+        this(createStore(filePath));
+    }
+
+    /**
+     * Initializes the chatbot with the given storage backend.
+     *
+     * @param storage The store that holds the task data.
+     */
+    public Arin(TaskStore storage) {
+        this.storage = storage;
         this.taskList = new TaskList(storage.loadTasks());
+        taskList.reserveIds(storage.getLastTaskId());
         this.ui = new Ui(taskList, storage);
     }
 
+    /**
+     * Creates the storage backend selected by the "arin.store" system property.
+     *
+     * @param filePath The file path for storing task data.
+     * @return The task store.
+     */
+    private static TaskStore createStore(String filePath) {
+        switch (System.getProperty(STORE_PROPERTY, "file")) {
+        case "mmap":
+            return new MappedTaskStore(filePath);
+        case "sharded":
+            return new ShardedTaskStore(filePath);
+        case "memory":
+            return new InMemoryTaskStore();
+        default:
+            Storage storage = new Storage(filePath, true);
+            storage.enableWriteBehind();
+            return storage;
+        }
+    }
+
     /**
      * Sets the UI mode to GUI.
      */
@@ -63,6 +100,14 @@ public class Arin {
                 ui.showLine();
             }
         }
+        close();
+    }
+
+    /**
+     * Writes any pending saves and stops the storage's background threads.
+     */
+    public void close() {
+        storage.close();
     }
 
     /**
@@ -21,6 +21,11 @@ public class Main extends Application {
         this.arin.setGuiMode();
     }
 
+    @Override
+    public void stop() {
+        arin.close();
+    }
+
     @Override
     public void start(Stage stage) {
         try {
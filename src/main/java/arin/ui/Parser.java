@@ -1,11 +1,9 @@
 package arin.ui;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
-
 import arin.*;
 import arin.command.*;
+import arin.storage.Mutation;
+import arin.task.DateCodec;
 import arin.task.Deadline;
 import arin.task.Event;
 import arin.task.ToDo;
@@ -33,28 +31,39 @@ public class Parser {
             if (commandParts.length < 2 || commandParts[1].trim().isEmpty()) {
                 throw new ArinException("Invalid todo format! Use: todo <task description>");
             }
-            return new AddTaskCommand(new ToDo(commandParts[1]));
+            return new AddTaskCommand(new ToDo(checkDescription(commandParts[1])));
         case "deadline":
             return parseDeadlineCommand(commandParts);
         case "event":
             return parseEventCommand(commandParts);
         case "mark":
-            return new MarkTaskCommand(Integer.parseInt(commandParts[1]));
+            return isBulk(commandParts)
+                    ? new BulkTaskCommand(Mutation.Type.MARK, TaskSelector.parse(commandParts[1]))
+                    : new MarkTaskCommand(parseTarget(commandParts));
         case "unmark":
-            return new UnmarkTaskCommand(Integer.parseInt(commandParts[1]));
+            return isBulk(commandParts)
+                    ? new BulkTaskCommand(Mutation.Type.UNMARK, TaskSelector.parse(commandParts[1]))
+                    : new UnmarkTaskCommand(parseTarget(commandParts));
         case "delete":
-            return new DeleteTaskCommand(Integer.parseInt(commandParts[1]));
+            return isBulk(commandParts)
+                    ? new BulkTaskCommand(Mutation.Type.DELETE, TaskSelector.parse(commandParts[1]))
+                    : new DeleteTaskCommand(parseTarget(commandParts));
         case "list":
-            return new ListTasksCommand();
+            if (commandParts.length < 2 || commandParts[1].trim().isEmpty()) {
+                return new ListTasksCommand();
+            }
+            return TaskQueryParser.parse(commandParts[1]);
         case "find":
             if (commandParts.length < 2 || commandParts[1].trim().isEmpty()) {
-                throw new ArinException("Invalid find format! Use: find <keyword>");
+                throw new ArinException("Invalid find format! Use: find <keywords>");
             }
             return new FindCommand(commandParts[1]);
         case "upcoming":
             return parseUpcomingCommand(commandParts);
         case "sort":
             return parseSortCommand(commandParts);
+        case "conflicts":
+            return new ConflictsCommand();
         case "help":
             return new HelpCommand();
         case "bye":
@@ -64,6 +73,33 @@ public class Parser {
         }
     }
 
+    /**
+     * Checks whether a "mark", "unmark" or "delete" command selects several tasks
+     * rather than naming one.
+     *
+     * @param commandParts The parts of the command split by spaces.
+     * @return True if the command is followed by a {@link TaskSelector}.
+     */
+    private static boolean isBulk(String[] commandParts) {
+        return commandParts.length > 1 && !commandParts[1].trim().isEmpty()
+                && !TaskSelector.isSingleTask(commandParts[1]);
+    }
+
+    /**
+     * Parses the task a "mark", "unmark" or "delete" command refers to.
+     *
+     * @param commandParts The parts of the command split by spaces.
+     * @return The task number or "#" id given after the command word.
+     * @throws ArinException If no task, or a malformed one, is given.
+     */
+    private static TaskTarget parseTarget(String[] commandParts) throws ArinException {
+        if (commandParts.length < 2 || commandParts[1].trim().isEmpty()) {
+            throw new ArinException("Invalid format! Use: " + commandParts[0] + " <task number> or "
+                    + commandParts[0] + " #<task id>");
+        }
+        return TaskTarget.parse(commandParts[1]);
+    }
+
     /**
      * Parses the "upcoming" command and returns a FindUpcomingCommand.
      *
@@ -88,6 +124,20 @@ public class Parser {
         return new FindUpcomingCommand(days);
     }
 
+    /**
+     * Checks that a task description can be saved, since saved records separate their fields with "|".
+     *
+     * @param description The description given by the user.
+     * @return The description.
+     * @throws ArinException If the description contains "|".
+     */
+    private static String checkDescription(String description) throws ArinException {
+        if (description.indexOf('|') >= 0) {
+            throw new ArinException("Task descriptions cannot contain '|'.");
+        }
+        return description;
+    }
+
     /**
      * Parses the "deadline" command and returns an AddTaskCommand.
      *
@@ -105,13 +155,12 @@ public class Parser {
             throw new ArinException("Invalid deadline format! Use: deadline <task> /by yyyy-MM-dd HHmm (e.g., '2025-02-21 2359')");
         }
 
-        try {
-            LocalDateTime.parse(deadlineParts[1], DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm"));
-        } catch (DateTimeParseException e) {
+        long by = DateCodec.parse(deadlineParts[1]);
+        if (by == DateCodec.INVALID) {
             throw new ArinException("Invalid date format! Use: yyyy-MM-dd HHmm (e.g., '2025-02-21 2359')");
         }
 
-        return new AddTaskCommand(new Deadline(deadlineParts[0], deadlineParts[1]));
+        return new AddTaskCommand(new Deadline(checkDescription(deadlineParts[0]), by));
     }
 
     /**
@@ -137,10 +186,13 @@ public class Parser {
         }
 
         String description = input.substring(0, fromIndex).trim();
-        String from = input.substring(fromIndex + 6, toIndex).trim();
-        String to = input.substring(toIndex + 4).trim();
+        long from = DateCodec.parse(input.substring(fromIndex + 6, toIndex).trim());
+        long to = DateCodec.parse(input.substring(toIndex + 4).trim());
+        if (from == DateCodec.INVALID || to == DateCodec.INVALID) {
+            throw new ArinException("Invalid date format! Use: yyyy-MM-dd HHmm (e.g., '2025-03-05 1400')");
+        }
 
-        return new AddTaskCommand(new Event(description, from, to));
+        return new AddTaskCommand(new Event(checkDescription(description), from, to));
     }
 
     /**
@@ -2,7 +2,8 @@ package arin.ui;
 
 import arin.ArinException;
 import arin.command.Command;
-import arin.storage.Storage;
+import arin.storage.TaskStore;
+import arin.task.Event;
 import arin.task.Task;
 import arin.task.TaskList;
 import java.util.List;
@@ -14,7 +15,7 @@ import java.util.Scanner;
 public class Ui {
     private final Scanner scanner;
     private final TaskList taskList;
-    private final Storage storage;
+    private final TaskStore storage;
     private boolean isGuiMode = false;
     private String latestResponse = "";
 
@@ -24,7 +25,7 @@ public class Ui {
      * @param taskList The task list to operate on.
      * @param storage  The storage system.
      */
-    public Ui(TaskList taskList, Storage storage) {
+    public Ui(TaskList taskList, TaskStore storage) {
         this.scanner = new Scanner(System.in);
         this.taskList = taskList;
         this.storage = storage;
@@ -102,7 +103,26 @@ public class Ui {
      * @param task The task that was added.
      */
     public void showTaskAdded(Task task) {
-        String message = "Got it. I've added this task:\n   " + task;
+        showTaskAdded(task, List.of());
+    }
+
+    /**
+     * Displays a message indicating a task has been added, warning about any events it overlaps.
+     *
+     * @param task The task that was added.
+     * @param clashes The existing events the added task overlaps.
+     */
+    public void showTaskAdded(Task task, List<Task> clashes) {
+        StringBuilder messageBuilder = new StringBuilder("Got it. I've added this task:\n   ").append(withId(task));
+        if (!clashes.isEmpty()) {
+            messageBuilder.append("\nWarning: it overlaps ").append(clashes.size())
+                    .append(clashes.size() == 1 ? " event:" : " events:");
+            for (Task clash : clashes) {
+                messageBuilder.append("\n   ").append(clash);
+            }
+        }
+
+        String message = messageBuilder.toString();
         if (!isGuiMode) {
             System.out.println(message);
         }
@@ -144,6 +164,22 @@ public class Ui {
         latestResponse = message;
     }
 
+    /**
+     * Displays how many tasks a bulk command changed and how long it took.
+     *
+     * @param action What was done to the tasks, such as "Deleted".
+     * @param count The number of tasks changed.
+     * @param elapsedNanos The time the command took, including saving, in nanoseconds.
+     */
+    public void showBulkChange(String action, int count, long elapsedNanos) {
+        String message = String.format("%s: %d %s (took %.1f ms).",
+                action, count, count == 1 ? "task" : "tasks", elapsedNanos / 1_000_000.0);
+        if (!isGuiMode) {
+            System.out.println(message);
+        }
+        latestResponse = message;
+    }
+
     /**
      * Displays matching tasks found from a search query.
      *
@@ -157,7 +193,64 @@ public class Ui {
             messageBuilder.append("Here are the matching tasks in your list:\n");
             int index = 1;
             for (Task task : matchingTasks) {
-                messageBuilder.append(index).append(". ").append(task).append("\n");
+                messageBuilder.append(index).append(". ").append(withId(task)).append("\n");
+                index++;
+            }
+        }
+
+        String message = messageBuilder.toString().trim();
+        if (!isGuiMode) {
+            System.out.println(message);
+        }
+        latestResponse = message;
+    }
+
+    /**
+     * Displays the tasks a list query found, after the plan it followed if one is given.
+     *
+     * @param tasks The matching tasks, in the order of the query.
+     * @param plan The plan of the query, one step per line, or null to show only the tasks.
+     */
+    public void showQueryResult(List<Task> tasks, String plan) {
+        StringBuilder messageBuilder = new StringBuilder();
+        if (plan != null) {
+            messageBuilder.append("Query plan:\n");
+            for (String step : plan.split("\n")) {
+                messageBuilder.append("   ").append(step).append("\n");
+            }
+            messageBuilder.append("\n");
+        }
+        if (tasks.isEmpty()) {
+            messageBuilder.append("No matching tasks found.");
+        } else {
+            messageBuilder.append("Here are the tasks matching your query:\n");
+            for (int i = 0; i < tasks.size(); i++) {
+                messageBuilder.append(i + 1).append(". ").append(withId(tasks.get(i))).append("\n");
+            }
+        }
+
+        String message = messageBuilder.toString().trim();
+        if (!isGuiMode) {
+            System.out.println(message);
+        }
+        latestResponse = message;
+    }
+
+    /**
+     * Displays the pairs of events that overlap each other.
+     *
+     * @param conflicts The overlapping pairs, the earlier-starting event first.
+     */
+    public void showConflicts(List<Event[]> conflicts) {
+        StringBuilder messageBuilder = new StringBuilder();
+        if (conflicts.isEmpty()) {
+            messageBuilder.append("No overlapping events found.");
+        } else {
+            messageBuilder.append("Here are the overlapping events in your list:\n");
+            int index = 1;
+            for (Event[] conflict : conflicts) {
+                messageBuilder.append(index).append(". ").append(conflict[0]).append("\n")
+                        .append("   overlaps ").append(conflict[1]).append("\n");
                 index++;
             }
         }
@@ -206,7 +299,7 @@ public class Ui {
         } else {
             messageBuilder.append("Here are the tasks in your list:\n");
             for (int i = 0; i < tasks.size(); i++) {
-                messageBuilder.append(i + 1).append(". ").append(tasks.get(i)).append("\n");
+                messageBuilder.append(i + 1).append(". ").append(withId(tasks.get(i))).append("\n");
             }
         }
 
@@ -250,7 +343,7 @@ public class Ui {
 
             messageBuilder.append("Here are your tasks sorted by ").append(sortByText).append(":\n");
             for (int i = 0; i < tasks.size(); i++) {
-                messageBuilder.append(i + 1).append(". ").append(tasks.get(i)).append("\n");
+                messageBuilder.append(i + 1).append(". ").append(withId(tasks.get(i))).append("\n");
             }
         }
 
@@ -262,6 +355,16 @@ public class Ui {
         latestResponse = message;
     }
 
+    /**
+     * Formats a task followed by its id, which commands accept as "#id" in place of its number.
+     *
+     * @param task The task to format.
+     * @return The task and its id, or just the task if it is not in a task list.
+     */
+    private static String withId(Task task) {
+        return task.getId() > 0 ? task + " (#" + task.getId() + ")" : task.toString();
+    }
+
     /**
      * Displays the help message showing available commands.
      *
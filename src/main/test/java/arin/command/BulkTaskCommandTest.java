@@ -0,0 +1,158 @@
+package arin.command;
+
+import arin.ArinException;
+import arin.storage.MappedTaskStore;
+import arin.storage.ShardedTaskStore;
+import arin.storage.Storage;
+import arin.storage.TaskStore;
+import arin.task.Deadline;
+import arin.task.Event;
+import arin.task.Task;
+import arin.task.TaskList;
+import arin.task.ToDo;
+import arin.ui.Parser;
+import arin.ui.Ui;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BulkTaskCommandTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static ArrayList<Task> createTasks() {
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new ToDo("write report"));
+        tasks.add(new Deadline("submit report", "2024-12-20 2359"));
+        tasks.add(new Event("old conference", "2024-11-01 0900", "2024-11-02 1700"));
+        tasks.add(new Event("new conference", "2025-03-01 0900", "2025-03-02 1700"));
+        tasks.add(new ToDo("buy milk"));
+        tasks.add(new Event("reporting workshop", "2024-06-01 1000", "2024-06-01 1200"));
+        return tasks;
+    }
+
+    private static String run(String input, TaskList taskList, TaskStore store) throws ArinException {
+        Ui ui = new Ui(taskList, store);
+        ui.setGuiMode();
+        Parser.parse(input).execute(taskList, ui, store);
+        return ui.getLatestResponse();
+    }
+
+    private static List<String> descriptions(List<Task> tasks) {
+        return tasks.stream().map(Task::getDescription).collect(Collectors.toList());
+    }
+
+    @Test
+    public void mark_rangesAndNumbers_marksEachOnceAndReportsCount() throws ArinException {
+        Storage storage = new Storage(tempDir.resolve("arin.txt").toString());
+        TaskList taskList = new TaskList(createTasks());
+        taskList.markTaskAsDone(1);
+
+        String output = run("mark 1-3,5", taskList, storage);
+
+        assertTrue(output.startsWith("Marked as done: 3 tasks (took "), output);
+        assertEquals(List.of(true, true, true, false, true, false),
+                taskList.getTasks().stream().map(Task::isDone).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void unmark_findTerm_unmarksTasksWithTheWord() throws ArinException {
+        Storage storage = new Storage(tempDir.resolve("arin.txt").toString());
+        TaskList taskList = new TaskList(createTasks());
+        for (int i = 0; i < 6; i++) {
+            taskList.markTaskAsDone(i);
+        }
+
+        run("unmark find:report", taskList, storage);
+
+        // Matched as find matches them, so "reporting" is unmarked too.
+        assertEquals(List.of(false, false, true, true, true, false),
+                taskList.getTasks().stream().map(Task::isDone).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void delete_typeAndDate_deletesOnlyMatchingTasks() throws ArinException {
+        Storage storage = new Storage(tempDir.resolve("arin.txt").toString());
+        TaskList taskList = new TaskList(createTasks());
+
+        String output = run("delete type:event before:2025-01-01", taskList, storage);
+
+        assertTrue(output.startsWith("Deleted: 2 tasks"), output);
+        assertEquals(List.of("write report", "submit report", "new conference", "buy milk"),
+                descriptions(taskList.getTasks()));
+        assertEquals(List.of("write report", "submit report"), descriptions(taskList.findTasksWithWords("report")));
+    }
+
+    @Test
+    public void delete_findTerm_deletesWhatFindShows() throws ArinException {
+        Storage storage = new Storage(tempDir.resolve("arin.txt").toString());
+        TaskList taskList = new TaskList(createTasks());
+        taskList.addTask(new ToDo("buy notebook"));
+        taskList.addTask(new ToDo("read book"));
+        List<String> found = descriptions(taskList.findTasks("book"));
+
+        String output = run("delete find:book", taskList, storage);
+
+        assertTrue(output.startsWith("Deleted: 2 tasks"), output);
+        assertEquals(List.of("buy notebook", "read book"), found);
+        assertEquals(List.of(), taskList.findTasks("book"));
+    }
+
+    @Test
+    public void delete_idsAfterEarlierDeletes_keepPointingAtSameTasks() throws ArinException {
+        Storage storage = new Storage(tempDir.resolve("arin.txt").toString());
+        TaskList taskList = new TaskList(createTasks());
+
+        run("delete 1", taskList, storage);
+        run("delete #3,#5-6", taskList, storage);
+
+        assertEquals(List.of("submit report", "new conference"), descriptions(taskList.getTasks()));
+        assertThrows(ArinException.class, () -> run("delete #1,#2", taskList, storage));
+        assertThrows(ArinException.class, () -> run("mark 1-9", taskList, storage));
+    }
+
+    @Test
+    public void parse_unknownTerm_throwsException() {
+        assertThrows(ArinException.class, () -> Parser.parse("delete everything"));
+        assertThrows(ArinException.class, () -> Parser.parse("delete type:meeting"));
+        assertThrows(ArinException.class, () -> Parser.parse("delete before:2025-1-1"));
+        assertThrows(ArinException.class, () -> Parser.parse("mark 5-2"));
+    }
+
+    @Test
+    public void bulkChanges_inEveryStore_reloadAsTheTaskList() throws ArinException {
+        List<Function<String, TaskStore>> stores = List.of(
+                Storage::new,
+                path -> new Storage(path, true),
+                MappedTaskStore::new,
+                ShardedTaskStore::new);
+        int n = 0;
+        for (Function<String, TaskStore> createStore : stores) {
+            String path = tempDir.resolve("arin" + n++ + ".txt").toString();
+            TaskStore store = createStore.apply(path);
+            store.saveTasks(createTasks());
+            TaskList taskList = new TaskList(store.loadTasks());
+
+            run("mark 2-4,6", taskList, store);
+            run("delete done type:event", taskList, store);
+            run("unmark 1-2", taskList, store);
+            store.close();
+
+            List<String> expected = taskList.getTasks().stream().map(Task::toSaveString).collect(Collectors.toList());
+            List<String> reloaded = createStore.apply(path).loadTasks().stream()
+                    .map(Task::toSaveString).collect(Collectors.toList());
+            assertEquals(expected, reloaded, "Store " + n + " should reload the bulk changes");
+            assertEquals(List.of("write report", "submit report", "buy milk"), descriptions(taskList.getTasks()));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package arin.command;
+
+import arin.ArinException;
+import arin.storage.CompactionPolicy;
+import arin.storage.InMemoryTaskStore;
+import arin.storage.MappedTaskStore;
+import arin.storage.Storage;
+import arin.storage.TaskStore;
+import arin.task.TaskList;
+import arin.task.ToDo;
+import arin.ui.Ui;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Measures the cost of executing add, mark and delete commands against each storage backend.
+ * The in-memory backend shows the cost of the commands themselves without any disk I/O.
+ * Run with: java -cp <classpath> arin.command.CommandBenchmark [commands]
+ */
+public class CommandBenchmark {
+
+    private static final int DEFAULT_COMMANDS = 20_000;
+
+    public static void main(String[] args) throws IOException, ArinException {
+        int commands = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_COMMANDS;
+        System.out.printf("%-8s %14s%n", "store", "command (us)");
+        for (Map.Entry<String, Function<String, TaskStore>> entry : stores().entrySet()) {
+            Path dir = Files.createTempDirectory("arin-commands");
+            try {
+                TaskStore store = entry.getValue().apply(dir.resolve("arin.txt").toString());
+                System.out.printf("%-8s %14.2f%n", entry.getKey(), measure(store, commands));
+            } finally {
+                deleteRecursively(dir);
+            }
+        }
+    }
+
+    static Map<String, Function<String, TaskStore>> stores() {
+        Map<String, Function<String, TaskStore>> stores = new LinkedHashMap<>();
+        stores.put("memory", path -> new InMemoryTaskStore());
+        stores.put("file", path -> new Storage(path, CompactionPolicy.DEFAULT));
+        stores.put("mmap", path -> new MappedTaskStore(path));
+        return stores;
+    }
+
+    private static double measure(TaskStore store, int commands) throws ArinException {
+        TaskList taskList = new TaskList(store.loadTasks());
+        Ui ui = new Ui(taskList, store);
+        ui.setGuiMode();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < commands; i++) {
+            new AddTaskCommand(new ToDo("chore number " + i)).execute(taskList, ui, store);
+            new MarkTaskCommand(taskList.getTasks().size()).execute(taskList, ui, store);
+            if (i % 2 == 1) {
+                new DeleteTaskCommand(1).execute(taskList, ui, store);
+            }
+        }
+        store.close();
+        return (System.nanoTime() - start) / (commands * 1_000.0);
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+}
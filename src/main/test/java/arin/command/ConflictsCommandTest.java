@@ -0,0 +1,60 @@
+package arin.command;
+
+import arin.ArinException;
+import arin.storage.Storage;
+import arin.task.Event;
+import arin.task.Task;
+import arin.task.TaskList;
+import arin.task.ToDo;
+import arin.ui.Parser;
+import arin.ui.Ui;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConflictsCommandTest {
+    private Ui ui;
+    private TaskList taskList;
+    private Storage storage;
+
+    @BeforeEach
+    public void setUp(@TempDir Path tempDir) {
+        storage = new Storage(tempDir.resolve("test_arin.txt").toString());
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Event("team meeting", "2025-03-05 1400", "2025-03-05 1600"));
+        tasks.add(new Event("dentist", "2025-03-05 1500", "2025-03-05 1530"));
+        tasks.add(new Event("gym", "2025-03-05 1600", "2025-03-05 1700"));
+        tasks.add(new ToDo("read book"));
+
+        taskList = new TaskList(tasks);
+        ui = new Ui(taskList, storage);
+        ui.setGuiMode();
+    }
+
+    @Test
+    public void execute_overlappingEvents_listsOnlyOverlappingPairs() throws ArinException {
+        new ConflictsCommand().execute(taskList, ui, storage);
+
+        String output = ui.getLatestResponse();
+        assertTrue(output.contains("team meeting") && output.contains("overlaps [E][ ] dentist"),
+                "Output should pair the overlapping events");
+        assertFalse(output.contains("gym"), "Back-to-back events should not overlap");
+    }
+
+    @Test
+    public void addEvent_overlappingExistingEvent_warnsAndAdds() throws ArinException {
+        Parser.parse("event yoga /from 2025-03-05 1545 /to 2025-03-05 1615").execute(taskList, ui, storage);
+
+        String output = ui.getLatestResponse();
+        assertTrue(output.contains("Warning: it overlaps 2 events"), "Output should warn about the clashes");
+        assertTrue(output.contains("team meeting") && output.contains("gym"), "Output should list the clashes");
+        assertTrue(taskList.getTasks().get(4).getDescription().equals("yoga"), "The event should still be added");
+    }
+}
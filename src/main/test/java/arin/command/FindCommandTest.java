@@ -64,6 +64,37 @@ public class FindCommandTest {
                 "Output should indicate no matching tasks");
     }
 
+    @Test
+    public void execute_severalWords_showsTasksWithEveryWord() throws ArinException {
+        taskList.addTask(new ToDo("read notebook"));
+        taskList.addTask(new ToDo("Book a table, then read"));
+
+        new FindCommand("read book").execute(taskList, ui, storage);
+
+        String output = outputStream.toString();
+        assertTrue(output.contains("read book"), "Output should contain the task with both words");
+        assertTrue(output.contains("Book a table, then read"), "Words should match in any order and case");
+    }
+
+    @Test
+    public void execute_wordOfAnotherTask_stillMatchesInsideLongerWords() throws ArinException {
+        taskList.addTask(new ToDo("buy notebook"));
+
+        new FindCommand("book").execute(taskList, ui, storage);
+
+        String output = outputStream.toString();
+        assertTrue(output.contains("read book"), "Output should contain the task with the whole word");
+        assertTrue(output.contains("buy notebook"), "The keyword should match inside a longer word");
+        assertEquals(2, taskList.findTasks("book").size(), "find should match findTasks");
+    }
+
+    @Test
+    public void execute_partOfWord_fallsBackToSubstring() throws ArinException {
+        new FindCommand("stud").execute(taskList, ui, storage);
+
+        assertTrue(outputStream.toString().contains("study for exam"), "Output should contain the partial match");
+    }
+
     @Test
     public void isExit_returnsFalse() {
         FindCommand findCommand = new FindCommand("test");
@@ -0,0 +1,99 @@
+package arin.command;
+
+import arin.ArinException;
+import arin.storage.Storage;
+import arin.task.Deadline;
+import arin.task.Event;
+import arin.task.Task;
+import arin.task.TaskList;
+import arin.task.ToDo;
+import arin.ui.Parser;
+import arin.ui.Ui;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class QueryTasksCommandTest {
+    private Ui ui;
+    private TaskList taskList;
+    private Storage storage;
+
+    @BeforeEach
+    public void setUp(@TempDir Path tempDir) {
+        storage = new Storage(tempDir.resolve("test_arin.txt").toString());
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new ToDo("write report"));
+        tasks.add(new Deadline("submit report", "2025-01-20 2359"));
+        tasks.add(new Event("old conference", "2024-11-01 0900", "2024-11-02 1700"));
+        tasks.add(new Deadline("pay rent", "2025-01-01 1200"));
+        tasks.add(new ToDo("buy milk"));
+
+        taskList = new TaskList(tasks);
+        taskList.markTaskAsDone(3);
+        ui = new Ui(taskList, storage);
+        ui.setGuiMode();
+    }
+
+    private String run(String input) throws ArinException {
+        Parser.parse(input).execute(taskList, ui, storage);
+        return ui.getLatestResponse();
+    }
+
+    @Test
+    public void execute_andOrWithOrderAndLimit_listsMatchesInOrder() throws ArinException {
+        String output = run("list where (type:deadline or find:milk) and undone order by name desc limit 2");
+
+        assertEquals("Here are the tasks matching your query:\n"
+                + "1. [D][ ] submit report (by: Jan 20 2025 23:59) (#2)\n"
+                + "2. [ ] buy milk (#5)", output);
+    }
+
+    @Test
+    public void execute_dateRange_usesDateIndex() throws ArinException {
+        String output = run("list where after:2024-12-31 before:2025-01-21 order by date explain");
+
+        assertTrue(output.contains("Read 2 candidate(s) from (date index"), output);
+        assertTrue(output.indexOf("pay rent") < output.indexOf("submit report"), output);
+        assertFalse(output.contains("old conference"), output);
+    }
+
+    @Test
+    public void execute_notDone_scansOnce() throws ArinException {
+        String output = run("list where not done and not type:todo explain");
+
+        assertTrue(output.contains("Scan all 5 task(s)"), output);
+        assertTrue(output.contains("submit report") && output.contains("old conference"), output);
+        assertFalse(output.contains("pay rent"), output);
+    }
+
+    @Test
+    public void parse_malformedQueries_throwException() {
+        assertThrows(ArinException.class, () -> Parser.parse("list where"));
+        assertThrows(ArinException.class, () -> Parser.parse("list where (done"));
+        assertThrows(ArinException.class, () -> Parser.parse("list where done or"));
+        assertThrows(ArinException.class, () -> Parser.parse("list where colour:red"));
+        assertThrows(ArinException.class, () -> Parser.parse("list order name"));
+        assertThrows(ArinException.class, () -> Parser.parse("list limit -1"));
+        assertThrows(ArinException.class, () -> Parser.parse("list where done extra"));
+    }
+
+    @Test
+    public void parse_malformedTermValues_throwException() {
+        assertThrows(ArinException.class, () -> Parser.parse("list where type:chore"));
+        assertThrows(ArinException.class, () -> Parser.parse("list where before:2025-1-20"));
+        assertThrows(ArinException.class, () -> Parser.parse("list where after:tomorrow"));
+        assertThrows(ArinException.class, () -> Parser.parse("list where find:"));
+        assertThrows(ArinException.class, () -> Parser.parse("list order by colour"));
+        assertThrows(ArinException.class, () -> Parser.parse("list limit two"));
+        assertThrows(ArinException.class, () -> Parser.parse("list where done order by name sideways"));
+    }
+}
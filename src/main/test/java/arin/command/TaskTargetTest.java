@@ -0,0 +1,70 @@
+package arin.command;
+
+import arin.ArinException;
+import arin.storage.Storage;
+import arin.task.Task;
+import arin.task.TaskList;
+import arin.task.ToDo;
+import arin.ui.Parser;
+import arin.ui.Ui;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TaskTargetTest {
+    private Ui ui;
+    private TaskList taskList;
+    private Storage storage;
+
+    @BeforeEach
+    public void setUp(@TempDir Path tempDir) {
+        storage = new Storage(tempDir.resolve("test_arin.txt").toString());
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new ToDo("read book"));
+        tasks.add(new ToDo("buy milk"));
+        tasks.add(new ToDo("call mum"));
+
+        taskList = new TaskList(tasks);
+        ui = new Ui(taskList, storage);
+        ui.setGuiMode();
+    }
+
+    @Test
+    public void execute_idAfterEarlierDelete_stillFindsSameTask() throws ArinException {
+        Parser.parse("delete 1").execute(taskList, ui, storage);
+        Parser.parse("mark #3").execute(taskList, ui, storage);
+
+        assertTrue(ui.getLatestResponse().contains("call mum"), "The id should still name the same task");
+        assertTrue(taskList.getTask(1).isDone(), "The task should be marked as done");
+    }
+
+    @Test
+    public void execute_deletedId_throwsException() throws ArinException {
+        Parser.parse("delete #2").execute(taskList, ui, storage);
+
+        ArinException e = assertThrows(ArinException.class,
+                () -> Parser.parse("unmark #2").execute(taskList, ui, storage));
+        assertEquals("No task has the id #2.", e.getMessage());
+    }
+
+    @Test
+    public void parse_malformedReference_throwsException() {
+        assertThrows(ArinException.class, () -> Parser.parse("mark #x"));
+        assertThrows(ArinException.class, () -> Parser.parse("delete"));
+    }
+
+    @Test
+    public void execute_list_showsIds() throws ArinException {
+        Parser.parse("list").execute(taskList, ui, storage);
+
+        assertTrue(ui.getLatestResponse().contains("2. [ ] buy milk (#2)"), "The list should show each task's id");
+    }
+}
@@ -0,0 +1,74 @@
+package arin.storage;
+
+import arin.task.TaskList;
+import arin.task.ToDo;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Measures the cost of each fsync policy for journal appends and full snapshot saves.
+ * Run with: java -cp <classpath> arin.storage.FsyncPolicyBenchmark [appends]
+ */
+public class FsyncPolicyBenchmark {
+
+    private static final int DEFAULT_APPENDS = 2_000;
+    private static final int SNAPSHOT_TASKS = 10_000;
+    private static final int SNAPSHOT_ROUNDS = 20;
+
+    public static void main(String[] args) throws IOException {
+        int appends = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_APPENDS;
+        System.out.printf("%-8s %14s %14s%n", "policy", "append (us)", "snapshot (ms)");
+        for (FsyncPolicy policy : FsyncPolicy.values()) {
+            Path dir = Files.createTempDirectory("arin-fsync");
+            try {
+                double append = measureAppends(dir.resolve("journal.txt").toString(), policy, appends);
+                double snapshot = measureSnapshots(dir.resolve("snapshot.txt").toString(), policy);
+                System.out.printf("%-8s %14.1f %14.1f%n", policy, append, snapshot);
+            } finally {
+                deleteRecursively(dir);
+            }
+        }
+    }
+
+    private static double measureAppends(String path, FsyncPolicy policy, int appends) {
+        Storage storage = new Storage(path, CompactionPolicy.NEVER);
+        storage.setFsyncPolicy(policy);
+        TaskList taskList = new TaskList(storage.loadTasks());
+
+        long start = System.nanoTime();
+        for (int i = 0; i < appends; i++) {
+            ToDo task = new ToDo("chore number " + i);
+            taskList.addTask(task);
+            storage.appendMutation(Mutation.add(task), taskList);
+        }
+        storage.close();
+        return (System.nanoTime() - start) / (appends * 1_000.0);
+    }
+
+    private static double measureSnapshots(String path, FsyncPolicy policy) {
+        Storage storage = new Storage(path);
+        storage.setFsyncPolicy(policy);
+        TaskList taskList = new TaskList(storage.loadTasks());
+        for (int i = 0; i < SNAPSHOT_TASKS; i++) {
+            taskList.addTask(new ToDo("chore number " + i));
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < SNAPSHOT_ROUNDS; i++) {
+            storage.saveTasks(taskList.getTasks());
+        }
+        return (System.nanoTime() - start) / (SNAPSHOT_ROUNDS * 1_000_000.0);
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package arin.storage;
+
+import arin.task.TaskList;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Compares saving a single mark by rewriting the whole save file against patching the record in place.
+ * Run with: java -cp <classpath> arin.storage.IncrementalSaveBenchmark [tasks]
+ */
+public class IncrementalSaveBenchmark {
+
+    private static final int DEFAULT_TASKS = 100_000;
+    private static final int ROUNDS = 200;
+
+    public static void main(String[] args) throws IOException {
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TASKS;
+        Path file = Files.createTempFile("arin-incremental", ".txt");
+        try {
+            TaskLoaderBenchmark.writeSaveFile(file.toFile(), taskCount);
+            Storage storage = new Storage(file.toString());
+            storage.setFsyncPolicy(FsyncPolicy.NEVER);
+            TaskList taskList = new TaskList(storage.loadTasks());
+            storage.saveTasks(taskList.getTasks());
+
+            long start = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) {
+                taskList.markTaskAsDone(i * 7 % taskCount);
+                storage.saveTasks(taskList.getTasks());
+            }
+            double full = (System.nanoTime() - start) / (ROUNDS * 1_000.0);
+
+            start = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) {
+                int index = i * 7 % taskCount;
+                taskList.markTaskAsNotDone(index);
+                storage.appendMutation(Mutation.unmark(index, taskList.getTask(index).getId()), taskList);
+            }
+            double inPlace = (System.nanoTime() - start) / (ROUNDS * 1_000.0);
+
+            System.out.printf("%,d tasks, %,d bytes%n", taskCount, new File(file.toString()).length());
+            System.out.printf("%-10s %12.1f us%n", "full", full);
+            System.out.printf("%-10s %12.1f us%n", "in-place", inPlace);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
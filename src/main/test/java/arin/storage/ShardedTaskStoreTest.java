@@ -0,0 +1,122 @@
+package arin.storage;
+
+import arin.task.Deadline;
+import arin.task.Event;
+import arin.task.TaskList;
+import arin.task.ToDo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+
+import static arin.storage.StorageTest.addTask;
+import static arin.storage.StorageTest.applyRandomChanges;
+import static arin.storage.StorageTest.deleteTask;
+import static arin.storage.StorageTest.toSaveStrings;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the date-sharded task store.
+ */
+public class ShardedTaskStoreTest {
+
+    private Path tempDir;
+
+    @BeforeEach
+    public void setUp(@TempDir Path tempDir) {
+        this.tempDir = tempDir;
+    }
+
+    @Test
+    public void loadTasks_afterRandomChanges_keepsListOrder() {
+        String path = tempDir.resolve("arin.txt").toString();
+        ShardedTaskStore store = new ShardedTaskStore(path);
+        TaskList taskList = new TaskList(store.loadTasks());
+
+        applyRandomChanges(store, taskList, new Random(4), 500);
+
+        assertEquals(toSaveStrings(taskList.getTasks()), toSaveStrings(new ShardedTaskStore(path).loadTasks()));
+    }
+
+    @Test
+    public void appendMutation_rewritesOnlyTheChangedShard() throws Exception {
+        String path = tempDir.resolve("arin.txt").toString();
+        ShardedTaskStore store = new ShardedTaskStore(path);
+        TaskList taskList = new TaskList(store.loadTasks());
+        addTask(store, taskList, new ToDo("read book"));
+        addTask(store, taskList, new Deadline("return book", "2025-06-06 1200"));
+        addTask(store, taskList, new Event("book club", "2025-07-10 1800", "2025-07-10 2000"));
+        File june = tempDir.resolve("arin.txt.shards").resolve("2025-06.txt").toFile();
+        List<String> julyBefore = Files.readAllLines(tempDir.resolve("arin.txt.shards").resolve("2025-07.txt"));
+        int writes = store.getShardWriteCount();
+
+        taskList.markTaskAsDone(1);
+        store.appendMutation(Mutation.mark(1, taskList.getTask(1).getId()), taskList);
+
+        assertEquals(writes + 1, store.getShardWriteCount(), "Only one shard should be written");
+        assertTrue(Files.readString(june.toPath()).contains("D | 1 | return book"));
+        assertEquals(julyBefore, Files.readAllLines(tempDir.resolve("arin.txt.shards").resolve("2025-07.txt")));
+
+        deleteTask(store, taskList, 1);
+        assertFalse(june.exists(), "An emptied shard should be removed");
+    }
+
+    @Test
+    public void loadTasksBetween_readsOnlyMatchingMonths() {
+        String path = tempDir.resolve("arin.txt").toString();
+        ShardedTaskStore store = new ShardedTaskStore(path);
+        TaskList taskList = new TaskList(store.loadTasks());
+        addTask(store, taskList, new ToDo("read book"));
+        addTask(store, taskList, new Deadline("old report", "2024-01-15 1200"));
+        addTask(store, taskList, new Deadline("return book", "2025-06-06 1200"));
+        addTask(store, taskList, new Event("book club", "2025-06-20 1800", "2025-06-20 2000"));
+        addTask(store, taskList, new Deadline("tax", "2025-07-31 2359"));
+
+        List<String> matching = toSaveStrings(store.loadTasksBetween(
+                LocalDateTime.of(2025, 6, 10, 0, 0), LocalDateTime.of(2025, 8, 1, 0, 0)));
+
+        assertEquals(List.of("E | 0 | book club | 2025-06-20 1800 | 2025-06-20 2000",
+                "D | 0 | tax | 2025-07-31 2359"), matching);
+    }
+
+    @Test
+    public void loadTasks_existingSingleFile_isSplitIntoShards() throws Exception {
+        Path file = tempDir.resolve("arin.txt");
+        Files.write(file, List.of("T | 0 | read book", "D | 1 | return book | 2025-06-06 1200",
+                "E | 0 | book club | 2025-07-10 1800 | 2025-07-10 2000"));
+
+        List<String> loaded = toSaveStrings(new ShardedTaskStore(file.toString()).loadTasks());
+
+        assertEquals(Files.readAllLines(file), loaded);
+        assertEquals(loaded, toSaveStrings(new ShardedTaskStore(file.toString()).loadTasks()));
+        assertEquals(3, tempDir.resolve("arin.txt.shards").toFile().list().length);
+    }
+
+    @Test
+    public void loadTasks_singleFileChangesOnlyInJournal_areMigratedWithTheirIds() {
+        String path = tempDir.resolve("arin.txt").toString();
+        Storage storage = new Storage(path, CompactionPolicy.NEVER);
+        TaskList taskList = new TaskList(storage.loadTasks());
+        addTask(storage, taskList, new ToDo("read book"));
+        addTask(storage, taskList, new ToDo("buy milk"));
+        addTask(storage, taskList, new ToDo("call mum"));
+        deleteTask(storage, taskList, 2);
+        storage.close();
+
+        ShardedTaskStore store = new ShardedTaskStore(path);
+        TaskList migrated = new TaskList(store.loadTasks());
+        migrated.reserveIds(store.getLastTaskId());
+        assertEquals(List.of("T | 0 | read book", "T | 0 | buy milk"), toSaveStrings(migrated.getTasks()));
+
+        addTask(store, migrated, new ToDo("water plants"));
+        assertEquals(4, migrated.getTask(2).getId(), "The id of the deleted task should not be reused");
+    }
+}
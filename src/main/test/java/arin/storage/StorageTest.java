@@ -0,0 +1,520 @@
+package arin.storage;
+
+import arin.task.Deadline;
+import arin.task.Event;
+import arin.task.ParseErrors;
+import arin.task.ParseErrors.Reason;
+import arin.task.Task;
+import arin.task.TaskList;
+import arin.task.ToDo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for journaled storage and journal compaction.
+ */
+public class StorageTest {
+
+    private Path tempDir;
+
+    @BeforeEach
+    public void setUp(@TempDir Path tempDir) {
+        this.tempDir = tempDir;
+    }
+
+    @Test
+    public void loadTasks_afterJournaledChanges_replaysJournal() {
+        String path = tempDir.resolve("arin.txt").toString();
+        Storage storage = new Storage(path, CompactionPolicy.NEVER);
+        TaskList taskList = new TaskList(storage.loadTasks());
+
+        addTask(storage, taskList, new ToDo("read book"));
+        addTask(storage, taskList, new Deadline("return book", "2025-06-06 1200"));
+        taskList.markTaskAsDone(1);
+        storage.appendMutation(Mutation.mark(1, taskList.getTask(1).getId()), taskList);
+        deleteTask(storage, taskList, 0);
+
+        assertFalse(new File(path).exists(), "Snapshot should not be written in journaled mode");
+        assertEquals(toSaveStrings(taskList.getTasks()), toSaveStrings(new Storage(path, true).loadTasks()));
+    }
+
+    @Test
+    public void compact_afterRandomChanges_matchesFullReplay() throws Exception {
+        String path = tempDir.resolve("arin.txt").toString();
+        Storage storage = new Storage(path, CompactionPolicy.NEVER);
+        TaskList taskList = new TaskList(storage.loadTasks());
+        applyRandomChanges(storage, taskList, new Random(42), 500);
+
+        List<String> fullReplay = toSaveStrings(new Storage(path, true).loadTasks());
+
+        storage.compact();
+
+        assertEquals(0, Files.size(Path.of(path + ".log")), "Compaction should truncate the journal");
+        assertEquals(fullReplay, toSaveStrings(new Storage(path, true).loadTasks()));
+        assertEquals(toSaveStrings(taskList.getTasks()), fullReplay);
+    }
+
+    @Test
+    public void compact_thenMoreChanges_snapshotPlusJournalMatchesTaskList() {
+        String path = tempDir.resolve("arin.txt").toString();
+        Storage storage = new Storage(path, CompactionPolicy.NEVER);
+        TaskList taskList = new TaskList(storage.loadTasks());
+        Random random = new Random(7);
+
+        applyRandomChanges(storage, taskList, random, 300);
+        storage.compact();
+        applyRandomChanges(storage, taskList, random, 300);
+
+        assertEquals(toSaveStrings(taskList.getTasks()), toSaveStrings(new Storage(path, true).loadTasks()));
+    }
+
+    @Test
+    public void compact_whileBackgroundCompactionsRun_keepsEveryChange() {
+        String path = tempDir.resolve("arin.txt").toString();
+        Storage storage = new Storage(path, new CompactionPolicy(Long.MAX_VALUE, 20));
+        TaskList taskList = new TaskList(storage.loadTasks());
+        Random random = new Random(11);
+
+        for (int i = 0; i < 30; i++) {
+            applyRandomChanges(storage, taskList, random, 25);
+            storage.compact();
+        }
+        storage.close();
+
+        assertEquals(toSaveStrings(taskList.getTasks()), toSaveStrings(new Storage(path, true).loadTasks()));
+    }
+
+    @Test
+    public void appendMutation_pastThreshold_compactsInBackground() throws Exception {
+        String path = tempDir.resolve("arin.txt").toString();
+        Storage storage = new Storage(path, new CompactionPolicy(Long.MAX_VALUE, 50));
+        TaskList taskList = new TaskList(storage.loadTasks());
+
+        applyRandomChanges(storage, taskList, new Random(3), 60);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!new File(path).exists() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        storage.close();
+
+        assertTrue(new File(path).exists(), "Background compaction should write a snapshot");
+        assertEquals(toSaveStrings(taskList.getTasks()), toSaveStrings(new Storage(path, true).loadTasks()));
+    }
+
+    @Test
+    public void mappedLoader_withInvalidLines_matchesScannerLoader() throws Exception {
+        File file = tempDir.resolve("arin.txt").toFile();
+        Files.write(file.toPath(), List.of(
+                "T | 1 | read this",
+                "D | 0 | proj | 2025-03-15 2359",
+                "E | 0 | team meeting | 2025-02-25 1400 | 2025-02-25 1600",
+                "D | 0 | missing date",
+                "X | 0 | unknown type",
+                "D | 1 | leap day | 2025-02-30 0900",
+                "T | 0 | caf\u00e9 | extra field",
+                "garbage"));
+
+        List<String> expected = toSaveStrings(new ScannerTaskLoader().load(file));
+
+        assertEquals(5, expected.size());
+        assertEquals(expected, toSaveStrings(new MappedTaskLoader().load(file)));
+    }
+
+    @Test
+    public void loaders_withInvalidLines_countSameErrorsByReason() throws Exception {
+        File file = tempDir.resolve("arin.txt").toFile();
+        Files.write(file.toPath(), List.of(
+                "T | 0 | read book",
+                "D | 0 | missing date",
+                "X | 0 | unknown type",
+                "D | 0 | bad month | 2025-13-01 0900",
+                "E | 0 | bad time | 2025-02-25 2400 | 2025-02-25 1600",
+                "garbage"));
+
+        for (TaskLoader loader : TaskLoaderBenchmark.loaders().values()) {
+            ParseErrors errors = new ParseErrors();
+            assertEquals(1, loader.load(file, errors).size());
+            assertEquals(5, errors.getTotal());
+            assertEquals(1, errors.getCount(Reason.MISSING_DATE));
+            assertEquals(1, errors.getCount(Reason.UNKNOWN_TYPE));
+            assertEquals(2, errors.getCount(Reason.INVALID_DATE));
+            assertEquals(1, errors.getCount(Reason.INVALID_FORMAT));
+            assertEquals("D | 0 | bad month | 2025-13-01 0900", errors.getExample(Reason.INVALID_DATE));
+        }
+    }
+
+    @Test
+    public void parallelLoader_smallChunks_matchesSerialLoadInOrder() throws Exception {
+        File file = tempDir.resolve("arin.txt").toFile();
+        TaskLoaderBenchmark.writeSaveFile(file, 5_000);
+        Files.write(file.toPath(), List.of("not a task", "D | 0 | missing date"), StandardOpenOption.APPEND);
+
+        List<String> expected = toSaveStrings(new MappedTaskLoader().load(file));
+        ParallelTaskLoader loader = new ParallelTaskLoader(new ForkJoinPool(4), 64);
+
+        assertEquals(5_000, expected.size());
+        assertEquals(expected, toSaveStrings(loader.load(file)));
+    }
+
+    @Test
+    public void convert_textToBinaryAndBack_preservesTasks() throws Exception {
+        File text = tempDir.resolve("arin.txt").toFile();
+        File binary = tempDir.resolve("arin.bin").toFile();
+        File roundTrip = tempDir.resolve("arin-copy.txt").toFile();
+        TaskLoaderBenchmark.writeSaveFile(text, 300);
+
+        assertEquals(300, Storage.convert(text.toString(), binary.toString(), SaveFormat.BINARY));
+        assertTrue(BinaryTaskCodec.isBinary(binary), "Converted file should be detected as binary");
+        assertTrue(binary.length() < text.length(), "Binary file should be smaller than the text file");
+
+        Storage.convert(binary.toString(), roundTrip.toString(), SaveFormat.TEXT);
+
+        assertFalse(BinaryTaskCodec.isBinary(roundTrip), "Converted file should be detected as text");
+        List<String> roundTripRecords = Files.readAllLines(roundTrip.toPath()).stream()
+                .map(RecordChecksum::strip)
+                .collect(Collectors.toList());
+        assertEquals(Files.readAllLines(text.toPath()), roundTripRecords);
+    }
+
+    @Test
+    public void loadTasks_binarySnapshotWithJournal_keepsBinaryFormat() throws Exception {
+        String path = tempDir.resolve("arin.txt").toString();
+        Files.write(Path.of(path), List.of("T | 0 | read book", "D | 1 | return book | 2025-06-06 1200"));
+        Storage.convert(path, path, SaveFormat.BINARY);
+
+        Storage storage = new Storage(path, CompactionPolicy.NEVER);
+        TaskList taskList = new TaskList(storage.loadTasks());
+        assertEquals(SaveFormat.BINARY, storage.getSaveFormat());
+
+        addTask(storage, taskList, new Event("book club", "2025-06-10 1800", "2025-06-10 2000"));
+        storage.compact();
+
+        assertTrue(BinaryTaskCodec.isBinary(new File(path)), "Compaction should keep the binary format");
+        assertEquals(toSaveStrings(taskList.getTasks()), toSaveStrings(new Storage(path, true).loadTasks()));
+    }
+
+    @Test
+    public void flush_withWriteBehind_writesQueuedChanges() {
+        String path = tempDir.resolve("arin.txt").toString();
+        Storage storage = new Storage(path, CompactionPolicy.NEVER);
+        storage.enableWriteBehind();
+        TaskList taskList = new TaskList(storage.loadTasks());
+
+        applyRandomChanges(storage, taskList, new Random(11), 200);
+        storage.flush();
+
+        assertEquals(0, storage.getPendingWriteCount(), "Flush should drain the queue");
+        assertTrue(storage.getLastFlushLatencyNanos() > 0, "Flush latency should be recorded");
+        assertEquals(toSaveStrings(taskList.getTasks()), toSaveStrings(new Storage(path, true).loadTasks()));
+        storage.close();
+    }
+
+    @Test
+    public void close_withWriteBehindSnapshots_writesLatestSnapshot() {
+        String path = tempDir.resolve("arin.txt").toString();
+        Storage storage = new Storage(path);
+        storage.enableWriteBehind();
+        TaskList taskList = new TaskList(storage.loadTasks());
+
+        applyRandomChanges(storage, taskList, new Random(5), 200);
+        storage.close();
+
+        assertEquals(toSaveStrings(taskList.getTasks()), toSaveStrings(new Storage(path).loadTasks()));
+    }
+
+    @Test
+    public void saveTasks_withWriteBehind_writesTasksAsTheyWereWhenSaved() {
+        String path = tempDir.resolve("arin.txt").toString();
+        Storage storage = new Storage(path);
+        storage.enableWriteBehind();
+        TaskList taskList = new TaskList(new ArrayList<>(), false, true);
+        for (int i = 0; i < 1_000; i++) {
+            taskList.addTask(new ToDo("task " + i));
+        }
+        storage.saveTasks(taskList.getTasks());
+        List<String> saved = toSaveStrings(taskList.getTasks());
+
+        // Deleting most tasks compacts the description arena while the snapshot may still be queued.
+        for (int i = 0; i < 900; i++) {
+            taskList.markTaskAsDone(0);
+            taskList.deleteTask(0);
+        }
+        storage.close();
+
+        assertEquals(saved, toSaveStrings(new Storage(path).loadTasks()));
+    }
+
+    @Test
+    public void loadTasks_corruptedSnapshotLine_skipsOnlyThatTask() throws Exception {
+        String path = tempDir.resolve("arin.txt").toString();
+        Storage storage = new Storage(path);
+        TaskList taskList = new TaskList(storage.loadTasks());
+        taskList.addTask(new ToDo("read book"));
+        taskList.addTask(new Deadline("return book", "2025-06-06 1200"));
+        taskList.addTask(new ToDo("buy milk"));
+        storage.saveTasks(taskList.getTasks());
+
+        List<String> lines = Files.readAllLines(Path.of(path));
+        lines.set(1, lines.get(1).replace("return", "retvrn"));
+        Files.write(Path.of(path), lines);
+
+        assertEquals(List.of("T | 0 | read book", "T | 0 | buy milk"),
+                toSaveStrings(new Storage(path).loadTasks()));
+        assertEquals(2, new MappedTaskLoader().load(new File(path)).size());
+    }
+
+    @Test
+    public void loadTasks_tornJournalTail_keepsEarlierRecords() throws Exception {
+        String path = tempDir.resolve("arin.txt").toString();
+        Storage storage = new Storage(path, CompactionPolicy.NEVER);
+        storage.setFsyncPolicy(FsyncPolicy.ALWAYS);
+        TaskList taskList = new TaskList(storage.loadTasks());
+        addTask(storage, taskList, new ToDo("read book"));
+        addTask(storage, taskList, new ToDo("buy milk"));
+
+        // Simulate a crash part-way through appending the second record.
+        Path journal = Path.of(path + ".log");
+        byte[] bytes = Files.readAllBytes(journal);
+        Files.write(journal, Arrays.copyOf(bytes, bytes.length - 6));
+
+        assertEquals(List.of("T | 0 | read book"), toSaveStrings(new Storage(path, true).loadTasks()));
+    }
+
+    @Test
+    public void loadTasks_failedJournalRecord_stopsReplayAndKeepsLaterChanges() throws Exception {
+        String path = tempDir.resolve("arin.txt").toString();
+        Storage storage = new Storage(path, CompactionPolicy.NEVER);
+        TaskList taskList = new TaskList(storage.loadTasks());
+        addTask(storage, taskList, new ToDo("read book"));
+        addTask(storage, taskList, new ToDo("buy milk"));
+        storage.close();
+
+        // A record that cannot be read back, then a delete that may have depended on it.
+        Files.write(Path.of(path + ".log"), List.of(RecordChecksum.append("A | D | 0 | pay a | b | 2030-01-01 1000"),
+                RecordChecksum.append("X | id:1")), StandardOpenOption.APPEND);
+
+        Storage reloaded = new Storage(path, CompactionPolicy.NEVER);
+        TaskList reloadedList = new TaskList(reloaded.loadTasks());
+        assertEquals(List.of("T | 0 | read book", "T | 0 | buy milk"), toSaveStrings(reloadedList.getTasks()));
+        assertTrue(new File(path + ".log.failed").exists(), "The journal that failed should be kept");
+
+        addTask(reloaded, reloadedList, new ToDo("call mum"));
+        assertEquals(toSaveStrings(reloadedList.getTasks()), toSaveStrings(new Storage(path, true).loadTasks()));
+    }
+
+    @Test
+    public void mutationRecords_nameTasksById_andStillReadIndexRecords() {
+        assertEquals("M | id:7", Mutation.mark(2, 7).toRecord());
+        assertEquals("X | id:7", Mutation.delete(2, 7).toRecord());
+
+        ArrayList<Task> tasks = new ArrayList<>(List.of(new ToDo("read book"), new ToDo("buy milk")));
+        Mutation.parseRecord("X | 0").applyTo(tasks);
+        assertEquals(List.of("T | 0 | buy milk"), toSaveStrings(tasks));
+    }
+
+    @Test
+    public void saveTasks_interruptedEarlierSave_keepsOldSnapshotAndLeavesNoTempFile() throws Exception {
+        String path = tempDir.resolve("arin.txt").toString();
+        Storage storage = new Storage(path);
+        TaskList taskList = new TaskList(storage.loadTasks());
+        taskList.addTask(new ToDo("read book"));
+        storage.saveTasks(taskList.getTasks());
+
+        // A crash while writing the next snapshot leaves only a partial temporary file behind.
+        Files.write(Path.of(path + ".new"), List.of("T | 0 | half writ"));
+
+        assertEquals(List.of("T | 0 | read book"), toSaveStrings(new Storage(path).loadTasks()));
+        assertFalse(new File(path + ".new").exists(), "Loading should discard the partial snapshot");
+    }
+
+    @Test
+    public void loadTasks_crashAfterSnapshotSwap_doesNotReplayOldJournal() throws Exception {
+        String path = tempDir.resolve("arin.txt").toString();
+        Storage storage = new Storage(path, CompactionPolicy.NEVER);
+        TaskList taskList = new TaskList(storage.loadTasks());
+        addTask(storage, taskList, new ToDo("read book"));
+        addTask(storage, taskList, new ToDo("buy milk"));
+        byte[] journal = Files.readAllBytes(Path.of(path + ".log"));
+        storage.saveTasks(taskList.getTasks());
+
+        // A crash after the new snapshot was swapped in, before the renamed journal was deleted.
+        Files.write(Path.of(path + ".log.old"), journal);
+
+        assertEquals(List.of("T | 0 | read book", "T | 0 | buy milk"),
+                toSaveStrings(new Storage(path, true).loadTasks()));
+        assertFalse(new File(path + ".log.old").exists(), "The contained journal should be dropped");
+    }
+
+    @Test
+    public void loadTasks_crashBeforeSnapshotSwap_restoresJournal() throws Exception {
+        String path = tempDir.resolve("arin.txt").toString();
+        Storage storage = new Storage(path, CompactionPolicy.NEVER);
+        TaskList taskList = new TaskList(storage.loadTasks());
+        addTask(storage, taskList, new ToDo("read book"));
+
+        // A crash after the journal was renamed aside, before the new snapshot was swapped in.
+        Files.move(Path.of(path + ".log"), Path.of(path + ".log.old"));
+        Files.write(Path.of(path + ".new"), List.of("T | 0 | read book"));
+
+        assertEquals(List.of("T | 0 | read book"), toSaveStrings(new Storage(path, true).loadTasks()));
+        assertTrue(new File(path + ".log").exists(), "The journal should be put back");
+    }
+
+    @Test
+    public void saveTasks_withoutJournal_dropsJournalOfEarlierJournaledRun() {
+        String path = tempDir.resolve("arin.txt").toString();
+        Storage journaled = new Storage(path, CompactionPolicy.NEVER);
+        TaskList taskList = new TaskList(journaled.loadTasks());
+        addTask(journaled, taskList, new ToDo("read book"));
+        journaled.close();
+
+        Storage storage = new Storage(path);
+        taskList = new TaskList(storage.loadTasks());
+        addTask(storage, taskList, new ToDo("buy milk"));
+
+        assertFalse(new File(path + ".log").exists(), "A full save should drop the replayed journal");
+        assertEquals(List.of("T | 0 | read book", "T | 0 | buy milk"),
+                toSaveStrings(new Storage(path, true).loadTasks()));
+    }
+
+    @Test
+    public void binaryLoad_corruptedRecord_skipsOnlyThatTask() throws Exception {
+        File file = tempDir.resolve("arin.bin").toFile();
+        List<Task> tasks = List.of(new ToDo("read book"), new ToDo("return book"), new ToDo("buy milk"));
+        BinaryTaskCodec.save(file, tasks);
+
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        String contents = new String(bytes, StandardCharsets.ISO_8859_1);
+        bytes[contents.indexOf("return")] = 'X';
+        Files.write(file.toPath(), bytes);
+
+        assertEquals(List.of("T | 0 | read book", "T | 0 | buy milk"),
+                toSaveStrings(new BinaryTaskCodec().load(file)));
+    }
+
+    @Test
+    public void binaryLoad_withMappedDescriptions_matchesCopiedDescriptions() throws Exception {
+        File file = tempDir.resolve("arin.bin").toFile();
+        TaskLoaderBenchmark.writeSaveFile(new File(tempDir.resolve("arin.txt").toString()), 1_000);
+        ArrayList<Task> tasks = new Storage(tempDir.resolve("arin.txt").toString()).loadTasks();
+        tasks.add(new ToDo("café Ärger"));
+        BinaryTaskCodec.save(file, tasks);
+
+        TaskList mapped = new TaskList(new BinaryTaskCodec(true).load(file), false, true);
+        assertEquals(toSaveStrings(new BinaryTaskCodec(false).load(file)), toSaveStrings(mapped.getTasks()));
+        assertEquals(0, mapped.getDescriptionArena().getUsedBytes(), "Mapped descriptions should not be copied");
+
+        mapped.deleteTask(0);
+        mapped.addTask(new ToDo("return book"));
+        assertEquals(1, mapped.findTasks("ärger").size());
+        assertEquals("return book", mapped.getTask(mapped.getTasks().size() - 1).getDescription());
+    }
+
+    @Test
+    public void appendMutation_withoutJournal_patchesSnapshotInPlace() throws Exception {
+        String path = tempDir.resolve("arin.txt").toString();
+        TaskLoaderBenchmark.writeSaveFile(new File(path), 1_000);
+        Storage storage = new Storage(path);
+        TaskList taskList = new TaskList(storage.loadTasks());
+        storage.saveTasks(taskList.getTasks());
+        byte[] before = Files.readAllBytes(Path.of(path));
+
+        taskList.markTaskAsNotDone(501);
+        storage.appendMutation(Mutation.unmark(501, taskList.getTask(501).getId()), taskList);
+
+        byte[] after = Files.readAllBytes(Path.of(path));
+        assertEquals(before.length, after.length, "Marking should not change the file size");
+        int firstDifference = Arrays.mismatch(before, after);
+        int lastDifference = before.length - 1;
+        while (before[lastDifference] == after[lastDifference]) {
+            lastDifference--;
+        }
+        String changed = new String(after, firstDifference, lastDifference - firstDifference + 1,
+                StandardCharsets.UTF_8);
+        assertFalse(changed.contains(System.lineSeparator()), "Only one record should be rewritten");
+        assertTrue(taskList.getChanges().isEmpty(), "Saved changes should be cleared");
+        assertEquals(toSaveStrings(taskList.getTasks()), toSaveStrings(new Storage(path).loadTasks()));
+    }
+
+    @Test
+    public void appendMutation_withoutJournal_randomChangesMatchTaskList() throws Exception {
+        String path = tempDir.resolve("arin.txt").toString();
+        Files.write(Path.of(path), List.of("T | 0 | read book", "garbage", "T | 1 | buy milk"));
+        Storage storage = new Storage(path);
+        TaskList taskList = new TaskList(storage.loadTasks());
+
+        applyRandomChanges(storage, taskList, new Random(9), 500);
+
+        assertEquals(toSaveStrings(taskList.getTasks()), toSaveStrings(new Storage(path).loadTasks()));
+        assertEquals(taskList.getTasks().size(), Files.readAllLines(Path.of(path)).size());
+    }
+
+    static void addTask(TaskStore storage, TaskList taskList, Task task) {
+        taskList.addTask(task);
+        storage.appendMutation(Mutation.add(task), taskList);
+    }
+
+    static void deleteTask(TaskStore storage, TaskList taskList, int index) {
+        int id = taskList.getTask(index).getId();
+        taskList.deleteTask(index);
+        storage.appendMutation(Mutation.delete(index, id), taskList);
+    }
+
+    static void applyRandomChanges(TaskStore storage, TaskList taskList, Random random, int count) {
+        for (int i = 0; i < count; i++) {
+            int size = taskList.getTasks().size();
+            int choice = size == 0 ? 0 : random.nextInt(4);
+            switch (choice) {
+            case 0:
+                addTask(storage, taskList, randomTask(random, i));
+                break;
+            case 1:
+                int markIndex = random.nextInt(size);
+                taskList.markTaskAsDone(markIndex);
+                storage.appendMutation(Mutation.mark(markIndex, taskList.getTask(markIndex).getId()), taskList);
+                break;
+            case 2:
+                int unmarkIndex = random.nextInt(size);
+                taskList.markTaskAsNotDone(unmarkIndex);
+                storage.appendMutation(Mutation.unmark(unmarkIndex, taskList.getTask(unmarkIndex).getId()), taskList);
+                break;
+            default:
+                deleteTask(storage, taskList, random.nextInt(size));
+                break;
+            }
+        }
+    }
+
+    private static Task randomTask(Random random, int i) {
+        switch (random.nextInt(3)) {
+        case 0:
+            return new ToDo("chore " + i);
+        case 1:
+            return new Deadline("report " + i, "2025-03-" + (10 + random.nextInt(18)) + " 2359");
+        default:
+            return new Event("meeting " + i, "2025-04-01 1400", "2025-04-01 1600");
+        }
+    }
+
+    static List<String> toSaveStrings(List<Task> tasks) {
+        return tasks.stream().map(Task::toSaveString).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,91 @@
+package arin.storage;
+
+import arin.task.Task;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares startup load time of the save file loaders on a large generated save file.
+ * Run with: java -cp <classpath> arin.storage.TaskLoaderBenchmark [lines]
+ */
+public class TaskLoaderBenchmark {
+
+    private static final int DEFAULT_LINES = 1_000_000;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    public static void main(String[] args) throws IOException {
+        int lines = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_LINES;
+        Path file = Files.createTempFile("arin-bench", ".txt");
+        Path binaryFile = Files.createTempFile("arin-bench", ".bin");
+        try {
+            writeSaveFile(file.toFile(), lines);
+            Storage.convert(file.toString(), binaryFile.toString(), SaveFormat.BINARY);
+            System.out.printf("Save file: %,d lines, %,d bytes (binary: %,d bytes)%n",
+                    lines, Files.size(file), Files.size(binaryFile));
+
+            for (Map.Entry<String, TaskLoader> entry : loaders().entrySet()) {
+                System.out.printf("%-10s %8.1f ms%n", entry.getKey(), measure(entry.getValue(), file.toFile()));
+            }
+            System.out.printf("%-10s %8.1f ms%n", "binary", measure(new BinaryTaskCodec(), binaryFile.toFile()));
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(binaryFile);
+        }
+    }
+
+    static Map<String, TaskLoader> loaders() {
+        Map<String, TaskLoader> loaders = new LinkedHashMap<>();
+        loaders.put("scanner", new ScannerTaskLoader());
+        loaders.put("mapped", new MappedTaskLoader());
+        loaders.put("parallel", new ParallelTaskLoader());
+        return loaders;
+    }
+
+    static void writeSaveFile(File file, int lines) throws IOException {
+        try (PrintWriter writer = new PrintWriter(file)) {
+            for (int i = 0; i < lines; i++) {
+                int day = 1 + i % 28;
+                String date = String.format("2025-%02d-%02d %02d%02d", 1 + i % 12, day, i % 24, i % 60);
+                switch (i % 3) {
+                case 0:
+                    writer.println("T | " + (i % 2) + " | chore number " + i);
+                    break;
+                case 1:
+                    writer.println("D | " + (i % 2) + " | report " + i + " | " + date);
+                    break;
+                default:
+                    writer.println("E | " + (i % 2) + " | meeting " + i + " | " + date + " | " + date);
+                    break;
+                }
+            }
+        }
+    }
+
+    private static double measure(TaskLoader loader, File file) throws IOException {
+        int checksum = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            checksum += loader.load(file).size();
+        }
+
+        long total = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            ArrayList<Task> tasks = loader.load(file);
+            total += System.nanoTime() - start;
+            checksum += tasks.size();
+        }
+
+        if (checksum == 0) {
+            System.out.println("No tasks loaded");
+        }
+        return total / (MEASURED_ROUNDS * 1_000_000.0);
+    }
+}
@@ -0,0 +1,190 @@
+package arin.storage;
+
+import arin.task.Task;
+import arin.task.TaskList;
+import arin.task.ToDo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static arin.storage.StorageTest.addTask;
+import static arin.storage.StorageTest.applyRandomChanges;
+import static arin.storage.StorageTest.deleteTask;
+import static arin.storage.StorageTest.toSaveStrings;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the in-memory and memory-mapped task stores.
+ */
+public class TaskStoreTest {
+
+    private Path tempDir;
+
+    @BeforeEach
+    public void setUp(@TempDir Path tempDir) {
+        this.tempDir = tempDir;
+    }
+
+    @Test
+    public void inMemoryStore_afterRandomChanges_matchesTaskList() {
+        InMemoryTaskStore store = new InMemoryTaskStore();
+        TaskList taskList = new TaskList(store.loadTasks());
+
+        applyRandomChanges(store, taskList, new Random(1), 300);
+
+        assertEquals(300, store.getMutationCount());
+        assertEquals(toSaveStrings(taskList.getTasks()), toSaveStrings(store.loadTasks()));
+    }
+
+    @Test
+    public void mappedStore_afterRandomChanges_reloadsInBothBackends() throws Exception {
+        String path = tempDir.resolve("arin.txt").toString();
+        MappedTaskStore store = new MappedTaskStore(path, CompactionPolicy.NEVER);
+        TaskList taskList = new TaskList(store.loadTasks());
+
+        applyRandomChanges(store, taskList, new Random(2), 3_000);
+        store.close();
+
+        List<String> expected = toSaveStrings(taskList.getTasks());
+        assertEquals(expected, toSaveStrings(new MappedTaskStore(path).loadTasks()));
+        assertEquals(expected, toSaveStrings(new Storage(path, true).loadTasks()));
+        assertTrue(Files.size(Path.of(path + ".log")) > 64 * 1024, "Journal should have grown its mapping");
+    }
+
+    @Test
+    public void mappedStore_pastThreshold_writesSnapshotAndClearsJournal() {
+        String path = tempDir.resolve("arin.txt").toString();
+        MappedTaskStore store = new MappedTaskStore(path, new CompactionPolicy(Long.MAX_VALUE, 50));
+        TaskList taskList = new TaskList(store.loadTasks());
+
+        applyRandomChanges(store, taskList, new Random(3), 120);
+        assertTrue(store.getJournalRecordCount() < 50, "Journal should have been folded into a snapshot");
+
+        // Reload without closing, as after a crash: the zeroed journal capacity must be ignored.
+        List<String> expected = toSaveStrings(taskList.getTasks());
+        assertEquals(expected, toSaveStrings(new MappedTaskStore(path).loadTasks()));
+        store.close();
+    }
+
+    @Test
+    public void mappedStore_binarySnapshot_keepsBinaryFormat() throws Exception {
+        String path = tempDir.resolve("arin.txt").toString();
+        Files.write(Path.of(path), List.of("T | 0 | read book", "T | 1 | buy milk"));
+        Storage.convert(path, path, SaveFormat.BINARY);
+
+        MappedTaskStore store = new MappedTaskStore(path, CompactionPolicy.NEVER);
+        TaskList taskList = new TaskList(store.loadTasks());
+        addTask(store, taskList, new ToDo("call mum"));
+        store.saveTasks(taskList.getTasks());
+        store.close();
+
+        assertTrue(BinaryTaskCodec.isBinary(new File(path)), "Saving should keep the binary format");
+        assertEquals(toSaveStrings(taskList.getTasks()), toSaveStrings(new MappedTaskStore(path).loadTasks()));
+    }
+
+    @Test
+    public void mappedStore_notClosed_storageAppendsAfterLastRecord() {
+        String path = tempDir.resolve("arin.txt").toString();
+        MappedTaskStore store = new MappedTaskStore(path, CompactionPolicy.NEVER);
+        TaskList taskList = new TaskList(store.loadTasks());
+        addTask(store, taskList, new ToDo("read book"));
+
+        // Switch stores without closing, as after a kill: the journal keeps its zero padding.
+        Storage storage = new Storage(path, CompactionPolicy.NEVER);
+        taskList = new TaskList(storage.loadTasks());
+        addTask(storage, taskList, new ToDo("buy milk"));
+        storage.close();
+
+        assertFalse(new File(path + ".log.failed").exists(), "The padding should not fail the replay");
+        assertEquals(List.of("T | 0 | read book", "T | 0 | buy milk"),
+                toSaveStrings(new Storage(path, true).loadTasks()));
+    }
+
+    @Test
+    public void mappedStore_crashAfterSnapshotSwap_doesNotReplayOldJournal() throws Exception {
+        String path = tempDir.resolve("arin.txt").toString();
+        MappedTaskStore store = new MappedTaskStore(path, CompactionPolicy.NEVER);
+        TaskList taskList = new TaskList(store.loadTasks());
+        addTask(store, taskList, new ToDo("read book"));
+        deleteTask(store, taskList, 0);
+        addTask(store, taskList, new ToDo("buy milk"));
+        store.flush();
+        byte[] journal = Files.readAllBytes(Path.of(path + ".log"));
+        store.saveTasks(taskList.getTasks());
+        store.close();
+
+        // A crash after the new snapshot was swapped in, before the renamed journal was deleted.
+        Files.write(Path.of(path + ".log.old"), journal);
+
+        assertEquals(List.of("T | 0 | buy milk"), toSaveStrings(new MappedTaskStore(path).loadTasks()));
+    }
+
+    @Test
+    public void mappedStore_readsFileWrittenByStorage() {
+        String path = tempDir.resolve("arin.txt").toString();
+        Storage storage = new Storage(path, CompactionPolicy.NEVER);
+        TaskList taskList = new TaskList(storage.loadTasks());
+        addTask(storage, taskList, new ToDo("read book"));
+        storage.saveTasks(taskList.getTasks());
+        addTask(storage, taskList, new ToDo("buy milk"));
+        storage.close();
+
+        MappedTaskStore store = new MappedTaskStore(path);
+        assertEquals(List.of("T | 0 | read book", "T | 0 | buy milk"), toSaveStrings(store.loadTasks()));
+        store.close();
+    }
+
+    @Test
+    public void everyStore_afterRestart_keepsIdsAndDoesNotReuseDeletedOnes() {
+        List<Function<String, TaskStore>> stores = List.of(Storage::new, path -> new Storage(path, true),
+                MappedTaskStore::new, ShardedTaskStore::new);
+        for (int i = 0; i < stores.size(); i++) {
+            Function<String, TaskStore> createStore = stores.get(i);
+            String path = tempDir.resolve("arin" + i + ".txt").toString();
+            TaskStore store = createStore.apply(path);
+            TaskList taskList = new TaskList(store.loadTasks());
+            addTask(store, taskList, new ToDo("read book"));
+            addTask(store, taskList, new ToDo("buy milk"));
+            addTask(store, taskList, new ToDo("call mum"));
+            deleteTask(store, taskList, 2);
+            store.close();
+
+            TaskStore reopened = createStore.apply(path);
+            TaskList reloaded = new TaskList(reopened.loadTasks());
+            reloaded.reserveIds(reopened.getLastTaskId());
+            assertEquals(List.of(1, 2), getIds(reloaded.getTasks()), path);
+            addTask(reopened, reloaded, new ToDo("water plants"));
+            assertEquals(4, reloaded.getTask(2).getId(), path);
+            reopened.close();
+        }
+    }
+
+    @Test
+    public void binarySnapshot_keepsIds() throws Exception {
+        String text = tempDir.resolve("arin.txt").toString();
+        String binary = tempDir.resolve("arin.bin").toString();
+        Storage storage = new Storage(text);
+        TaskList taskList = new TaskList(storage.loadTasks());
+        addTask(storage, taskList, new ToDo("read book"));
+        addTask(storage, taskList, new ToDo("buy milk"));
+        deleteTask(storage, taskList, 0);
+        storage.close();
+
+        Storage.convert(text, binary, SaveFormat.BINARY);
+        assertEquals(List.of(2), getIds(new Storage(binary).loadTasks()));
+    }
+
+    private static List<Integer> getIds(List<Task> tasks) {
+        return tasks.stream().map(Task::getId).collect(Collectors.toList());
+    }
+}
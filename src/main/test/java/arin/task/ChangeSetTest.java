@@ -0,0 +1,63 @@
+package arin.task;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the change tracking done by TaskList.
+ */
+public class ChangeSetTest {
+
+    @Test
+    public void markAndUnmark_recordModifiedIndices() {
+        TaskList taskList = createTaskList(5);
+
+        taskList.markTaskAsDone(1);
+        taskList.markTaskAsNotDone(3);
+
+        BitSet expected = new BitSet();
+        expected.set(1);
+        expected.set(3);
+        assertEquals(expected, taskList.getChanges().getModifiedIndices());
+        assertEquals(Integer.MAX_VALUE, taskList.getChanges().getFirstShiftedIndex());
+    }
+
+    @Test
+    public void deleteTask_dropsModifiedIndicesFromShiftedRange() {
+        TaskList taskList = createTaskList(5);
+
+        taskList.markTaskAsDone(0);
+        taskList.markTaskAsDone(4);
+        taskList.deleteTask(2);
+        taskList.addTask(new ToDo("extra"));
+
+        BitSet expected = new BitSet();
+        expected.set(0);
+        assertEquals(expected, taskList.getChanges().getModifiedIndices());
+        assertEquals(2, taskList.getChanges().getFirstShiftedIndex());
+    }
+
+    @Test
+    public void clear_forgetsAllChanges() {
+        TaskList taskList = createTaskList(3);
+        taskList.markTaskAsDone(0);
+        taskList.addTask(new ToDo("extra"));
+
+        taskList.getChanges().clear();
+
+        assertTrue(taskList.getChanges().isEmpty());
+    }
+
+    private static TaskList createTaskList(int size) {
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            tasks.add(new ToDo("task " + i));
+        }
+        return new TaskList(tasks);
+    }
+}
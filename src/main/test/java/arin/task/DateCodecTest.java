@@ -0,0 +1,49 @@
+package arin.task;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for the fixed-layout date codec.
+ */
+public class DateCodecTest {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm");
+
+    @Test
+    public void parseAndFormat_everyDayOverFourCenturies_matchesFormatter() {
+        LocalDateTime date = LocalDateTime.of(1899, 12, 31, 23, 59);
+        LocalDateTime last = LocalDateTime.of(2301, 1, 1, 0, 0);
+        for (int i = 0; !date.isAfter(last); i++, date = date.plusDays(1).plusMinutes(i % 7)) {
+            String text = date.format(FORMATTER);
+            long minutes = DateCodec.parse(text);
+
+            assertEquals(date, DateCodec.toLocalDateTime(minutes), text);
+            assertEquals(DateCodec.toEpochMinutes(date), minutes, text);
+            assertEquals(text, DateCodec.format(minutes));
+        }
+    }
+
+    @Test
+    public void parse_dayPastEndOfMonth_clampsLikeFormatter() {
+        for (String text : new String[] {"2025-02-30 0900", "2024-02-31 0900", "2025-04-31 2359"}) {
+            assertEquals(LocalDateTime.parse(text, FORMATTER), DateCodec.toLocalDateTime(DateCodec.parse(text)));
+        }
+    }
+
+    @Test
+    public void parse_invalidDates_returnsInvalid() {
+        String[] invalid = {
+            "", "2025-06-06", "2025-06-06 12:00", "2025/06/06 1200", "2025-13-01 1200", "2025-00-01 1200",
+            "2025-06-32 1200", "2025-06-00 1200", "2025-06-06 2400", "2025-06-06 1260", "0000-06-06 1200",
+            "2025-06-06 12a0", "20250-06-06 120",
+        };
+        for (String text : invalid) {
+            assertEquals(DateCodec.INVALID, DateCodec.parse(text), text);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package arin.task;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that a task list with off-heap descriptions behaves like one with on-heap descriptions.
+ */
+public class DescriptionArenaTest {
+
+    @Test
+    public void append_thenDecode_roundTripsUtf8() {
+        DescriptionArena arena = DescriptionArena.allocate(0);
+        int first = arena.append("read book".getBytes(StandardCharsets.UTF_8));
+        int second = arena.append("café Ärger".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("read book", arena.decode(first));
+        assertEquals("café Ärger", arena.decode(second));
+        assertTrue(arena.containsIgnoreCase(second, "ärger"));
+        assertTrue(arena.containsIgnoreCase(first, "BOOK".toLowerCase()));
+    }
+
+    @Test
+    public void append_emptyLongAndNonBmpDescriptions_roundTrip() {
+        DescriptionArena arena = DescriptionArena.allocate(0);
+        String longDescription = "a".repeat(200);
+        int empty = arena.append(new byte[0]);
+        int emoji = arena.append("party 😀".getBytes(StandardCharsets.UTF_8));
+        // Longer than 127 bytes, so its length takes two bytes.
+        int longer = arena.append(longDescription.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("", arena.decode(empty));
+        assertEquals("party 😀", arena.decode(emoji));
+        assertEquals(longDescription, arena.decode(longer));
+        assertTrue(arena.containsIgnoreCase(empty, ""));
+        assertTrue(arena.containsIgnoreCase(emoji, "y 😀"));
+    }
+
+    @Test
+    public void containsIgnoreCase_asciiDescription_checksEveryPosition() {
+        DescriptionArena arena = DescriptionArena.allocate(0);
+        int offset = arena.append("Read BOOK".getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(arena.containsIgnoreCase(offset, "read"));
+        assertTrue(arena.containsIgnoreCase(offset, "book"));
+        assertTrue(arena.containsIgnoreCase(offset, "read book"));
+        assertFalse(arena.containsIgnoreCase(offset, "read book!"));
+    }
+
+    @Test
+    public void addTask_offHeapList_movesDescriptionIntoArena() {
+        TaskList offHeap = new TaskList(new ArrayList<>(), false, true);
+        Task task = new ToDo("Ärger im Büro");
+        offHeap.addTask(task);
+
+        assertTrue(task.isDescriptionIn(offHeap.getDescriptionArena()));
+        assertEquals("Ärger im Büro", task.getDescription());
+        assertEquals(List.of(task), offHeap.findTasks("ärger"));
+        assertEquals(List.of(), offHeap.findTasks("buro"));
+    }
+
+    @Test
+    public void deleteTask_releasingMostOfArena_compactsIt() {
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            tasks.add(new ToDo("task " + i));
+        }
+        TaskList offHeap = new TaskList(tasks, false, true);
+        DescriptionArena arena = offHeap.getDescriptionArena();
+        int usedBytes = arena.getUsedBytes();
+        for (int i = 0; i < 6; i++) {
+            offHeap.deleteTask(0);
+        }
+
+        assertNotSame(arena, offHeap.getDescriptionArena());
+        assertTrue(offHeap.getDescriptionArena().getUsedBytes() < usedBytes);
+        assertEquals(List.of("T | 0 | task 6", "T | 0 | task 7", "T | 0 | task 8", "T | 0 | task 9"),
+                toSaveStrings(offHeap.getTasks()));
+        assertTrue(offHeap.getTasks().stream().allMatch(task -> task.isDescriptionIn(offHeap.getDescriptionArena())));
+    }
+
+    private static List<String> toSaveStrings(List<Task> tasks) {
+        List<String> saveStrings = new ArrayList<>();
+        tasks.forEach(task -> saveStrings.add(task.toSaveString()));
+        return saveStrings;
+    }
+}
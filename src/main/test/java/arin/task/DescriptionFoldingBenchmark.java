@@ -0,0 +1,61 @@
+package arin.task;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Compares sorting by name and scanning for a keyword with cached case-folded descriptions
+ * against folding every description on every comparison or query, as the task list did before.
+ * Run with: java -cp <classpath> arin.task.DescriptionFoldingBenchmark [tasks]
+ */
+public class DescriptionFoldingBenchmark {
+
+    private static final int DEFAULT_TASKS = 200_000;
+    private static final int WARMUP_ROUNDS = 10;
+    private static final int MEASURED_ROUNDS = 10;
+    private static final String[] WORDS = {"Read", "book", "Meeting", "report", "GYM", "call", "Mom", "buy", "milk"};
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TASKS;
+        ArrayList<Task> tasks = createTasks(count);
+        TaskList taskList = new TaskList(tasks, false);
+
+        report("sort, folding per comparison", () -> tasks.stream()
+                .sorted(Comparator.comparing(Task::getDescription, String.CASE_INSENSITIVE_ORDER))
+                .collect(Collectors.toList()));
+        report("sort, cached keys", taskList::getSortedByDescription);
+        report("scan, folding per query", () -> tasks.stream()
+                .filter(task -> task.getDescription().toLowerCase().contains("mom"))
+                .collect(Collectors.toList()));
+        report("scan, cached search forms", () -> tasks.stream()
+                .filter(task -> task.descriptionContains("mom"))
+                .collect(Collectors.toList()));
+    }
+
+    private static void report(String name, Supplier<List<Task>> query) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            query.get();
+        }
+        long start = System.nanoTime();
+        int results = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            results += query.get().size();
+        }
+        double millis = (System.nanoTime() - start) / 1e6 / MEASURED_ROUNDS;
+        System.out.printf("%-30s %8.1f ms/query (%d results)%n", name, millis, results / MEASURED_ROUNDS);
+    }
+
+    private static ArrayList<Task> createTasks(int count) {
+        Random random = new Random(19);
+        ArrayList<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(new ToDo(WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                    + " " + i));
+        }
+        return tasks;
+    }
+}
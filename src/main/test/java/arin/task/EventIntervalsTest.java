@@ -0,0 +1,88 @@
+package arin.task;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests that overlap queries answered from the interval tree find the events they should.
+ */
+public class EventIntervalsTest {
+
+    @Test
+    public void getEventsOverlapping_backToBackEvents_doNotOverlap() {
+        TaskList taskList = createTaskList(new Event("morning", 600, 720), new Event("lunch", 720, 780));
+
+        assertEquals(List.of("morning"), descriptions(taskList.getEventsOverlapping(660, 720)));
+        assertEquals(List.of("lunch"), descriptions(taskList.getEventsOverlapping(720, 721)));
+        assertEquals(List.of(), taskList.getConflictingEvents());
+    }
+
+    @Test
+    public void getEventsOverlapping_emptySpans_takeUpTheirStartingMinute() {
+        // The first event ends before it starts, and the second has no length.
+        TaskList taskList = createTaskList(new Event("backwards", 600, 590), new Event("instant", 700, 700));
+
+        assertEquals(List.of("backwards"), descriptions(taskList.getEventsOverlapping(600, 600)));
+        assertEquals(List.of(), taskList.getEventsOverlapping(590, 600));
+        assertEquals(List.of("instant"), descriptions(taskList.getEventsOverlapping(650, 701)));
+        assertEquals(List.of(), taskList.getEventsOverlapping(701, 800));
+    }
+
+    @Test
+    public void getEventsOverlapping_sameStart_keepsListOrder() {
+        TaskList taskList = createTaskList(new Event("long", 600, 900), new ToDo("todo"), new Event("short", 600, 610),
+                new Event("earlier", 500, 700));
+
+        assertEquals(List.of("earlier", "long", "short"), descriptions(taskList.getEventsOverlapping(605, 606)));
+        assertEquals(List.of("earlier / long", "earlier / short", "long / short"),
+                pairs(taskList.getConflictingEvents()));
+    }
+
+    @Test
+    public void getConflictingEvents_nestedEvent_pairsWithEveryEventAroundIt() {
+        TaskList taskList = createTaskList(new Event("conference", 0, 3000), new Event("talk", 1000, 1060),
+                new Event("dinner", 2000, 2100), new Event("after party", 3000, 3200));
+
+        assertEquals(List.of("conference / talk", "conference / dinner"), pairs(taskList.getConflictingEvents()));
+        assertEquals(List.of("conference", "talk"), descriptions(taskList.getEventsOverlapping(1059, 1061)));
+    }
+
+    @Test
+    public void overlapQueries_emptyList_findNothing() {
+        TaskList taskList = createTaskList();
+
+        assertEquals(List.of(), taskList.getEventsOverlapping(Long.MIN_VALUE / 2, Long.MAX_VALUE / 2));
+        assertEquals(List.of(), taskList.getConflictingEvents());
+    }
+
+    @Test
+    public void getConflictingEvents_afterFirstLookup_seesLaterAddsAndDeletes() {
+        TaskList taskList = createTaskList(new Event("first", 0, 100), new Event("second", 50, 150));
+        assertEquals(List.of("first / second"), pairs(taskList.getConflictingEvents()));
+
+        taskList.addTask(new Event("third", 140, 200));
+        taskList.deleteTask(0);
+
+        assertEquals(List.of("second / third"), pairs(taskList.getConflictingEvents()));
+        assertEquals(List.of("third"), descriptions(taskList.getEventsOverlapping(150, 160)));
+    }
+
+    private static TaskList createTaskList(Task... tasks) {
+        return new TaskList(new ArrayList<>(List.of(tasks)), false);
+    }
+
+    private static List<String> descriptions(List<Task> tasks) {
+        return tasks.stream().map(Task::getDescription).collect(Collectors.toList());
+    }
+
+    private static List<String> pairs(List<Event[]> conflicts) {
+        return conflicts.stream()
+                .map(pair -> pair[0].getDescription() + " / " + pair[1].getDescription())
+                .collect(Collectors.toList());
+    }
+}
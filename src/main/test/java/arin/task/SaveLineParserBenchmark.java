@@ -0,0 +1,97 @@
+package arin.task;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Compares the time and allocation per record of the single-pass save line parser against
+ * the String.split parser it replaced.
+ * Run with: java -cp <classpath> arin.task.SaveLineParserBenchmark [lines]
+ */
+public class SaveLineParserBenchmark {
+
+    private static final int DEFAULT_LINES = 1_000_000;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int lines = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_LINES;
+        List<String> records = createRecords(lines);
+        TextLineParser parser = new TextLineParser(new ParseErrors());
+
+        report("split", records, SaveLineParserBenchmark::parseWithSplit);
+        report("single-pass", records, parser::parse);
+    }
+
+    private static void report(String name, List<String> records, Function<String, Task> parse) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            run(records, parse);
+        }
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            run(records, parse);
+        }
+        double nanos = (double) (System.nanoTime() - start) / MEASURED_ROUNDS / records.size();
+        double bytes = (double) (threads.getCurrentThreadAllocatedBytes() - bytesBefore)
+                / MEASURED_ROUNDS / records.size();
+        System.out.printf("%-12s %8.1f ns/record %8.1f bytes/record%n", name, nanos, bytes);
+    }
+
+    private static void run(List<String> records, Function<String, Task> parse) {
+        int done = 0;
+        for (String record : records) {
+            done += parse.apply(record).isDone() ? 1 : 0;
+        }
+        if (done < 0) {
+            throw new AssertionError();
+        }
+    }
+
+    private static List<String> createRecords(int lines) {
+        List<String> records = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            String date = String.format("2025-%02d-%02d %02d%02d", 1 + i % 12, 1 + i % 28, i % 24, i % 60);
+            switch (i % 3) {
+            case 0:
+                records.add("T | " + (i % 2) + " | chore number " + i);
+                break;
+            case 1:
+                records.add("D | " + (i % 2) + " | deadline number " + i + " | " + date);
+                break;
+            default:
+                records.add("E | " + (i % 2) + " | event number " + i + " | " + date + " | " + date);
+                break;
+            }
+        }
+        return records;
+    }
+
+    /**
+     * The parser Task.parseTask used before the single-pass parser.
+     */
+    private static Task parseWithSplit(String taskData) {
+        String[] parts = taskData.split(" \\| ");
+        Task task;
+        switch (parts[0]) {
+        case "T":
+            task = new ToDo(parts[2]);
+            break;
+        case "D":
+            task = new Deadline(parts[2], parts[3]);
+            break;
+        default:
+            task = new Event(parts[2], parts[3], parts[4]);
+            break;
+        }
+        if (parts[1].equals("1")) {
+            task.markAsDone();
+        }
+        return task;
+    }
+}
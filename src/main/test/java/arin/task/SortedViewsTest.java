@@ -0,0 +1,79 @@
+package arin.task;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests that the sorted views and counts kept by a task list give the orders the sort command shows.
+ */
+public class SortedViewsTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 3, 1, 9, 0);
+
+    @Test
+    public void getSortedByDescription_tiesAndNonAsciiNames_ignoreCaseAndKeepListOrder() {
+        TaskList taskList = createTaskList(new ToDo("zebra"), new ToDo("😀 party"), new ToDo("Ärger"),
+                new ToDo("book"), new Deadline("Book", BASE), new ToDo("apple"), new ToDo("BOOK"));
+
+        assertEquals(List.of("apple", "book", "Book", "BOOK", "zebra", "Ärger", "😀 party"),
+                descriptions(taskList.getSortedByDescription()));
+    }
+
+    @Test
+    public void getSortedByTypeAndStatus_keepListOrderWithinEachGroup() {
+        TaskList taskList = createTaskList(new Event("event", BASE, BASE.plusHours(1)), new ToDo("first todo"),
+                new Deadline("deadline", BASE), new ToDo("second todo"));
+        taskList.markTaskAsDone(0);
+        taskList.markTaskAsDone(3);
+        taskList.markTaskAsDone(3);
+        taskList.markTaskAsNotDone(1);
+
+        assertEquals(List.of("first todo", "second todo", "deadline", "event"),
+                descriptions(taskList.getSortedByType()));
+        assertEquals(List.of("first todo", "deadline", "event", "second todo"),
+                descriptions(taskList.getSortedByStatus()));
+        assertArrayEquals(new int[] {2, 1, 1}, taskList.getTaskTypeCounts());
+        assertEquals(2, taskList.getTaskCountByStatus(true));
+        assertEquals(2, taskList.getTaskCountByStatus(false));
+    }
+
+    @Test
+    public void sortedViews_emptyList_areEmpty() {
+        TaskList taskList = createTaskList();
+
+        assertEquals(List.of(), taskList.getSortedByDescription());
+        assertEquals(List.of(), taskList.getSortedByType());
+        assertEquals(List.of(), taskList.getSortedByStatus());
+        assertArrayEquals(new int[] {0, 0, 0}, taskList.getTaskTypeCounts());
+        assertEquals(0, taskList.getTaskCountByStatus(true));
+    }
+
+    @Test
+    public void sortedViews_afterFirstSort_seeLaterAddsAndDeletes() {
+        TaskList taskList = createTaskList(new ToDo("beta"), new ToDo("delta"));
+        assertEquals(List.of("beta", "delta"), descriptions(taskList.getSortedByDescription()));
+
+        taskList.addTask(new Deadline("alpha", BASE));
+        taskList.markTaskAsDone(2);
+        taskList.deleteTask(0);
+
+        assertEquals(List.of("alpha", "delta"), descriptions(taskList.getSortedByDescription()));
+        assertEquals(List.of("delta", "alpha"), descriptions(taskList.getSortedByStatus()));
+        assertArrayEquals(new int[] {1, 1, 0}, taskList.getTaskTypeCounts());
+    }
+
+    private static TaskList createTaskList(Task... tasks) {
+        return new TaskList(new ArrayList<>(List.of(tasks)), false);
+    }
+
+    private static List<String> descriptions(List<Task> tasks) {
+        return tasks.stream().map(Task::getDescription).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,125 @@
+package arin.task;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that a columnar task list answers queries from its columns as it changes, and runs the
+ * randomized check shared by the task list tests against every backend.
+ */
+public class TaskColumnsTest {
+
+    @Test
+    public void everyBackend_afterRandomChanges_matchesScans() {
+        TaskList columnar = new TaskList(new ArrayList<>(), true);
+        assertTrue(columnar.isColumnar());
+
+        TaskListChecks.assertRandomChangesMatchScans(new TaskList(new ArrayList<>(), false), 15);
+        TaskListChecks.assertRandomChangesMatchScans(columnar, 15);
+        TaskListChecks.assertRandomChangesMatchScans(new TaskList(new ArrayList<>(), false, true), 15);
+        TaskListChecks.assertRandomChangesMatchScans(new TaskList(new ArrayList<>(), true, true), 15);
+    }
+
+    @Test
+    public void queries_emptyList_findNothing() {
+        TaskList columnar = new TaskList(new ArrayList<>(), true);
+
+        assertEquals(List.of(), columnar.getTasksByType(TaskType.TODO));
+        assertEquals(List.of(), columnar.findTasks("book"));
+        assertEquals(List.of(), columnar.findTasksWithAnyKeyword("book", "gym"));
+        assertEquals(List.of(), columnar.getCompletedTasks());
+        assertEquals(List.of(), columnar.getSortedByStatus());
+    }
+
+    @Test
+    public void queries_afterMarkAndDelete_readUpdatedColumns() {
+        TaskList columnar = new TaskList(new ArrayList<>(List.of(new ToDo("read book"), new ToDo("gym"),
+                new ToDo("notebook"))), true);
+        columnar.markTaskAsDone(2);
+        columnar.markTaskAsDone(0);
+        columnar.markTaskAsNotDone(0);
+        columnar.deleteTask(1);
+
+        assertEquals(List.of("notebook"), descriptions(columnar.getCompletedTasks()));
+        assertEquals(List.of("read book"), descriptions(columnar.getIncompleteTasks()));
+        assertEquals(List.of("read book", "notebook"), descriptions(columnar.findTasks("BOOK")));
+        assertEquals(List.of("notebook"), descriptions(columnar.findTasksWithAnyKeyword("gym", "note")));
+    }
+
+    @Test
+    public void findTasks_nonBmpDescriptions_matchWholeCharacters() {
+        TaskList columnar = new TaskList(new ArrayList<>(List.of(new ToDo("party 😀 time"), new ToDo("café 😀"),
+                new ToDo("plain"))), true);
+
+        assertEquals(List.of("party 😀 time", "café 😀"), descriptions(columnar.findTasks("😀")));
+        assertEquals(List.of("café 😀"), descriptions(columnar.findTasks("É 😀")));
+        assertEquals(List.of("party 😀 time"), descriptions(columnar.findTasks("😀 T")));
+    }
+
+    @Test
+    public void getSortedByDeadline_sameMinute_keepsDeadlinesFirstThenListOrder() {
+        LocalDateTime date = LocalDateTime.of(2025, 3, 1, 9, 0);
+        TaskList columnar = new TaskList(new ArrayList<>(List.of(new Event("event", date, date.plusHours(1)),
+                new ToDo("todo"), new Deadline("first", date), new Deadline("second", date))), true);
+
+        assertEquals(List.of("first", "second", "event", "todo"), descriptions(columnar.getSortedByDeadline()));
+        assertEquals(List.of("todo", "first", "second", "event"), descriptions(columnar.getSortedByType()));
+    }
+
+    @Test
+    public void deleteTasks_noIndices_changesNothing() {
+        TaskList columnar = createTaskList("read book", "gym");
+        columnar.deleteTasks(new int[0]);
+
+        assertEquals(List.of("read book", "gym"), descriptions(columnar.getTasks()));
+    }
+
+    @Test
+    public void deleteTasks_firstLastAndAdjacentRows_keepsRemainingRowsInOrder() {
+        TaskList columnar = createTaskList("a book", "b gym", "c book", "d gym", "e book", "f gym");
+        columnar.markTaskAsDone(1);
+        columnar.markTaskAsDone(2);
+        columnar.deleteTasks(new int[] {0, 2, 3, 5});
+
+        assertEquals(List.of("b gym", "e book"), descriptions(columnar.getTasks()));
+        assertEquals(List.of("b gym"), descriptions(columnar.getCompletedTasks()));
+        assertEquals(List.of("e book"), descriptions(columnar.findTasks("book")));
+        assertEquals(1, columnar.getTaskCountByStatus(true));
+        assertArrayEquals(new int[] {2, 0, 0}, columnar.getTaskTypeCounts());
+        assertTrue(columnar.getTasks().stream().allMatch(task -> task.isDescriptionIn(columnar.getDescriptionArena())));
+    }
+
+    @Test
+    public void deleteTasks_everyRow_leavesEmptyList() {
+        TaskList columnar = createTaskList("read book", "gym", "notebook");
+        columnar.deleteTasks(new int[] {0, 1, 2});
+
+        assertEquals(List.of(), columnar.getTasks());
+        assertEquals(List.of(), columnar.getTasksByType(TaskType.TODO));
+        assertEquals(0, columnar.getTaskCountByStatus(false));
+    }
+
+    /**
+     * Creates a columnar list of todos with off-heap descriptions.
+     */
+    private static TaskList createTaskList(String... descriptions) {
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (String description : descriptions) {
+            tasks.add(new ToDo(description));
+        }
+        return new TaskList(tasks, true, true);
+    }
+
+    private static List<String> descriptions(List<Task> tasks) {
+        List<String> descriptions = new ArrayList<>();
+        tasks.forEach(task -> descriptions.add(task.getDescription()));
+        return descriptions;
+    }
+}
@@ -0,0 +1,60 @@
+package arin.task;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the retained heap of a large task list with equal numbers of todos, deadlines and events,
+ * parsed from save lines whose descriptions repeat, as recurring chores do.
+ * Run with: java -cp <classpath> arin.task.TaskFootprintBenchmark [tasks] [distinct descriptions]
+ */
+public class TaskFootprintBenchmark {
+
+    private static final int DEFAULT_TASKS = 1_000_000;
+    private static final int DEFAULT_DESCRIPTIONS = 1_000;
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TASKS;
+        int distinct = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_DESCRIPTIONS;
+
+        long before = usedHeap();
+        List<Task> tasks = load(count, distinct);
+        long after = usedHeap();
+
+        System.out.printf("%,d tasks, %,d distinct descriptions: %,d bytes retained, %.1f bytes per task%n",
+                tasks.size(), distinct, after - before, (double) (after - before) / tasks.size());
+    }
+
+    /**
+     * Parses the records with one parser, as a loader does, and drops the parser with its pool.
+     */
+    private static List<Task> load(int count, int distinct) {
+        TextLineParser parser = new TextLineParser(new ParseErrors());
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(parser.parse(createRecord(i, distinct)));
+        }
+        return tasks;
+    }
+
+    private static String createRecord(int i, int distinct) {
+        String description = "recurring chore " + (i % distinct);
+        String date = String.format("2025-%02d-%02d %02d%02d", 1 + i % 12, 1 + i % 28, i % 24, i % 60);
+        switch (i % 3) {
+        case 0:
+            return "T | " + (i % 2) + " | " + description;
+        case 1:
+            return "D | " + (i % 2) + " | " + description + " | " + date;
+        default:
+            return "E | " + (i % 2) + " | " + description + " | " + date + " | " + date;
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
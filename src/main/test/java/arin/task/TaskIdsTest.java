@@ -0,0 +1,87 @@
+package arin.task;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Tests that task ids stay with their tasks while tasks are added and deleted around them.
+ */
+public class TaskIdsTest {
+
+    @Test
+    public void ids_startAtOneInListOrderAndAreNotReused() {
+        TaskList taskList = new TaskList(new ArrayList<>(List.of(new ToDo("a"), new ToDo("b"), new ToDo("c"))), false);
+        assertEquals(2, taskList.getTask(1).getId());
+
+        taskList.deleteTask(2);
+        Task added = new ToDo("d");
+        taskList.addTask(added);
+
+        assertEquals(4, added.getId());
+        assertEquals(2, taskList.indexOfId(4));
+        assertEquals(-1, taskList.indexOfId(3));
+        assertEquals(-1, taskList.indexOfId(0));
+        assertEquals(-1, taskList.indexOfId(99));
+    }
+
+    @Test
+    public void ids_emptyList_findNothingAndStartAtOne() {
+        TaskList taskList = new TaskList(new ArrayList<>(), false);
+        assertEquals(0, taskList.getLastId());
+        assertEquals(-1, taskList.indexOfId(1));
+        assertNull(taskList.getTaskById(1));
+
+        Task added = new ToDo("first");
+        taskList.addTask(added);
+
+        assertEquals(1, added.getId());
+        assertSame(added, taskList.getTaskById(1));
+    }
+
+    @Test
+    public void ids_loadedAboveLastId_areKeptAndLaterIdsFollowThem() {
+        Task kept = new ToDo("kept");
+        kept.setId(5);
+        Task renumbered = new ToDo("renumbered");
+        renumbered.setId(3);
+        TaskList taskList = new TaskList(new ArrayList<>(List.of(kept, renumbered)), false);
+        taskList.reserveIds(7);
+        Task added = new ToDo("added");
+        taskList.addTask(added);
+
+        assertEquals(5, kept.getId());
+        assertEquals(6, renumbered.getId());
+        assertEquals(8, added.getId());
+        assertEquals(-1, taskList.indexOfId(3));
+        assertEquals(-1, taskList.indexOfId(7));
+        assertEquals(2, taskList.indexOfId(8));
+    }
+
+    @Test
+    public void ids_afterDeletingFirstLastAndSeveralTasks_findTheRemainingTasks() {
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            tasks.add(new ToDo("task " + i));
+        }
+        TaskList taskList = new TaskList(tasks, false);
+        taskList.deleteTask(7);
+        taskList.deleteTask(0);
+        taskList.deleteTasks(new int[] {1, 2, 4});
+
+        assertEquals(List.of(2, 5, 7), List.of(taskList.getTask(0).getId(), taskList.getTask(1).getId(),
+                taskList.getTask(2).getId()));
+        for (int index = 0; index < taskList.getTasks().size(); index++) {
+            assertEquals(index, taskList.indexOfId(taskList.getTask(index).getId()));
+        }
+        for (int id : new int[] {1, 3, 4, 6, 8}) {
+            assertEquals(-1, taskList.indexOfId(id));
+            assertNull(taskList.getTaskById(id));
+        }
+    }
+}
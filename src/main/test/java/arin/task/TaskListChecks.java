@@ -0,0 +1,214 @@
+package arin.task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * The randomized check shared by the task list tests. It makes seeded random changes to a task
+ * list and compares what the list answers from its indexes and sorted views with scans of the
+ * tasks. The tests of each index cover their edge cases with small examples of their own.
+ */
+final class TaskListChecks {
+
+    private static final String[] WORDS = {"Read", "book", "NOTEBOOK", "meeting", "café", "Ärger", "İstanbul", "gym",
+        "😀"};
+    private static final String[] KEYWORDS = {"book", "BOO", "ok", "o", "", "ting", "d no", "café", "i̇st", "😀", "xyz"};
+    private static final String[] QUERIES = {"read book", "BOOK, read", "boo gym", "ote ead", "??"};
+
+    private TaskListChecks() {
+    }
+
+    /**
+     * Makes random adds, deletes and marks on a task list, checking every few steps that its
+     * searches, date lookups, sorted views, counts and ids match scans of its tasks. The first
+     * check comes early, so the indexes built on first use must then be kept up to date.
+     *
+     * @param taskList An empty task list, with whichever backend is to be checked.
+     * @param seed The seed of the random changes.
+     */
+    static void assertRandomChangesMatchScans(TaskList taskList, long seed) {
+        Random random = new Random(seed);
+        // Half an hour past now, so the minute ticking over mid-test cannot move a task across a bound.
+        LocalDateTime base = LocalDateTime.now().withSecond(0).withNano(0).plusMinutes(30);
+        List<Task> deleted = new ArrayList<>();
+
+        for (int i = 0; i < 2_000; i++) {
+            int size = taskList.getTasks().size();
+            // Deleting more often in the second half lets an off-heap arena be compacted.
+            int action = size == 0 ? 0 : random.nextInt(i < 1_000 ? 5 : 7);
+            if (action <= 1) {
+                taskList.addTask(createTask(random, base, i));
+            } else if (action == 2) {
+                taskList.markTaskAsDone(random.nextInt(size));
+            } else if (action == 3) {
+                taskList.markTaskAsNotDone(random.nextInt(size));
+            } else if (action == 4 || action == 5) {
+                int index = random.nextInt(size);
+                deleted.add(taskList.getTask(index));
+                taskList.deleteTask(index);
+            } else {
+                int[] indices = random.ints(0, size).limit(5).distinct().sorted().toArray();
+                Arrays.stream(indices).forEach(index -> deleted.add(taskList.getTask(index)));
+                taskList.deleteTasks(indices);
+            }
+
+            if (i % 100 == 5) {
+                assertMatchesScans(taskList, deleted, random);
+            }
+        }
+    }
+
+    private static Task createTask(Random random, LocalDateTime base, int i) {
+        String description = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + "-"
+                + WORDS[random.nextInt(WORDS.length)] + " " + i;
+        // Few distinct dates, so ties have to keep deadlines first and then list order.
+        long date = DateCodec.toEpochMinutes(base.plusDays(random.nextInt(20) - 5));
+        switch (random.nextInt(3)) {
+        case 0:
+            return new ToDo(description);
+        case 1:
+            return new Deadline(description, date);
+        default:
+            // Some events end before they start, which still take up their starting minute.
+            return new Event(description, date, date + random.nextInt(24 * 60) - 10);
+        }
+    }
+
+    private static void assertMatchesScans(TaskList taskList, List<Task> deleted, Random random) {
+        List<Task> tasks = taskList.getTasks();
+        for (String keyword : KEYWORDS) {
+            assertEquals(scan(tasks, keyword), taskList.findTasks(keyword), keyword);
+        }
+        for (String query : QUERIES) {
+            assertEquals(scan(tasks, query.split(" ")), taskList.findTasksWithWords(query), query);
+        }
+        List<Task> withBook = scan(tasks, "book");
+        List<Task> withGym = scan(tasks, "gym");
+        assertEquals(select(tasks, task -> withBook.contains(task) || withGym.contains(task)),
+                taskList.findTasksWithAnyKeyword("BOOK", "gym"));
+        assertEquals(select(withBook, task -> !task.isDone()),
+                new TaskQuery(TaskQuery.and(List.of(TaskQuery.hasWords("book"), TaskQuery.isDone(false))), null,
+                        false, -1).run(taskList).getTasks());
+        for (TaskType taskType : TaskType.values()) {
+            assertEquals(select(tasks, task -> task.getTaskType() == taskType), taskList.getTasksByType(taskType));
+        }
+        assertEquals(select(tasks, Task::isDone), taskList.getCompletedTasks());
+        assertEquals(select(tasks, task -> !task.isDone()), taskList.getIncompleteTasks());
+
+        assertDateQueriesMatchScans(taskList);
+        assertOverlapQueriesMatchScans(taskList, random);
+        assertSortedViewsMatchFullSorts(taskList);
+
+        for (int index = 0; index < tasks.size(); index++) {
+            Task task = tasks.get(index);
+            assertEquals(index, taskList.indexOfId(task.getId()));
+            assertSame(task, taskList.getTaskById(task.getId()));
+        }
+        for (Task task : deleted) {
+            assertEquals(-1, taskList.indexOfId(task.getId()));
+            assertNull(taskList.getTaskById(task.getId()));
+        }
+    }
+
+    private static void assertDateQueriesMatchScans(TaskList taskList) {
+        List<Task> tasks = taskList.getTasks();
+        long now = DateCodec.toEpochMinutes(LocalDateTime.now());
+        long cutoff = now + 7 * 24L * 60;
+        Predicate<Task> isDeadline = task -> task.getTaskType() == TaskType.DEADLINE;
+        Predicate<Task> isEvent = task -> task.getTaskType() == TaskType.EVENT;
+
+        assertEquals(select(tasks, isDeadline.and(datedWithin(now, cutoff))), taskList.getTasksDueWithinDays(7));
+        assertEquals(select(tasks, isDeadline.and(datedWithin(now, Long.MAX_VALUE))),
+                taskList.getUpcomingDeadlines());
+        assertEquals(select(tasks, isEvent.and(datedWithin(now, Long.MAX_VALUE))), taskList.getUpcomingEvents());
+        assertEquals(sorted(select(tasks, isDeadline.or(isEvent).and(datedWithin(now, cutoff))), byDate()),
+                taskList.getTasksWithinDays(7));
+    }
+
+    private static Predicate<Task> datedWithin(long after, long before) {
+        return task -> TimeIndex.getMinutes(task) > after && TimeIndex.getMinutes(task) < before;
+    }
+
+    private static void assertOverlapQueriesMatchScans(TaskList taskList, Random random) {
+        List<Event> events = taskList.getTasks().stream()
+                .filter(task -> task.getTaskType() == TaskType.EVENT)
+                .map(task -> (Event) task)
+                .sorted(Comparator.comparingLong(Event::getFromMinutes))
+                .collect(Collectors.toList());
+        long start = DateCodec.toEpochMinutes(LocalDateTime.now().minusDays(6));
+        for (int query = 0; query < 20; query++) {
+            long from = start + random.nextInt(22 * 24 * 60);
+            long to = from + random.nextInt(24 * 60);
+            assertEquals(events.stream().filter(event -> overlaps(event, from, to)).collect(Collectors.toList()),
+                    taskList.getEventsOverlapping(from, to));
+        }
+
+        List<String> conflicts = new ArrayList<>();
+        for (int i = 0; i < events.size(); i++) {
+            for (int j = i + 1; j < events.size(); j++) {
+                if (overlaps(events.get(j), events.get(i).getFromMinutes(), events.get(i).getToMinutes())) {
+                    conflicts.add(events.get(i).getDescription() + " / " + events.get(j).getDescription());
+                }
+            }
+        }
+        assertEquals(conflicts, taskList.getConflictingEvents().stream()
+                .map(pair -> pair[0].getDescription() + " / " + pair[1].getDescription())
+                .collect(Collectors.toList()));
+    }
+
+    private static boolean overlaps(Event event, long from, long to) {
+        long eventEnd = Math.max(event.getToMinutes(), event.getFromMinutes() + 1);
+        return event.getFromMinutes() < Math.max(to, from + 1) && from < eventEnd;
+    }
+
+    private static void assertSortedViewsMatchFullSorts(TaskList taskList) {
+        List<Task> tasks = taskList.getTasks();
+        List<Task> byDeadline = sorted(select(tasks, task -> task.getTaskType() != TaskType.TODO), byDate());
+        byDeadline.addAll(select(tasks, task -> task.getTaskType() == TaskType.TODO));
+        assertEquals(byDeadline, taskList.getSortedByDeadline());
+        assertEquals(sorted(tasks, Comparator.comparing(Task::getDescription, String.CASE_INSENSITIVE_ORDER)),
+                taskList.getSortedByDescription());
+        assertEquals(sorted(tasks, Comparator.comparing(Task::getTaskType)), taskList.getSortedByType());
+        assertEquals(sorted(tasks, Comparator.comparing(Task::isDone)), taskList.getSortedByStatus());
+
+        int[] typeCounts = new int[TaskType.values().length];
+        tasks.forEach(task -> typeCounts[task.getTaskType().ordinal()]++);
+        assertArrayEquals(typeCounts, taskList.getTaskTypeCounts());
+        assertEquals(select(tasks, Task::isDone).size(), taskList.getTaskCountByStatus(true));
+        assertEquals(select(tasks, task -> !task.isDone()).size(), taskList.getTaskCountByStatus(false));
+    }
+
+    /**
+     * Orders deadlines and events by date, deadlines first on the same minute.
+     */
+    private static Comparator<Task> byDate() {
+        return Comparator.comparingLong(TimeIndex::getMinutes).thenComparing(Task::getTaskType);
+    }
+
+    /**
+     * Matches every keyword as a substring of the lowercased description.
+     */
+    private static List<Task> scan(List<Task> tasks, String... keywords) {
+        return select(tasks, task -> Arrays.stream(keywords)
+                .allMatch(keyword -> task.getDescription().toLowerCase().contains(keyword.toLowerCase())));
+    }
+
+    private static List<Task> select(List<Task> tasks, Predicate<Task> test) {
+        return tasks.stream().filter(test).collect(Collectors.toList());
+    }
+
+    private static List<Task> sorted(List<Task> tasks, Comparator<Task> comparator) {
+        return tasks.stream().sorted(comparator).collect(Collectors.toList());
+    }
+}
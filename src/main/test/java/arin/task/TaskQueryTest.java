@@ -0,0 +1,97 @@
+package arin.task;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that planned queries find, order and limit the tasks they should, and read indexes where they can.
+ */
+public class TaskQueryTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 3, 1, 0, 0);
+
+    @Test
+    public void orderAndLimit_tiesKeepListOrder() {
+        TaskList taskList = createTaskList(new ToDo("Book"), new Deadline("pay", BASE), new ToDo("book"),
+                new Event("meet", BASE, BASE.plusHours(1)), new Deadline("apply", BASE), new ToDo("apple"));
+
+        assertEquals(List.of("pay", "apply", "meet", "Book", "book", "apple"),
+                descriptions(new TaskQuery(null, TaskQuery.Order.DATE, false, -1).run(taskList)));
+        assertEquals(List.of("pay", "meet", "Book", "book"),
+                descriptions(new TaskQuery(null, TaskQuery.Order.NAME, true, 4).run(taskList)));
+        assertEquals(List.of("Book", "book", "apple"),
+                descriptions(new TaskQuery(null, TaskQuery.Order.TYPE, false, 3).run(taskList)));
+        assertEquals(List.of("Book", "pay"), descriptions(new TaskQuery(null, null, false, 2).run(taskList)));
+        assertEquals(List.of(), descriptions(new TaskQuery(null, null, false, 0).run(taskList)));
+    }
+
+    @Test
+    public void hasWords_extraSpacesCaseAndNonBmpKeywords_matchAsFindDoes() {
+        TaskList taskList = createTaskList(new ToDo("submit report"), new ToDo("report 😀"), new ToDo("submit"));
+
+        assertEquals(List.of("submit report"),
+                descriptions(new TaskQuery(TaskQuery.hasWords("  REPORT   sub "), null, false, -1).run(taskList)));
+        assertEquals(List.of("report 😀"),
+                descriptions(new TaskQuery(TaskQuery.hasWords("😀"), null, false, -1).run(taskList)));
+    }
+
+    @Test
+    public void isDatedWithin_rangeBounds_includeStartAndExcludeEnd() {
+        long from = DateCodec.toEpochMinutes(BASE);
+        TaskList taskList = createTaskList(new Deadline("before", from - 1), new Deadline("at start", from),
+                new Event("inside", from + 30, from + 90), new Deadline("at end", from + 60), new ToDo("todo"));
+
+        assertEquals(List.of("at start", "inside"),
+                descriptions(new TaskQuery(TaskQuery.isDatedWithin(from, from + 60), null, false, -1).run(taskList)));
+        assertEquals(List.of("before", "todo"), descriptions(new TaskQuery(TaskQuery.not(
+                TaskQuery.isDatedWithin(from, Long.MAX_VALUE)), null, false, -1).run(taskList)));
+    }
+
+    @Test
+    public void run_emptyList_findsNothing() {
+        TaskList taskList = createTaskList();
+
+        TaskQuery.Result indexed = new TaskQuery(TaskQuery.hasWords("report"), TaskQuery.Order.DATE, false, 5)
+                .run(taskList);
+        assertEquals(List.of(), indexed.getTasks());
+        assertTrue(indexed.getPlan().contains("Read 0 candidate(s)"), indexed.getPlan());
+        assertEquals(List.of(), new TaskQuery(TaskQuery.isDone(false), null, false, -1).run(taskList).getTasks());
+    }
+
+    @Test
+    public void plan_indexedConditions_readIndexesInsteadOfScanning() {
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new ToDo("write report"));
+        tasks.add(new Deadline("submit report", BASE));
+        tasks.add(new Event("report meeting", BASE.minusDays(3), BASE.minusDays(3).plusHours(1)));
+        TaskList taskList = new TaskList(tasks, false);
+
+        TaskQuery.Condition reportBefore = TaskQuery.and(List.of(TaskQuery.hasWords("report"),
+                TaskQuery.isDatedWithin(Long.MIN_VALUE, DateCodec.toEpochMinutes(BASE)), TaskQuery.isDone(false)));
+        TaskQuery.Result indexed = new TaskQuery(reportBefore, null, false, -1).run(taskList);
+        assertEquals(List.of(tasks.get(2)), indexed.getTasks());
+        assertTrue(indexed.getPlan().contains("trigram index for 'report' (3) and date index"), indexed.getPlan());
+        assertTrue(indexed.getPlan().contains("Check each candidate for: contains 'report' and undone"),
+                indexed.getPlan());
+
+        TaskQuery.Condition todoOrDone = TaskQuery.or(List.of(TaskQuery.ofType(TaskType.TODO), TaskQuery.isDone(true)));
+        TaskQuery.Result scanned = new TaskQuery(todoOrDone, null, false, -1).run(taskList);
+        assertEquals(List.of(tasks.get(0)), scanned.getTasks());
+        assertTrue(scanned.getPlan().contains("Scan all 3 task(s)"), scanned.getPlan());
+    }
+
+    private static TaskList createTaskList(Task... tasks) {
+        return new TaskList(new ArrayList<>(List.of(tasks)), false);
+    }
+
+    private static List<String> descriptions(TaskQuery.Result result) {
+        return result.getTasks().stream().map(Task::getDescription).collect(Collectors.toList());
+    }
+}
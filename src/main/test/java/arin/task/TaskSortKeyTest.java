@@ -0,0 +1,53 @@
+package arin.task;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Tests that cached sort keys and search forms give the same results as folding on every use.
+ */
+public class TaskSortKeyTest {
+
+    private static final String[] PARTS = {"a", "B", "İ", "ı", "i", "ß", "ς", "Σ", "σ", "ǅ", "", "😀", "Ω", " "};
+
+    @Test
+    public void getSortedByDescription_trickyCases_matchesCaseInsensitiveOrder() {
+        Random random = new Random(19);
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            StringBuilder description = new StringBuilder();
+            for (int j = random.nextInt(4); j >= 0; j--) {
+                description.append(PARTS[random.nextInt(PARTS.length)]);
+            }
+            tasks.add(new ToDo(description.toString()));
+        }
+        TaskList taskList = new TaskList(tasks, false);
+
+        List<Task> expected = tasks.stream()
+                .sorted(Comparator.comparing(Task::getDescription, String.CASE_INSENSITIVE_ORDER))
+                .collect(Collectors.toList());
+        List<Task> sorted = taskList.getSortedByDescription();
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), sorted.get(i), "Equal descriptions should keep list order");
+        }
+    }
+
+    @Test
+    public void getSearchForm_matchesToLowerCase() {
+        for (String description : List.of("read book", "Read BOOK", "İstanbul", "ΣΑΣ", "straße")) {
+            Task task = new ToDo(description);
+            assertEquals(description.toLowerCase(), task.getSearchForm());
+            assertSame(task.getSearchForm(), task.getSearchForm(), "The search form should be cached");
+        }
+        Task lowercase = new ToDo("read book");
+        assertSame(lowercase.getDescription(), lowercase.getSearchForm(), "A lowercase description should be reused");
+    }
+}
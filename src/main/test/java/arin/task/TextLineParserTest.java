@@ -0,0 +1,88 @@
+package arin.task;
+
+import arin.task.ParseErrors.Reason;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the single-pass save line parser.
+ */
+public class TextLineParserTest {
+
+    @Test
+    public void parse_validRecords_matchesSaveStrings() {
+        TextLineParser parser = new TextLineParser(new ParseErrors());
+        String[] records = {
+            "T | 1 | read book",
+            "D | 0 | return book | 2025-06-06 1200",
+            "E | 1 | project meeting | 2025-02-25 1400 | 2025-02-25 1600",
+        };
+
+        for (String record : records) {
+            assertEquals(record, parser.parse(record).toSaveString());
+        }
+        assertTrue(parser.getErrors().isEmpty());
+    }
+
+    @Test
+    public void parse_outOfRangeDay_clampsToEndOfMonth() {
+        Deadline deadline = (Deadline) new TextLineParser(new ParseErrors())
+                .parse("D | 0 | leap day | 2025-02-30 0900");
+
+        assertEquals(LocalDateTime.of(2025, 2, 28, 9, 0), deadline.getBy());
+    }
+
+    @Test
+    public void parse_recordAfterPrefix_parsesOnlyTheRange() {
+        String line = "42 | T | 0 | read book";
+
+        Task task = new TextLineParser(new ParseErrors()).parse(line, 5, line.length());
+
+        assertEquals("T | 0 | read book", task.toSaveString());
+    }
+
+    @Test
+    public void parse_repeatedDescriptions_shareOneString() {
+        TextLineParser parser = new TextLineParser(new ParseErrors());
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            tasks.add(parser.parse("T | 0 | chore " + (i % 100)));
+            tasks.add(parser.parse("D | 1 | caf\u00e9 run | 2025-06-06 1200"));
+        }
+
+        for (int i = 0; i < tasks.size(); i++) {
+            assertSame(tasks.get(i % 200).getDescription(), tasks.get(i).getDescription());
+        }
+        assertEquals("chore 42", tasks.get(84).getDescription());
+        assertTrue(tasks.get(1).isDone());
+        assertEquals(TaskType.DEADLINE, tasks.get(1).getTaskType());
+    }
+
+    @Test
+    public void parse_malformedRecords_countsReasonsWithoutThrowing() {
+        ParseErrors errors = new ParseErrors();
+        TextLineParser parser = new TextLineParser(errors);
+
+        assertNull(parser.parse("garbage"));
+        assertNull(parser.parse("Q | 0 | unknown"));
+        assertNull(parser.parse("D | 0 | no date"));
+        assertNull(parser.parse("D | 0 | bad date | 2025-06-06 12:00"));
+        assertNull(parser.parse("D | 0 | bad date | 2025-06-06 2500"));
+
+        assertEquals(5, errors.getTotal());
+        assertEquals(1, errors.getCount(Reason.INVALID_FORMAT));
+        assertEquals(1, errors.getCount(Reason.UNKNOWN_TYPE));
+        assertEquals(1, errors.getCount(Reason.MISSING_DATE));
+        assertEquals(2, errors.getCount(Reason.INVALID_DATE));
+        assertEquals(Reason.INVALID_DATE, errors.getLastReason());
+        assertEquals("D | 0 | bad date | 2025-06-06 12:00", errors.getExample(Reason.INVALID_DATE));
+    }
+}
@@ -0,0 +1,97 @@
+package arin.task;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests that date queries answered from the date index find the deadlines and events they should.
+ */
+public class TimeIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 3, 1, 9, 0);
+
+    @Test
+    public void getSortedByDeadline_sameMinute_keepsDeadlinesFirstThenListOrder() {
+        TaskList taskList = createTaskList(new Event("event", BASE, BASE.plusHours(1)), new ToDo("first todo"),
+                new Deadline("first deadline", BASE), new ToDo("second todo"), new Deadline("second deadline", BASE),
+                new Deadline("earlier", BASE.minusMinutes(1)));
+
+        assertEquals(List.of("earlier", "first deadline", "second deadline", "event", "first todo", "second todo"),
+                descriptions(taskList.getSortedByDeadline()));
+    }
+
+    @Test
+    public void getSortedByDeadline_datesAroundEpochAndFarFuture_areOrdered() {
+        TaskList taskList = createTaskList(new Deadline("far future", LocalDateTime.of(2999, 12, 31, 23, 59)),
+                new Deadline("before epoch", LocalDateTime.of(1969, 12, 31, 23, 59)),
+                new Deadline("epoch", LocalDateTime.of(1970, 1, 1, 0, 0)));
+
+        assertEquals(List.of("before epoch", "epoch", "far future"), descriptions(taskList.getSortedByDeadline()));
+    }
+
+    @Test
+    public void idsDatedWithin_rangeBounds_includeStartAndExcludeEnd() {
+        long from = DateCodec.toEpochMinutes(BASE);
+        TaskList taskList = createTaskList(new Deadline("before", from - 1), new Deadline("at start", from),
+                new Event("inside", from + 30, from + 90), new Deadline("at end", from + 60), new ToDo("todo"));
+
+        assertArrayEquals(new int[] {1, 2}, taskList.toIndices(taskList.idsDatedWithin(from, from + 60)));
+        assertArrayEquals(new int[] {0, 1, 2}, taskList.toIndices(taskList.idsDatedWithin(Long.MIN_VALUE, from + 60)));
+        assertArrayEquals(new int[0], taskList.toIndices(taskList.idsDatedWithin(from, from)));
+        assertArrayEquals(new int[] {2}, taskList.toIndices(taskList.idsOfType(TaskType.EVENT)));
+    }
+
+    @Test
+    public void getTasksDueWithinDays_aroundNowAndCutoff_keepsOnlyDeadlinesInBetween() {
+        // Hours away from now and the cutoff, so the minute ticking over mid-test cannot move a task across one.
+        LocalDateTime now = LocalDateTime.now().withSecond(0).withNano(0);
+        TaskList taskList = createTaskList(new Deadline("overdue", now.minusHours(1)),
+                new Deadline("tomorrow", now.plusDays(1)),
+                new Event("meeting", now.plusDays(1), now.plusDays(2)),
+                new Deadline("next week", now.plusDays(7).plusHours(1)),
+                new Deadline("last day", now.plusDays(7).minusHours(1)));
+
+        assertEquals(List.of("tomorrow", "last day"), descriptions(taskList.getTasksDueWithinDays(7)));
+        assertEquals(List.of("tomorrow", "next week", "last day"), descriptions(taskList.getUpcomingDeadlines()));
+        assertEquals(List.of("meeting"), descriptions(taskList.getUpcomingEvents()));
+        assertEquals(List.of("tomorrow", "meeting", "last day"), descriptions(taskList.getTasksWithinDays(7)));
+        assertEquals(List.of(), taskList.getTasksDueWithinDays(0));
+    }
+
+    @Test
+    public void dateQueries_emptyList_findNothing() {
+        TaskList taskList = createTaskList();
+
+        assertEquals(List.of(), taskList.getSortedByDeadline());
+        assertEquals(List.of(), taskList.getUpcomingDeadlines());
+        assertEquals(List.of(), taskList.getTasksWithinDays(7));
+    }
+
+    @Test
+    public void getSortedByDeadline_afterFirstLookup_seesLaterAddsAndDeletes() {
+        TaskList taskList = createTaskList(new Deadline("second", BASE.plusDays(1)),
+                new Deadline("third", BASE.plusDays(2)));
+        assertEquals(List.of("second", "third"), descriptions(taskList.getSortedByDeadline()));
+
+        taskList.addTask(new Event("first", BASE, BASE.plusHours(1)));
+        taskList.deleteTask(1);
+
+        assertEquals(List.of("first", "second"), descriptions(taskList.getSortedByDeadline()));
+    }
+
+    private static TaskList createTaskList(Task... tasks) {
+        return new TaskList(new ArrayList<>(List.of(tasks)), false);
+    }
+
+    private static List<String> descriptions(List<Task> tasks) {
+        List<String> descriptions = new ArrayList<>();
+        tasks.forEach(task -> descriptions.add(task.getDescription()));
+        return descriptions;
+    }
+}
@@ -0,0 +1,80 @@
+package arin.task;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests that word searches narrowed by the word index find the tasks that contain every keyword.
+ */
+public class TokenIndexTest {
+
+    @Test
+    public void tokenize_splitsOnNonWordCharactersAndDropsRepeats() {
+        assertEquals(List.of("read", "book", "2nd", "café"), TokenIndex.tokenize("Read book (2nd) café, BOOK!"));
+    }
+
+    @Test
+    public void findTasksWithWords_shortKeywords_matchInsideWords() {
+        TaskList taskList = createTaskList("Read book", "notebook", "gym");
+
+        assertEquals(tasksAt(taskList, 0, 1), taskList.findTasksWithWords("ok"));
+        assertEquals(tasksAt(taskList, 0), taskList.findTasksWithWords("OK re"));
+        assertEquals(tasksAt(taskList), taskList.findTasksWithWords("ok gy"));
+    }
+
+    @Test
+    public void findTasksWithWords_keywordWithPunctuation_isCheckedAgainstDescription() {
+        TaskList taskList = createTaskList("read, book", "read book", "what??", "what");
+
+        assertEquals(tasksAt(taskList, 0), taskList.findTasksWithWords("d,"));
+        // Keywords without letters or digits have no words to look up, so every description is checked.
+        assertEquals(tasksAt(taskList, 2), taskList.findTasksWithWords("??"));
+    }
+
+    @Test
+    public void findTasksWithWords_nonBmpKeyword_matchesDescriptions() {
+        TaskList taskList = createTaskList("party 😀", "party", "😀");
+
+        assertEquals(tasksAt(taskList, 0, 2), taskList.findTasksWithWords("😀"));
+        assertEquals(tasksAt(taskList, 0), taskList.findTasksWithWords("😀 pa"));
+    }
+
+    @Test
+    public void findTasksWithWords_emptyList_findsNothing() {
+        assertEquals(List.of(), createTaskList().findTasksWithWords("ok"));
+    }
+
+    @Test
+    public void findTasksWithWords_afterFirstSearch_seesLaterAddsAndDeletes() {
+        TaskList taskList = createTaskList("book", "gym");
+        assertEquals(tasksAt(taskList, 0), taskList.findTasksWithWords("ok"));
+
+        taskList.addTask(new ToDo("okay"));
+        taskList.deleteTask(0);
+
+        assertEquals(tasksAt(taskList, 1), taskList.findTasksWithWords("ok"));
+    }
+
+    private static TaskList createTaskList(String... descriptions) {
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (String description : descriptions) {
+            tasks.add(new ToDo(description));
+        }
+        return new TaskList(tasks, false);
+    }
+
+    /**
+     * Gets the tasks at the given indices.
+     */
+    private static List<Task> tasksAt(TaskList taskList, int... indices) {
+        List<Task> tasks = new ArrayList<>();
+        for (int index : indices) {
+            tasks.add(taskList.getTask(index));
+        }
+        return tasks;
+    }
+}
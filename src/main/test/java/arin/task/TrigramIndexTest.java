@@ -0,0 +1,106 @@
+package arin.task;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests that substring searches narrowed by the trigram index find the tasks that contain the keywords.
+ */
+public class TrigramIndexTest {
+
+    @Test
+    public void trigrams_areDistinctAndSorted() {
+        assertArrayEquals(new long[] {trigram("aaa")}, TrigramIndex.trigrams("aaaa"));
+        assertArrayEquals(new long[] {trigram("abc"), trigram("bca"), trigram("cab")},
+                TrigramIndex.trigrams("abcabc"));
+        assertArrayEquals(new long[0], TrigramIndex.trigrams("ab"));
+    }
+
+    @Test
+    public void findTasks_candidateWithKeywordTrigramsApart_isNotMatched() {
+        TaskList taskList = createTaskList(false, false, "cab abc bca", "xabcabx");
+
+        assertEquals(tasksAt(taskList, 1), taskList.findTasks("abcab"));
+    }
+
+    @Test
+    public void findTasks_keywordsSpanningWordsAndCases_matchAsFindDoes() {
+        TaskList taskList = createTaskList(false, false, "Read NOTEBOOK", "İstanbul trip", "book");
+
+        assertEquals(tasksAt(taskList, 0), taskList.findTasks("d no"));
+        assertEquals(tasksAt(taskList, 0, 2), taskList.findTasks("BOO"));
+        assertEquals(tasksAt(taskList, 1), taskList.findTasks("İST"));
+        assertEquals(tasksAt(taskList), taskList.findTasks("notebook!"));
+    }
+
+    @Test
+    public void findTasks_shortOrEmptyKeyword_scansEveryTask() {
+        TaskList taskList = createTaskList(false, false, "book", "gym");
+
+        assertEquals(tasksAt(taskList, 0), taskList.findTasks("ok"));
+        assertEquals(tasksAt(taskList, 0, 1), taskList.findTasks(""));
+    }
+
+    @Test
+    public void findTasks_nonBmpKeyword_matchesWholeCharacters() {
+        TaskList taskList = createTaskList(false, false, "party 😀😀", "😀 party", "😀😀");
+
+        assertEquals(tasksAt(taskList, 0, 2), taskList.findTasks("😀😀"));
+        assertEquals(tasksAt(taskList, 1), taskList.findTasks("😀 p"));
+    }
+
+    @Test
+    public void findTasks_emptyList_findsNothing() {
+        assertEquals(List.of(), createTaskList(false, false).findTasks("book"));
+    }
+
+    @Test
+    public void findTasks_columnarAndOffHeapLists_checkCandidatesInPlace() {
+        for (TaskList taskList : List.of(createTaskList(true, false, "read book", "Café", "gym"),
+                createTaskList(false, true, "read book", "Café", "gym"))) {
+            assertEquals(tasksAt(taskList, 0), taskList.findTasks("BOOK"));
+            assertEquals(tasksAt(taskList, 1), taskList.findTasks("café"));
+            assertEquals(tasksAt(taskList, 0), taskList.findTasksWithAllKeywords("read", "book"));
+        }
+    }
+
+    @Test
+    public void findTasks_afterFirstSearch_seesLaterAddsAndDeletes() {
+        TaskList taskList = createTaskList(false, false, "book", "notebook");
+        assertEquals(tasksAt(taskList, 0, 1), taskList.findTasks("book"));
+
+        taskList.addTask(new ToDo("bookshelf"));
+        taskList.deleteTask(0);
+
+        assertEquals(tasksAt(taskList, 0, 1), taskList.findTasks("book"));
+        assertEquals("bookshelf", taskList.getTask(1).getDescription());
+    }
+
+    private static TaskList createTaskList(boolean isColumnar, boolean isOffHeap, String... descriptions) {
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (String description : descriptions) {
+            tasks.add(new ToDo(description));
+        }
+        return new TaskList(tasks, isColumnar, isOffHeap);
+    }
+
+    /**
+     * Gets the tasks at the given indices.
+     */
+    private static List<Task> tasksAt(TaskList taskList, int... indices) {
+        List<Task> tasks = new ArrayList<>();
+        for (int index : indices) {
+            tasks.add(taskList.getTask(index));
+        }
+        return tasks;
+    }
+
+    private static long trigram(String text) {
+        return (long) text.charAt(0) << 32 | (long) text.charAt(1) << 16 | text.charAt(2);
+    }
+}